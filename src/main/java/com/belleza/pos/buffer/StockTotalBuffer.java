@@ -0,0 +1,132 @@
+package com.belleza.pos.buffer;
+
+import com.belleza.pos.cache.CodigoBarrasIndex;
+import com.belleza.pos.cache.StockBajoIndex;
+import com.belleza.pos.dto.response.StockBajoEventoResponse;
+import com.belleza.pos.repository.ArticuloRepository;
+import com.belleza.pos.repository.StockSucursalRepository;
+import com.belleza.pos.repository.projection.StockTotalView;
+import com.belleza.pos.service.StockBajoNotificacionService;
+import com.belleza.pos.util.TransactionUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Consolidación diferida del stock total de los artículos.
+ *
+ * El stock se registra por sucursal en stock_sucursales; articulos.stock_actual
+ * queda como total desnormalizado para las consultas existentes (stock bajo,
+ * listados, exportación). Los movimientos sólo marcan el artículo y este
+ * componente recalcula los totales en lote, con un único escritor sobre la
+ * tabla de artículos, de modo que las ventas no compiten por esa fila.
+ *
+ * En la misma pasada se reevalúa la marca stock_bajo de cada artículo
+ * recalculado y los cambios se publican a los suscriptores de stock bajo.
+ * Cualquier cambio que afecte esa marca (mínimo, control de stock, activo)
+ * debe marcar el artículo aquí.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockTotalBuffer {
+
+    private static final int TAMANIO_LOTE = 1_000;
+
+    // MySQL asigna de izquierda a derecha: stock_bajo se calcula con el nuevo stock_actual
+    private static final String UPDATE_TOTAL = "UPDATE articulos SET stock_actual = ?, stock_bajo = " +
+            "COALESCE(usa_control_stock = TRUE AND activo = TRUE AND stock_actual <= stock_minimo, FALSE) " +
+            "WHERE id_articulo = ?";
+
+    private static final String INSERT_STOCK_INICIAL = "INSERT INTO stock_sucursales (id_articulo, id_sucursal, stock_actual) " +
+            "SELECT id_articulo, ?, stock_actual FROM articulos WHERE stock_actual <> 0";
+
+    private final StockSucursalRepository stockSucursalRepository;
+    private final ArticuloRepository articuloRepository;
+    private final CodigoBarrasIndex codigoBarrasIndex;
+    private final StockBajoIndex stockBajoIndex;
+    private final StockBajoNotificacionService stockBajoNotificacionService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.default-sucursal-id}")
+    private Integer idSucursalPredeterminada;
+
+    private final Set<Integer> pendientes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Si todavía no hay stock por sucursal, asigna el stock existente a la sucursal predeterminada
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        Integer existentes = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM stock_sucursales", Integer.class);
+        if (existentes != null && existentes == 0) {
+            int filas = jdbcTemplate.update(INSERT_STOCK_INICIAL, idSucursalPredeterminada);
+            log.info("Stock inicial asignado a la sucursal {}: {} artículos", idSucursalPredeterminada, filas);
+        }
+    }
+
+    /**
+     * Marca el artículo para recalcular su total luego del commit de la transacción actual
+     */
+    public void marcar(Integer idArticulo) {
+        TransactionUtil.afterCommit(() -> pendientes.add(idArticulo));
+    }
+
+    /**
+     * Marca un lote de artículos luego del commit de la transacción actual
+     */
+    public void marcarLote(Collection<Integer> idsArticulo) {
+        List<Integer> copia = List.copyOf(idsArticulo);
+        TransactionUtil.afterCommit(() -> pendientes.addAll(copia));
+    }
+
+    /**
+     * Recalcula y guarda el stock total y la marca de stock bajo de los artículos marcados
+     */
+    @Scheduled(fixedDelayString = "${app.stock.totales.flush-ms:2000}")
+    public synchronized void consolidar() {
+        if (pendientes.isEmpty()) {
+            return;
+        }
+
+        List<Integer> ids = new ArrayList<>(pendientes);
+        pendientes.removeAll(ids);
+
+        try {
+            for (int i = 0; i < ids.size(); i += TAMANIO_LOTE) {
+                List<Integer> lote = ids.subList(i, Math.min(i + TAMANIO_LOTE, ids.size()));
+
+                Map<Integer, BigDecimal> totales = new HashMap<>();
+                lote.forEach(id -> totales.put(id, BigDecimal.ZERO));
+                for (StockTotalView view : stockSucursalRepository.sumarPorArticulo(lote)) {
+                    totales.put(view.getIdArticulo(), view.getStockTotal());
+                }
+
+                jdbcTemplate.batchUpdate(UPDATE_TOTAL, totales.entrySet().stream()
+                        .map(e -> new Object[]{e.getValue(), e.getKey()})
+                        .toList());
+                codigoBarrasIndex.actualizarStock(totales);
+
+                List<StockBajoEventoResponse> cambios = stockBajoIndex.aplicar(
+                        lote, articuloRepository.findArticulosConStockBajo(lote));
+                if (!cambios.isEmpty()) {
+                    stockBajoNotificacionService.publicar(cambios);
+                }
+            }
+            log.debug("Stock total consolidado para {} artículos", ids.size());
+        } catch (RuntimeException e) {
+            // Se reintenta en la próxima ejecución
+            log.error("Error al consolidar stock total de {} artículos", ids.size(), e);
+            pendientes.addAll(ids);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.belleza.pos.buffer;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Buffer en memoria de la fecha de último login de los usuarios.
+ *
+ * Cada login sólo registra la fecha en memoria; si un usuario inicia sesión
+ * varias veces entre dos escrituras se conserva la última. Las fechas se
+ * escriben periódicamente en un único lote JDBC y al detener la aplicación.
+ * Ante un corte abrupto del proceso puede perderse el último intervalo, que
+ * sólo afecta a este dato informativo.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UltimoLoginBuffer {
+
+    private static final String UPDATE = "UPDATE usuarios SET ultimo_login = ? " +
+            "WHERE id_usuario = ? AND (ultimo_login IS NULL OR ultimo_login < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<Integer, LocalDateTime> pendientes = new ConcurrentHashMap<>();
+
+    public void registrar(Integer idUsuario, LocalDateTime fecha) {
+        pendientes.merge(idUsuario, fecha, (actual, nueva) -> nueva.isAfter(actual) ? nueva : actual);
+    }
+
+    /**
+     * Escribe en la base de datos todas las fechas pendientes
+     */
+    @Scheduled(fixedDelayString = "${app.seguridad.ultimo-login.flush-ms:5000}")
+    public synchronized void vaciar() {
+        if (pendientes.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<Integer, LocalDateTime>> lote = List.copyOf(pendientes.entrySet());
+        // Sólo se quitan las fechas que no cambiaron mientras tanto; un login posterior queda para la próxima escritura
+        lote.forEach(e -> pendientes.remove(e.getKey(), e.getValue()));
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE, lote.stream()
+                    .map(e -> new Object[]{e.getValue(), e.getKey(), e.getValue()})
+                    .toList());
+            log.debug("Actualizado el último login de {} usuarios", lote.size());
+        } catch (DataAccessException e) {
+            // Se reintenta en la próxima ejecución
+            log.error("Error al actualizar el último login de {} usuarios", lote.size(), e);
+            lote.forEach(p -> registrar(p.getKey(), p.getValue()));
+        }
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        log.info("Escribiendo fechas de último login pendientes antes de finalizar");
+        vaciar();
+    }
+}
@@ -0,0 +1,274 @@
+package com.belleza.pos.cache;
+
+import com.belleza.pos.dto.response.ArticuloScanResponse;
+import com.belleza.pos.entity.Articulo;
+import com.belleza.pos.repository.ArticuloRepository;
+import com.belleza.pos.repository.projection.ArticuloScanView;
+import com.belleza.pos.util.TransactionUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido de trigramas sobre los artículos activos.
+ *
+ * Resuelve búsquedas por subcadena en descripción y código de barras
+ * intersectando las listas de artículos de cada trigrama del término, sin
+ * recorrer la tabla de artículos. Los candidatos se verifican contra el texto
+ * normalizado, se ordenan por relevancia y se paginan en memoria.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticuloSearchIndex {
+
+    private static final int N = 3;
+
+    private final ArticuloRepository articuloRepository;
+
+    private final Map<Integer, Documento> documentos = new HashMap<>();
+    private final Map<String, Set<Integer>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean cargado = false;
+
+    /**
+     * Documento indexado con sus textos ya normalizados
+     */
+    private record Documento(Integer idArticulo, String descripcion, String codigoBarras, Set<String> trigramas) {}
+
+    /**
+     * Construye el índice al iniciar la aplicación
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        log.info("Construyendo índice de búsqueda de artículos");
+
+        List<ArticuloScanView> articulos = articuloRepository.findAllScanViews();
+
+        lock.writeLock().lock();
+        try {
+            for (ArticuloScanView view : articulos) {
+                if (Boolean.TRUE.equals(view.getActivo())) {
+                    indexar(view.getIdArticulo(), view.getDescripcion(), view.getCodigoBarras());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        cargado = true;
+        log.info("Índice de búsqueda construido con {} artículos y {} trigramas", documentos.size(), postings.size());
+    }
+
+    /**
+     * Indica si el índice ya fue construido
+     */
+    public boolean isCargado() {
+        return cargado;
+    }
+
+    /**
+     * Busca artículos activos cuyo código o descripción contengan el término.
+     * Devuelve los IDs de la página solicitada ordenados por relevancia.
+     */
+    public Page<Integer> buscar(String termino, Pageable pageable) {
+        String consulta = normalizar(termino);
+        if (consulta.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        List<Documento> coincidencias = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            for (Documento doc : candidatos(consulta)) {
+                if (doc.descripcion().contains(consulta) || doc.codigoBarras().contains(consulta)) {
+                    coincidencias.add(doc);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        coincidencias.sort(Comparator
+                .comparingInt((Documento doc) -> puntaje(doc, consulta))
+                .thenComparingInt(doc -> doc.descripcion().length())
+                .thenComparing(Documento::descripcion)
+                .thenComparing(Documento::idArticulo));
+
+        int desde = (int) Math.min(pageable.getOffset(), coincidencias.size());
+        int hasta = Math.min(desde + pageable.getPageSize(), coincidencias.size());
+
+        List<Integer> ids = coincidencias.subList(desde, hasta).stream()
+                .map(Documento::idArticulo)
+                .toList();
+
+        return new PageImpl<>(ids, pageable, coincidencias.size());
+    }
+
+    /**
+     * Actualiza el artículo en el índice luego del commit de la transacción actual.
+     * Los artículos inactivos se quitan del índice.
+     */
+    public void actualizar(Articulo articulo) {
+        Integer id = articulo.getIdArticulo();
+        String descripcion = articulo.getDescripcion();
+        String codigoBarras = articulo.getCodigoBarras();
+        boolean activo = Boolean.TRUE.equals(articulo.getActivo());
+
+        TransactionUtil.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                quitar(id);
+                if (activo) {
+                    indexar(id, descripcion, codigoBarras);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Actualiza un lote de artículos luego del commit de la transacción actual
+     */
+    public void actualizarLote(Collection<ArticuloScanResponse> registros) {
+        List<ArticuloScanResponse> copia = List.copyOf(registros);
+
+        TransactionUtil.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                for (ArticuloScanResponse registro : copia) {
+                    quitar(registro.idArticulo());
+                    if (Boolean.TRUE.equals(registro.activo())) {
+                        indexar(registro.idArticulo(), registro.descripcion(), registro.codigoBarras());
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Quita un artículo del índice luego del commit de la transacción actual
+     */
+    public void eliminar(Integer idArticulo) {
+        TransactionUtil.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                quitar(idArticulo);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // Debe invocarse con el lock de escritura tomado
+    private void indexar(Integer id, String descripcion, String codigoBarras) {
+        String desc = normalizar(descripcion);
+        String codigo = normalizar(codigoBarras);
+
+        Set<String> trigramas = new HashSet<>();
+        trigramas.addAll(trigramas(desc));
+        trigramas.addAll(trigramas(codigo));
+
+        documentos.put(id, new Documento(id, desc, codigo, trigramas));
+        for (String trigrama : trigramas) {
+            postings.computeIfAbsent(trigrama, k -> new HashSet<>()).add(id);
+        }
+    }
+
+    // Debe invocarse con el lock de escritura tomado
+    private void quitar(Integer id) {
+        Documento doc = documentos.remove(id);
+        if (doc == null) {
+            return;
+        }
+        for (String trigrama : doc.trigramas()) {
+            Set<Integer> ids = postings.get(trigrama);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(trigrama);
+                }
+            }
+        }
+    }
+
+    // Debe invocarse con el lock de lectura tomado
+    private Collection<Documento> candidatos(String consulta) {
+        // Términos más cortos que un trigrama se verifican sobre todos los documentos
+        if (consulta.length() < N) {
+            return documentos.values();
+        }
+
+        List<Set<Integer>> listas = new ArrayList<>();
+        for (String trigrama : trigramas(consulta)) {
+            Set<Integer> ids = postings.get(trigrama);
+            if (ids == null) {
+                return Collections.emptyList();
+            }
+            listas.add(ids);
+        }
+
+        // Intersectar comenzando por la lista más corta
+        listas.sort(Comparator.comparingInt(Set::size));
+        Set<Integer> resultado = new HashSet<>(listas.get(0));
+        for (int i = 1; i < listas.size() && !resultado.isEmpty(); i++) {
+            resultado.retainAll(listas.get(i));
+        }
+
+        List<Documento> docs = new ArrayList<>(resultado.size());
+        for (Integer id : resultado) {
+            docs.add(documentos.get(id));
+        }
+        return docs;
+    }
+
+    /**
+     * Menor puntaje = más relevante
+     */
+    private int puntaje(Documento doc, String consulta) {
+        if (doc.codigoBarras().equals(consulta)) {
+            return 0;
+        }
+        if (doc.codigoBarras().startsWith(consulta)) {
+            return 1;
+        }
+        if (doc.descripcion().startsWith(consulta)) {
+            return 2;
+        }
+        if (doc.descripcion().contains(" " + consulta)) {
+            return 3;
+        }
+        return 4;
+    }
+
+    private static Set<String> trigramas(String texto) {
+        Set<String> resultado = new HashSet<>();
+        for (int i = 0; i + N <= texto.length(); i++) {
+            resultado.add(texto.substring(i, i + N));
+        }
+        return resultado;
+    }
+
+    private static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String sinAcentos = Normalizer.normalize(texto, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return sinAcentos.toLowerCase(Locale.ROOT).trim().replaceAll("\\s+", " ");
+    }
+}
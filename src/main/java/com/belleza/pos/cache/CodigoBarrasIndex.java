@@ -0,0 +1,155 @@
+package com.belleza.pos.cache;
+
+import com.belleza.pos.dto.response.ArticuloScanResponse;
+import com.belleza.pos.entity.Articulo;
+import com.belleza.pos.repository.ArticuloPrecioRepository;
+import com.belleza.pos.repository.ArticuloRepository;
+import com.belleza.pos.repository.projection.ArticuloScanView;
+import com.belleza.pos.repository.projection.PrecioArticuloView;
+import com.belleza.pos.util.TransactionUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Índice en memoria de artículos por código de barras.
+ *
+ * Mantiene un registro precalculado por artículo para que el escaneo en caja
+ * no requiera acceder a la base de datos. Se carga al iniciar la aplicación y
+ * se actualiza de forma incremental luego de cada commit que modifica artículos,
+ * precios o stock.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CodigoBarrasIndex {
+
+    private final ArticuloRepository articuloRepository;
+    private final ArticuloPrecioRepository articuloPrecioRepository;
+
+    private final Map<String, ArticuloScanResponse> porCodigo = new ConcurrentHashMap<>();
+    private final Map<Integer, String> codigoPorId = new ConcurrentHashMap<>();
+
+    private volatile boolean cargado = false;
+
+    /**
+     * Carga el índice completo al iniciar la aplicación
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        log.info("Cargando índice de códigos de barras");
+
+        Map<Integer, BigDecimal> precios = articuloPrecioRepository.findPreciosListaPredeterminada().stream()
+                .collect(Collectors.toMap(PrecioArticuloView::getIdArticulo, PrecioArticuloView::getPrecioVenta,
+                        (a, b) -> a));
+
+        for (ArticuloScanView view : articuloRepository.findAllScanViews()) {
+            registrar(new ArticuloScanResponse(
+                    view.getIdArticulo(),
+                    view.getCodigoBarras(),
+                    view.getDescripcion(),
+                    precios.get(view.getIdArticulo()),
+                    view.getStockActual(),
+                    view.getActivo()));
+        }
+
+        cargado = true;
+        log.info("Índice de códigos de barras cargado con {} artículos", porCodigo.size());
+    }
+
+    /**
+     * Indica si el índice ya fue cargado
+     */
+    public boolean isCargado() {
+        return cargado;
+    }
+
+    /**
+     * Busca un artículo por código de barras
+     */
+    public Optional<ArticuloScanResponse> buscar(String codigoBarras) {
+        return Optional.ofNullable(porCodigo.get(codigoBarras));
+    }
+
+    /**
+     * Actualiza la entrada de un artículo luego del commit de la transacción actual
+     */
+    public void actualizar(Articulo articulo, BigDecimal precioVenta) {
+        ArticuloScanResponse registro = new ArticuloScanResponse(
+                articulo.getIdArticulo(),
+                articulo.getCodigoBarras(),
+                articulo.getDescripcion(),
+                precioVenta,
+                articulo.getStockActual(),
+                articulo.getActivo());
+        TransactionUtil.afterCommit(() -> registrar(registro));
+    }
+
+    /**
+     * Registra un lote de artículos luego del commit de la transacción actual
+     */
+    public void actualizarLote(Collection<ArticuloScanResponse> registros) {
+        List<ArticuloScanResponse> copia = List.copyOf(registros);
+        TransactionUtil.afterCommit(() -> copia.forEach(this::registrar));
+    }
+
+    /**
+     * Vuelve a leer los precios de la lista predeterminada luego del commit de la transacción actual.
+     * Se usa después de ajustes masivos que no pasan por las entidades.
+     */
+    public void recargarPrecios() {
+        TransactionUtil.afterCommit(() -> {
+            for (PrecioArticuloView precio : articuloPrecioRepository.findPreciosListaPredeterminada()) {
+                String codigo = codigoPorId.get(precio.getIdArticulo());
+                if (codigo != null) {
+                    porCodigo.computeIfPresent(codigo, (k, r) -> new ArticuloScanResponse(
+                            r.idArticulo(), r.codigoBarras(), r.descripcion(),
+                            precio.getPrecioVenta(), r.stockActual(), r.activo()));
+                }
+            }
+        });
+    }
+
+    /**
+     * Actualiza el stock total de los artículos indicados
+     */
+    public void actualizarStock(Map<Integer, BigDecimal> stockPorArticulo) {
+        stockPorArticulo.forEach((idArticulo, stock) -> {
+            String codigo = codigoPorId.get(idArticulo);
+            if (codigo != null) {
+                porCodigo.computeIfPresent(codigo, (k, r) -> new ArticuloScanResponse(
+                        r.idArticulo(), r.codigoBarras(), r.descripcion(), r.precioVenta(), stock, r.activo()));
+            }
+        });
+    }
+
+    /**
+     * Quita un artículo del índice luego del commit de la transacción actual
+     */
+    public void eliminar(Integer idArticulo) {
+        TransactionUtil.afterCommit(() -> {
+            String codigo = codigoPorId.remove(idArticulo);
+            if (codigo != null) {
+                porCodigo.remove(codigo);
+            }
+        });
+    }
+
+    private void registrar(ArticuloScanResponse registro) {
+        String anterior = codigoPorId.put(registro.idArticulo(), registro.codigoBarras());
+        if (anterior != null && !anterior.equals(registro.codigoBarras())) {
+            porCodigo.remove(anterior);
+        }
+        porCodigo.put(registro.codigoBarras(), registro);
+    }
+}
@@ -0,0 +1,175 @@
+package com.belleza.pos.cache;
+
+import com.belleza.pos.repository.ArticuloPrecioRepository;
+import com.belleza.pos.repository.ArticuloRepository;
+import com.belleza.pos.repository.projection.ConteoView;
+import com.belleza.pos.util.TransactionUtil;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Contadores en memoria de artículos por rubro y de precios por lista.
+ *
+ * Los valores faltantes se resuelven con una única consulta agrupada por
+ * página, sin cargar entidades. Las altas, bajas y cambios de rubro o de
+ * precios invalidan el contador afectado luego del commit; el próximo
+ * acceso lo vuelve a contar.
+ *
+ * Los conteos que se guardan se leen en una transacción propia que empieza
+ * después de tomar la generación: la foto de una transacción en curso puede
+ * ser anterior a una invalidación ya aplicada y quedaría en memoria sin
+ * vencimiento.
+ */
+@Component
+public class ConteoCache {
+
+    private final Contador articulosPorRubro;
+    private final Contador preciosPorLista;
+
+    public ConteoCache(ArticuloRepository articuloRepository, ArticuloPrecioRepository articuloPrecioRepository,
+                       PlatformTransactionManager transactionManager) {
+        TransactionTemplate conteoTemplate = new TransactionTemplate(transactionManager);
+        conteoTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        conteoTemplate.setReadOnly(true);
+        this.articulosPorRubro = new Contador(articuloRepository::contarPorRubro, conteoTemplate);
+        this.preciosPorLista = new Contador(articuloPrecioRepository::contarPorLista, conteoTemplate);
+    }
+
+    /**
+     * Cantidad de artículos de cada rubro indicado
+     */
+    public Map<Integer, Long> articulosPorRubro(Collection<Integer> idsRubro) {
+        return articulosPorRubro.obtener(idsRubro);
+    }
+
+    /**
+     * Cantidad de artículos del rubro
+     */
+    public long articulosPorRubro(Integer idRubro) {
+        return articulosPorRubro.obtener(List.of(idRubro)).get(idRubro);
+    }
+
+    /**
+     * Cantidad de precios cargados en cada lista indicada
+     */
+    public Map<Integer, Long> preciosPorLista(Collection<Integer> idsLista) {
+        return preciosPorLista.obtener(idsLista);
+    }
+
+    /**
+     * Cantidad de precios cargados en la lista
+     */
+    public long preciosPorLista(Integer idLista) {
+        return preciosPorLista.obtener(List.of(idLista)).get(idLista);
+    }
+
+    /**
+     * Invalida el contador de los rubros luego del commit de la transacción actual
+     */
+    public void invalidarRubros(Integer... idsRubro) {
+        articulosPorRubro.invalidar(Arrays.asList(idsRubro));
+    }
+
+    /**
+     * Invalida el contador de los rubros luego del commit de la transacción actual
+     */
+    public void invalidarRubros(Collection<Integer> idsRubro) {
+        articulosPorRubro.invalidar(idsRubro);
+    }
+
+    /**
+     * Invalida el contador de la lista luego del commit de la transacción actual
+     */
+    public void invalidarLista(Integer idLista) {
+        preciosPorLista.invalidar(List.of(idLista));
+    }
+
+    /**
+     * Invalida los contadores de todas las listas luego del commit de la transacción actual
+     */
+    public void invalidarListas() {
+        preciosPorLista.invalidarTodo();
+    }
+
+    /**
+     * Contador por ID con carga agrupada. La generación evita guardar un
+     * conteo leído antes de una invalidación concurrente.
+     */
+    private static class Contador {
+
+        private final Function<Collection<Integer>, List<ConteoView>> contar;
+        private final TransactionTemplate conteoTemplate;
+        private final Map<Integer, Long> valores = new ConcurrentHashMap<>();
+        private final AtomicLong generacion = new AtomicLong();
+
+        Contador(Function<Collection<Integer>, List<ConteoView>> contar, TransactionTemplate conteoTemplate) {
+            this.contar = contar;
+            this.conteoTemplate = conteoTemplate;
+        }
+
+        Map<Integer, Long> obtener(Collection<Integer> ids) {
+            Map<Integer, Long> resultado = new HashMap<>();
+            List<Integer> faltantes = new ArrayList<>();
+            for (Integer id : ids) {
+                Long valor = valores.get(id);
+                if (valor != null) {
+                    resultado.put(id, valor);
+                } else if (id != null) {
+                    faltantes.add(id);
+                }
+            }
+            if (faltantes.isEmpty()) {
+                return resultado;
+            }
+
+            // Dentro de una transacción de escritura el conteo debe incluir los cambios
+            // no confirmados de la misma, por lo que se lee en ella y no se guarda
+            boolean escritura = TransactionSynchronizationManager.isActualTransactionActive()
+                    && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+            if (escritura) {
+                resultado.putAll(leer(faltantes));
+                return resultado;
+            }
+
+            long inicio = generacion.get();
+            Map<Integer, Long> contados = conteoTemplate.execute(status -> leer(faltantes));
+            resultado.putAll(contados);
+            if (generacion.get() == inicio) {
+                valores.putAll(contados);
+            }
+            return resultado;
+        }
+
+        private Map<Integer, Long> leer(List<Integer> ids) {
+            Map<Integer, Long> contados = new HashMap<>();
+            ids.forEach(id -> contados.put(id, 0L));
+            for (ConteoView view : contar.apply(ids)) {
+                contados.put(view.getId(), view.getCantidad());
+            }
+            return contados;
+        }
+
+        void invalidar(Collection<Integer> ids) {
+            List<Integer> copia = ids.stream().filter(Objects::nonNull).toList();
+            TransactionUtil.afterCommit(() -> {
+                generacion.incrementAndGet();
+                copia.forEach(valores::remove);
+            });
+        }
+
+        void invalidarTodo() {
+            TransactionUtil.afterCommit(() -> {
+                generacion.incrementAndGet();
+                valores.clear();
+            });
+        }
+    }
+}
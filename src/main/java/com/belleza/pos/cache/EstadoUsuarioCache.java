@@ -0,0 +1,89 @@
+package com.belleza.pos.cache;
+
+import com.belleza.pos.entity.enums.RolUsuario;
+import com.belleza.pos.security.service.CustomUserDetailsService;
+import com.belleza.pos.util.TransactionUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Caché en memoria del estado de los usuarios (activo, rol y sucursal) para
+ * autenticar peticiones sin consultar la base de datos.
+ *
+ * Las entradas vencen luego de un intervalo corto y se descarta la usada hace más
+ * tiempo al superar el máximo. Las modificaciones de usuarios invalidan la
+ * entrada luego del commit, por lo que una desactivación rige desde la
+ * petición siguiente. La generación evita guardar un estado leído antes de
+ * una invalidación concurrente.
+ */
+@Component
+public class EstadoUsuarioCache {
+
+    private final CustomUserDetailsService userDetailsService;
+    private final long ttlMs;
+    private final Map<String, Entrada> entradas;
+
+    // Protegida por el lock de la instancia
+    private long generacion = 0;
+
+    public EstadoUsuarioCache(CustomUserDetailsService userDetailsService,
+                              @Value("${app.seguridad.usuarios-cache.max:1000}") int maximo,
+                              @Value("${app.seguridad.usuarios-cache.ttl-ms:60000}") long ttlMs) {
+        this.userDetailsService = userDetailsService;
+        this.ttlMs = ttlMs;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entrada> eldest) {
+                return size() > maximo;
+            }
+        };
+    }
+
+    /**
+     * Estado de un usuario
+     */
+    public record Estado(String username, boolean activo, RolUsuario rol, Integer idSucursal) {}
+
+    private record Entrada(Estado estado, long vence) {}
+
+    /**
+     * Estado vigente del usuario; vacío si no existe
+     */
+    public Optional<Estado> obtener(String username) {
+        long ahora = System.currentTimeMillis();
+        long inicio;
+        synchronized (this) {
+            Entrada entrada = entradas.get(username);
+            if (entrada != null && entrada.vence() > ahora) {
+                return Optional.of(entrada.estado());
+            }
+            inicio = generacion;
+        }
+
+        // La consulta se hace fuera del lock; dos hilos pueden cargar el mismo usuario a la vez
+        Optional<Estado> estado = userDetailsService.loadEstadoByUsername(username);
+        synchronized (this) {
+            if (generacion == inicio) {
+                estado.ifPresentOrElse(e -> entradas.put(username, new Entrada(e, ahora + ttlMs)),
+                        () -> entradas.remove(username));
+            }
+        }
+        return estado;
+    }
+
+    /**
+     * Descarta el estado del usuario luego del commit de la transacción actual
+     */
+    public void invalidar(String username) {
+        TransactionUtil.afterCommit(() -> {
+            synchronized (this) {
+                generacion++;
+                entradas.remove(username);
+            }
+        });
+    }
+}
@@ -0,0 +1,67 @@
+package com.belleza.pos.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de cadenas, seguro entre hilos y sin bloqueos.
+ *
+ * Responde "no contiene" con certeza y "puede contener" con la tasa de falsos
+ * positivos indicada mientras no se supere la capacidad. No admite bajas: para
+ * quitar elementos se construye un filtro nuevo.
+ */
+final class FiltroBloom {
+
+    private final AtomicLongArray bits;
+    private final int cantidadBits;
+    private final int cantidadHashes;
+
+    FiltroBloom(int capacidad, double tasaFalsosPositivos) {
+        int n = Math.max(capacidad, 1);
+        long m = (long) Math.ceil(-n * Math.log(tasaFalsosPositivos) / (Math.log(2) * Math.log(2)));
+        this.cantidadBits = (int) Math.min(Math.max(m, Long.SIZE), Integer.MAX_VALUE - Long.SIZE);
+        this.cantidadHashes = Math.max(1, (int) Math.round((double) cantidadBits / n * Math.log(2)));
+        this.bits = new AtomicLongArray((cantidadBits + Long.SIZE - 1) / Long.SIZE);
+    }
+
+    void agregar(String valor) {
+        long hash = hash(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < cantidadHashes; i++) {
+            int bit = Math.floorMod(h1 + i * h2, cantidadBits);
+            long mascara = 1L << bit;
+            int palabra = bit >>> 6;
+            long actual;
+            do {
+                actual = bits.get(palabra);
+            } while ((actual & mascara) == 0 && !bits.compareAndSet(palabra, actual, actual | mascara));
+        }
+    }
+
+    boolean puedeContener(String valor) {
+        long hash = hash(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < cantidadHashes; i++) {
+            int bit = Math.floorMod(h1 + i * h2, cantidadBits);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // FNV-1a de 64 bits con mezcla final; las dos mitades dan los hashes del doble hashing
+    // y la segunda se fuerza impar para que nunca sea cero
+    private static long hash(String valor) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            h ^= valor.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h | 1L << 32;
+    }
+}
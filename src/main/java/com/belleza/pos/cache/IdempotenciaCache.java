@@ -0,0 +1,61 @@
+package com.belleza.pos.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Caché LRU en memoria de respuestas idempotentes recientes.
+ *
+ * Guarda la respuesta ya serializada, de modo que cada entrada ocupa lo mismo
+ * que el JSON devuelto. Al superar el máximo se descarta la entrada usada hace
+ * más tiempo; la tabla claves_idempotencia sigue respondiendo por ella hasta
+ * que expire.
+ */
+@Component
+public class IdempotenciaCache {
+
+    private final Map<String, Registro> registros;
+
+    public IdempotenciaCache(@Value("${app.idempotencia.cache-max:10000}") int maximo) {
+        this.registros = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Registro> eldest) {
+                return size() > maximo;
+            }
+        };
+    }
+
+    /**
+     * Respuesta registrada para una clave
+     */
+    public record Registro(String username, String operacion, String respuesta, LocalDateTime fechaExpiracion) {}
+
+    /**
+     * Registro vigente de la clave; las entradas vencidas se descartan
+     */
+    public synchronized Optional<Registro> obtener(String clave) {
+        Registro registro = registros.get(clave);
+        if (registro != null && registro.fechaExpiracion().isBefore(LocalDateTime.now())) {
+            registros.remove(clave);
+            return Optional.empty();
+        }
+        return Optional.ofNullable(registro);
+    }
+
+    public synchronized void guardar(String clave, Registro registro) {
+        registros.put(clave, registro);
+    }
+
+    /**
+     * Descarta las entradas vencidas
+     */
+    public synchronized void purgar() {
+        LocalDateTime ahora = LocalDateTime.now();
+        registros.values().removeIf(r -> r.fechaExpiracion().isBefore(ahora));
+    }
+}
@@ -0,0 +1,338 @@
+package com.belleza.pos.cache;
+
+import com.belleza.pos.entity.ListaPrecio;
+import com.belleza.pos.entity.Rubro;
+import com.belleza.pos.repository.ArticuloPrecioRepository;
+import com.belleza.pos.repository.ArticuloRepository;
+import com.belleza.pos.repository.ListaPrecioRepository;
+import com.belleza.pos.repository.RubroRepository;
+import com.belleza.pos.repository.projection.ArticuloRubroView;
+import com.belleza.pos.repository.projection.PrecioListaView;
+import com.belleza.pos.util.TransactionUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Matriz en memoria de precios por artículo y lista de precios.
+ *
+ * Cada artículo tiene una fila con el precio neto y el precio con IVA de cada
+ * lista, indexados por la columna asignada a la lista. La alícuota se toma
+ * del rubro del artículo. Las escrituras sobre precios, rubros y listas
+ * actualizan sólo las filas o columnas afectadas luego del commit.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MatrizPrecios {
+
+    public static final BigDecimal IVA_PREDETERMINADO = BigDecimal.valueOf(21);
+
+    private static final int TAMANIO_LOTE = 1_000;
+
+    private final ArticuloRepository articuloRepository;
+    private final ArticuloPrecioRepository articuloPrecioRepository;
+    private final RubroRepository rubroRepository;
+    private final ListaPrecioRepository listaPrecioRepository;
+
+    private final Map<Integer, Lista> listas = new HashMap<>();
+    private final Map<Integer, BigDecimal> ivaPorRubro = new HashMap<>();
+    private final Map<Integer, Fila> filas = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int proximaColumna = 0;
+    private volatile boolean cargado = false;
+
+    /**
+     * Lista de precios con su columna en la matriz
+     */
+    public record Lista(Integer idLista, String nombre, boolean activo, boolean predeterminada, int columna) {}
+
+    /**
+     * Precio resuelto de un artículo en una lista
+     */
+    public record Precio(Integer idArticulo, Integer idLista, BigDecimal neto, BigDecimal ivaPorcentaje, BigDecimal conIva) {}
+
+    /**
+     * Fila de un artículo: rubro y precios neto y con IVA por columna (null si no tiene precio en la lista)
+     */
+    private static final class Fila {
+        private Integer idRubro;
+        private BigDecimal[] netos = new BigDecimal[0];
+        private BigDecimal[] conIva = new BigDecimal[0];
+    }
+
+    /**
+     * Carga la matriz completa al iniciar la aplicación
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        log.info("Cargando matriz de precios");
+
+        List<ListaPrecio> todasLasListas = listaPrecioRepository.findAll();
+        List<Rubro> rubros = rubroRepository.findAll();
+        List<ArticuloRubroView> articulos = articuloRepository.findRubroViews();
+        List<PrecioListaView> precios = articuloPrecioRepository.findAllPrecioListaViews();
+
+        lock.writeLock().lock();
+        try {
+            listas.clear();
+            ivaPorRubro.clear();
+            filas.clear();
+
+            registrarListas(todasLasListas);
+            rubros.forEach(r -> ivaPorRubro.put(r.getIdRubro(), iva(r)));
+            articulos.forEach(a -> filas.computeIfAbsent(a.getIdArticulo(), k -> new Fila()).idRubro = a.getIdRubro());
+            precios.forEach(this::registrarPrecio);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        cargado = true;
+        log.info("Matriz de precios cargada: {} artículos x {} listas", filas.size(), listas.size());
+    }
+
+    /**
+     * Indica si la matriz ya fue cargada
+     */
+    public boolean isCargado() {
+        return cargado;
+    }
+
+    /**
+     * Precio de un artículo en una lista
+     */
+    public Optional<Precio> precio(Integer idArticulo, Integer idLista) {
+        lock.readLock().lock();
+        try {
+            Lista lista = listas.get(idLista);
+            Fila fila = filas.get(idArticulo);
+            if (lista == null || fila == null || lista.columna() >= fila.netos.length
+                    || fila.netos[lista.columna()] == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new Precio(idArticulo, idLista, fila.netos[lista.columna()],
+                    ivaSinLock(fila.idRubro), fila.conIva[lista.columna()]));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Datos de una lista de precios
+     */
+    public Optional<Lista> lista(Integer idLista) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(listas.get(idLista));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lista de precios predeterminada
+     */
+    public Optional<Lista> listaPredeterminada() {
+        lock.readLock().lock();
+        try {
+            return listas.values().stream().filter(Lista::predeterminada).findFirst();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Alícuota de IVA del rubro; la predeterminada si el artículo no tiene rubro
+     */
+    public BigDecimal ivaDeRubro(Integer idRubro) {
+        lock.readLock().lock();
+        try {
+            return ivaSinLock(idRubro);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Precio con IVA redondeado a centavos
+     */
+    public static BigDecimal conIva(BigDecimal neto, BigDecimal ivaPorcentaje) {
+        return neto.multiply(BigDecimal.ONE.add(ivaPorcentaje.movePointLeft(2)))
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Vuelve a leer el rubro y los precios del artículo luego del commit de la transacción actual.
+     * Si el artículo ya no existe se quita de la matriz.
+     */
+    public void actualizarArticulo(Integer idArticulo) {
+        actualizarArticulos(List.of(idArticulo));
+    }
+
+    /**
+     * Vuelve a leer el rubro y los precios de los artículos luego del commit de la transacción actual
+     */
+    public void actualizarArticulos(Collection<Integer> idsArticulo) {
+        List<Integer> copia = List.copyOf(idsArticulo);
+        TransactionUtil.afterCommit(() -> {
+            for (int i = 0; i < copia.size(); i += TAMANIO_LOTE) {
+                recargarFilas(copia.subList(i, Math.min(i + TAMANIO_LOTE, copia.size())));
+            }
+        });
+    }
+
+    /**
+     * Vuelve a leer todos los precios luego del commit de la transacción actual.
+     * Se usa después de ajustes masivos que no pasan por las entidades.
+     */
+    public void recargarPrecios() {
+        TransactionUtil.afterCommit(() -> {
+            List<PrecioListaView> precios = articuloPrecioRepository.findAllPrecioListaViews();
+
+            lock.writeLock().lock();
+            try {
+                for (Fila fila : filas.values()) {
+                    Arrays.fill(fila.netos, null);
+                    Arrays.fill(fila.conIva, null);
+                }
+                precios.forEach(this::registrarPrecio);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Actualiza la alícuota del rubro y recalcula los precios con IVA de sus artículos
+     * luego del commit de la transacción actual
+     */
+    public void actualizarRubro(Rubro rubro) {
+        Integer idRubro = rubro.getIdRubro();
+        BigDecimal iva = iva(rubro);
+
+        TransactionUtil.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                BigDecimal anterior = ivaPorRubro.put(idRubro, iva);
+                if (anterior != null && anterior.compareTo(iva) == 0) {
+                    return;
+                }
+                for (Fila fila : filas.values()) {
+                    if (idRubro.equals(fila.idRubro)) {
+                        for (int c = 0; c < fila.netos.length; c++) {
+                            fila.conIva[c] = fila.netos[c] != null ? conIva(fila.netos[c], iva) : null;
+                        }
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Quita el rubro luego del commit de la transacción actual
+     */
+    public void eliminarRubro(Integer idRubro) {
+        TransactionUtil.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                ivaPorRubro.remove(idRubro);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Vuelve a leer las listas de precios luego del commit de la transacción actual.
+     * Las listas existentes conservan su columna; las nuevas reciben una columna vacía.
+     */
+    public void recargarListas() {
+        TransactionUtil.afterCommit(() -> {
+            List<ListaPrecio> todasLasListas = listaPrecioRepository.findAll();
+
+            lock.writeLock().lock();
+            try {
+                Set<Integer> vigentes = new HashSet<>();
+                todasLasListas.forEach(l -> vigentes.add(l.getIdLista()));
+
+                // Las columnas de listas eliminadas no se reutilizan; se vacían en todas las filas
+                for (Lista lista : listas.values()) {
+                    if (!vigentes.contains(lista.idLista())) {
+                        for (Fila fila : filas.values()) {
+                            if (lista.columna() < fila.netos.length) {
+                                fila.netos[lista.columna()] = null;
+                                fila.conIva[lista.columna()] = null;
+                            }
+                        }
+                    }
+                }
+                listas.keySet().retainAll(vigentes);
+                registrarListas(todasLasListas);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private void recargarFilas(List<Integer> ids) {
+        List<ArticuloRubroView> articulos = articuloRepository.findRubroViewsByIds(ids);
+        List<PrecioListaView> precios = articuloPrecioRepository.findPreciosByArticuloIds(ids);
+
+        lock.writeLock().lock();
+        try {
+            ids.forEach(filas::remove);
+            articulos.forEach(a -> filas.computeIfAbsent(a.getIdArticulo(), k -> new Fila()).idRubro = a.getIdRubro());
+            precios.forEach(this::registrarPrecio);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Debe invocarse con el lock de escritura tomado
+    private void registrarListas(List<ListaPrecio> todasLasListas) {
+        for (ListaPrecio l : todasLasListas) {
+            Lista actual = listas.get(l.getIdLista());
+            int columna = actual != null ? actual.columna() : proximaColumna++;
+            listas.put(l.getIdLista(), new Lista(l.getIdLista(), l.getNombre(),
+                    Boolean.TRUE.equals(l.getActivo()), Boolean.TRUE.equals(l.getEsPredeterminada()), columna));
+        }
+    }
+
+    // Debe invocarse con el lock de escritura tomado
+    private void registrarPrecio(PrecioListaView precio) {
+        Fila fila = filas.get(precio.getIdArticulo());
+        Lista lista = listas.get(precio.getIdLista());
+        if (fila == null || lista == null) {
+            return;
+        }
+
+        int columna = lista.columna();
+        if (columna >= fila.netos.length) {
+            int largo = Math.max(columna + 1, proximaColumna);
+            fila.netos = Arrays.copyOf(fila.netos, largo);
+            fila.conIva = Arrays.copyOf(fila.conIva, largo);
+        }
+        fila.netos[columna] = precio.getPrecioVenta();
+        fila.conIva[columna] = conIva(precio.getPrecioVenta(), ivaSinLock(fila.idRubro));
+    }
+
+    // Debe invocarse con algún lock tomado
+    private BigDecimal ivaSinLock(Integer idRubro) {
+        return idRubro != null ? ivaPorRubro.getOrDefault(idRubro, IVA_PREDETERMINADO) : IVA_PREDETERMINADO;
+    }
+
+    private static BigDecimal iva(Rubro rubro) {
+        return rubro.getIvaPorcentaje() != null ? rubro.getIvaPorcentaje() : IVA_PREDETERMINADO;
+    }
+}
@@ -0,0 +1,105 @@
+package com.belleza.pos.cache;
+
+import com.belleza.pos.dto.response.ArticuloStockBajoResponse;
+import com.belleza.pos.dto.response.StockBajoEventoResponse;
+import com.belleza.pos.entity.Articulo;
+import com.belleza.pos.mapper.ArticuloMapper;
+import com.belleza.pos.repository.ArticuloRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Conjunto en memoria de los artículos con stock bajo.
+ *
+ * Refleja la marca persistida articulos.stock_bajo. StockTotalBuffer la
+ * recalcula sólo para los artículos cuyo stock o configuración cambió y
+ * aplica aquí el resultado, que devuelve los cambios a notificar.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockBajoIndex {
+
+    private static final String RECALCULAR_MARCAS = "UPDATE articulos SET stock_bajo = " +
+            "COALESCE(usa_control_stock = TRUE AND activo = TRUE AND stock_actual <= stock_minimo, FALSE)";
+
+    private final ArticuloRepository articuloRepository;
+    private final ArticuloMapper articuloMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<Integer, ArticuloStockBajoResponse> articulos = new HashMap<>();
+
+    private volatile boolean cargado = false;
+
+    /**
+     * Recalcula todas las marcas y carga el conjunto al iniciar la aplicación
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void cargar() {
+        log.info("Cargando artículos con stock bajo");
+
+        jdbcTemplate.update(RECALCULAR_MARCAS);
+
+        articulos.clear();
+        for (Articulo articulo : articuloRepository.findArticulosConStockBajo()) {
+            articulos.put(articulo.getIdArticulo(), articuloMapper.toStockBajoResponse(articulo));
+        }
+
+        cargado = true;
+        log.info("Artículos con stock bajo cargados: {}", articulos.size());
+    }
+
+    /**
+     * Indica si el conjunto ya fue cargado
+     */
+    public boolean isCargado() {
+        return cargado;
+    }
+
+    /**
+     * Artículos con stock bajo ordenados por descripción
+     */
+    public synchronized List<ArticuloStockBajoResponse> listar() {
+        return articulos.values().stream()
+                .sorted(Comparator.comparing(ArticuloStockBajoResponse::getDescripcion)
+                        .thenComparing(ArticuloStockBajoResponse::getIdArticulo))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Aplica el resultado de reevaluar los artículos indicados.
+     * Los evaluados que no figuran entre los de stock bajo salen del conjunto.
+     *
+     * @return cambios producidos en el conjunto
+     */
+    public synchronized List<StockBajoEventoResponse> aplicar(Collection<Integer> evaluados, List<Articulo> conStockBajo) {
+        Map<Integer, ArticuloStockBajoResponse> bajos = conStockBajo.stream()
+                .map(articuloMapper::toStockBajoResponse)
+                .collect(Collectors.toMap(ArticuloStockBajoResponse::getIdArticulo, Function.identity()));
+
+        List<StockBajoEventoResponse> cambios = new ArrayList<>();
+        for (Integer id : evaluados) {
+            ArticuloStockBajoResponse nuevo = bajos.get(id);
+            ArticuloStockBajoResponse anterior = nuevo != null ? articulos.put(id, nuevo) : articulos.remove(id);
+
+            if (nuevo == null && anterior != null) {
+                cambios.add(StockBajoEventoResponse.builder().tipo("BAJA").idArticulo(id).build());
+            } else if (nuevo != null && !nuevo.equals(anterior)) {
+                cambios.add(StockBajoEventoResponse.builder()
+                        .tipo(anterior == null ? "ALTA" : "ACTUALIZACION")
+                        .idArticulo(id)
+                        .articulo(nuevo)
+                        .build());
+            }
+        }
+        return cambios;
+    }
+}
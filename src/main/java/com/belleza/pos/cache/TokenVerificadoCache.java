@@ -0,0 +1,86 @@
+package com.belleza.pos.cache;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Caché LRU en memoria de tokens JWT ya verificados.
+ *
+ * La clave es el SHA-256 del token, no el token, para no retener credenciales
+ * en memoria. Cada entrada vence junto con el token: una entrada vencida nunca
+ * se devuelve y se descarta al leerla o en la purga periódica.
+ */
+@Component
+public class TokenVerificadoCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    });
+
+    private final Map<String, Claims> tokens;
+
+    public TokenVerificadoCache(@Value("${app.seguridad.tokens-cache.max:10000}") int maximo) {
+        this.tokens = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Claims> eldest) {
+                return size() > maximo;
+            }
+        };
+    }
+
+    /**
+     * Clave de caché del token
+     */
+    public String clave(String token) {
+        byte[] digest = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().encodeToString(digest);
+    }
+
+    /**
+     * Claims del token si fue verificado y no expiró
+     */
+    public synchronized Optional<Claims> obtener(String clave) {
+        Claims claims = tokens.get(clave);
+        if (claims != null && vencido(claims, System.currentTimeMillis())) {
+            tokens.remove(clave);
+            return Optional.empty();
+        }
+        return Optional.ofNullable(claims);
+    }
+
+    /**
+     * Guarda un token verificado; los tokens sin expiración no se guardan
+     */
+    public synchronized void guardar(String clave, Claims claims) {
+        if (claims.getExpiration() != null) {
+            tokens.put(clave, claims);
+        }
+    }
+
+    /**
+     * Descarta las entradas vencidas
+     */
+    @Scheduled(fixedDelayString = "${app.seguridad.tokens-cache.purga-ms:60000}")
+    public synchronized void purgar() {
+        long ahora = System.currentTimeMillis();
+        tokens.values().removeIf(c -> vencido(c, ahora));
+    }
+
+    private static boolean vencido(Claims claims, long ahora) {
+        return claims.getExpiration().getTime() <= ahora;
+    }
+}
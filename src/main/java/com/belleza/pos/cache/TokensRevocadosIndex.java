@@ -0,0 +1,96 @@
+package com.belleza.pos.cache;
+
+import com.belleza.pos.entity.TokenRevocado;
+import com.belleza.pos.repository.TokenRevocadoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice en memoria de los tokens JWT revocados y todavía vigentes.
+ *
+ * Un filtro de Bloom descarta sin bloqueos la gran mayoría de los tokens, que
+ * no están revocados; sólo ante un posible positivo se consulta el conjunto
+ * exacto. Se carga desde tokens_revocados al iniciar la aplicación; como el
+ * filtro no admite bajas, se reconstruye al purgar los tokens vencidos.
+ */
+@Slf4j
+@Component
+public class TokensRevocadosIndex {
+
+    private static final double TASA_FALSOS_POSITIVOS = 0.001;
+
+    private final TokenRevocadoRepository tokenRevocadoRepository;
+    private final int capacidadInicial;
+
+    private final Map<String, LocalDateTime> revocados = new ConcurrentHashMap<>();
+
+    private volatile FiltroBloom filtro;
+    private volatile int capacidad;
+    private volatile boolean cargado = false;
+
+    public TokensRevocadosIndex(TokenRevocadoRepository tokenRevocadoRepository,
+                                @Value("${app.seguridad.revocados.capacidad:10000}") int capacidadInicial) {
+        this.tokenRevocadoRepository = tokenRevocadoRepository;
+        this.capacidadInicial = capacidadInicial;
+        reconstruir();
+    }
+
+    /**
+     * Carga los tokens revocados vigentes al iniciar la aplicación
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void cargar() {
+        for (TokenRevocado token : tokenRevocadoRepository.findByFechaExpiracionAfter(LocalDateTime.now())) {
+            revocados.put(token.getJti(), token.getFechaExpiracion());
+        }
+        reconstruir();
+
+        cargado = true;
+        log.info("Tokens revocados cargados: {}", revocados.size());
+    }
+
+    /**
+     * Indica si el índice ya fue cargado
+     */
+    public boolean isCargado() {
+        return cargado;
+    }
+
+    public boolean contiene(String jti) {
+        return filtro.puedeContener(jti) && revocados.containsKey(jti);
+    }
+
+    public synchronized void agregar(String jti, LocalDateTime fechaExpiracion) {
+        revocados.put(jti, fechaExpiracion);
+        if (revocados.size() > capacidad) {
+            reconstruir();
+        } else {
+            filtro.agregar(jti);
+        }
+    }
+
+    /**
+     * Descarta los tokens vencidos y reconstruye el filtro con los restantes
+     */
+    public synchronized void purgar() {
+        LocalDateTime ahora = LocalDateTime.now();
+        revocados.values().removeIf(expiracion -> expiracion.isBefore(ahora));
+        reconstruir();
+    }
+
+    // El filtro nuevo se completa antes de publicarlo; las lecturas siguen usando el anterior
+    private void reconstruir() {
+        int nuevaCapacidad = Math.max(capacidadInicial, revocados.size() * 2);
+        FiltroBloom nuevo = new FiltroBloom(nuevaCapacidad, TASA_FALSOS_POSITIVOS);
+        revocados.keySet().forEach(nuevo::agregar);
+        capacidad = nuevaCapacidad;
+        filtro = nuevo;
+    }
+}
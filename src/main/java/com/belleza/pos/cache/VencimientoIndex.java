@@ -0,0 +1,249 @@
+package com.belleza.pos.cache;
+
+import com.belleza.pos.dto.response.ArticuloScanResponse;
+import com.belleza.pos.dto.response.ArticuloVencimientoResponse;
+import com.belleza.pos.entity.Articulo;
+import com.belleza.pos.repository.ArticuloRepository;
+import com.belleza.pos.repository.projection.ArticuloVencimientoView;
+import com.belleza.pos.util.TransactionUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice en memoria de los artículos activos con fecha de vencimiento,
+ * agrupados por día.
+ *
+ * Los vencidos y los próximos a vencer se resuelven como rangos del mapa
+ * ordenado, sin consultar la base de datos. La fecha de referencia se fija
+ * una vez por día con una tarea programada; el stock se toma del índice de
+ * códigos de barras, que ya mantiene el total consolidado.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VencimientoIndex {
+
+    private static final int DIAS_CRITICO = 7;
+    private static final int DIAS_PROXIMO = 30;
+
+    private final ArticuloRepository articuloRepository;
+    private final CodigoBarrasIndex codigoBarrasIndex;
+
+    private final NavigableMap<LocalDate, Set<Integer>> porFecha = new TreeMap<>();
+    private final Map<Integer, Registro> registros = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile LocalDate hoy = LocalDate.now();
+    private volatile boolean cargado = false;
+
+    /**
+     * Artículo indexado por fecha de vencimiento
+     */
+    public record Registro(Integer idArticulo, String codigoBarras, String descripcion, LocalDate fechaVencimiento) {}
+
+    /**
+     * Carga el índice al iniciar la aplicación
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        log.info("Cargando índice de vencimientos");
+
+        List<ArticuloVencimientoView> articulos = articuloRepository.findVencimientoViews();
+
+        lock.writeLock().lock();
+        try {
+            for (ArticuloVencimientoView view : articulos) {
+                registrar(new Registro(view.getIdArticulo(), view.getCodigoBarras(),
+                        view.getDescripcion(), view.getFechaVencimiento()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        hoy = LocalDate.now();
+        cargado = true;
+        log.info("Índice de vencimientos cargado con {} artículos en {} fechas", registros.size(), porFecha.size());
+    }
+
+    /**
+     * Indica si el índice ya fue cargado
+     */
+    public boolean isCargado() {
+        return cargado;
+    }
+
+    /**
+     * Avanza la fecha de referencia e informa los artículos que vencieron desde la anterior
+     */
+    @Scheduled(cron = "${app.vencimientos.cron:0 0 0 * * *}")
+    public void cambiarDia() {
+        LocalDate anterior = hoy;
+        LocalDate actual = LocalDate.now();
+        if (!actual.isAfter(anterior)) {
+            return;
+        }
+        hoy = actual;
+
+        List<ArticuloVencimientoResponse> nuevosVencidos = rango(anterior, actual, actual);
+        log.info("Fecha de vencimientos actualizada a {}: {} artículos vencidos desde {}",
+                actual, nuevosVencidos.size(), anterior);
+        nuevosVencidos.forEach(v -> log.info("Artículo vencido: {} - {} ({})",
+                v.getCodigoBarras(), v.getDescripcion(), v.getFechaVencimiento()));
+    }
+
+    /**
+     * Artículos con vencimiento anterior a hoy, del más antiguo al más reciente
+     */
+    public List<ArticuloVencimientoResponse> vencidos() {
+        LocalDate referencia = hoy;
+        return rango(LocalDate.MIN, referencia, referencia);
+    }
+
+    /**
+     * Artículos que vencen entre hoy y los próximos días indicados, inclusive
+     */
+    public List<ArticuloVencimientoResponse> proximos(int dias) {
+        if (dias < 0) {
+            throw new IllegalArgumentException("La cantidad de días no puede ser negativa: " + dias);
+        }
+        LocalDate referencia = hoy;
+        return rango(referencia, referencia.plusDays(dias + 1L), referencia);
+    }
+
+    /**
+     * Actualiza el artículo en el índice luego del commit de la transacción actual.
+     * Los artículos inactivos o sin fecha de vencimiento se quitan del índice.
+     */
+    public void actualizar(Articulo articulo) {
+        Registro registro = Boolean.TRUE.equals(articulo.getActivo()) && articulo.getFechaVencimiento() != null
+                ? new Registro(articulo.getIdArticulo(), articulo.getCodigoBarras(),
+                        articulo.getDescripcion(), articulo.getFechaVencimiento())
+                : null;
+        Integer id = articulo.getIdArticulo();
+
+        TransactionUtil.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                quitar(id);
+                if (registro != null) {
+                    registrar(registro);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Registra un lote de artículos activos luego del commit de la transacción actual
+     */
+    public void actualizarLote(Collection<Registro> nuevos) {
+        List<Registro> copia = List.copyOf(nuevos);
+
+        TransactionUtil.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                for (Registro registro : copia) {
+                    quitar(registro.idArticulo());
+                    registrar(registro);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Quita un artículo del índice luego del commit de la transacción actual
+     */
+    public void eliminar(Integer idArticulo) {
+        TransactionUtil.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                quitar(idArticulo);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Clasificación por días restantes: VENCIDO, CRITICO, PROXIMO u OK
+     */
+    public static String estado(long diasRestantes) {
+        if (diasRestantes < 0) {
+            return "VENCIDO";
+        } else if (diasRestantes <= DIAS_CRITICO) {
+            return "CRITICO";
+        } else if (diasRestantes <= DIAS_PROXIMO) {
+            return "PROXIMO";
+        }
+        return "OK";
+    }
+
+    /**
+     * Artículos con vencimiento en [desde, hasta), con días restantes calculados respecto de la referencia
+     */
+    private List<ArticuloVencimientoResponse> rango(LocalDate desde, LocalDate hasta, LocalDate referencia) {
+        List<ArticuloVencimientoResponse> resultado = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<LocalDate, Set<Integer>> dia : porFecha.subMap(desde, true, hasta, false).entrySet()) {
+                long diasRestantes = ChronoUnit.DAYS.between(referencia, dia.getKey());
+                String estado = estado(diasRestantes);
+
+                dia.getValue().stream()
+                        .map(registros::get)
+                        .sorted(Comparator.comparing(Registro::descripcion).thenComparing(Registro::idArticulo))
+                        .map(r -> ArticuloVencimientoResponse.builder()
+                                .idArticulo(r.idArticulo())
+                                .codigoBarras(r.codigoBarras())
+                                .descripcion(r.descripcion())
+                                .fechaVencimiento(r.fechaVencimiento())
+                                .diasRestantes((int) diasRestantes)
+                                .stockActual(codigoBarrasIndex.buscar(r.codigoBarras())
+                                        .map(ArticuloScanResponse::stockActual)
+                                        .orElse(BigDecimal.ZERO))
+                                .estadoVencimiento(estado)
+                                .build())
+                        .forEach(resultado::add);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return resultado;
+    }
+
+    // Debe invocarse con el lock de escritura tomado
+    private void registrar(Registro registro) {
+        registros.put(registro.idArticulo(), registro);
+        porFecha.computeIfAbsent(registro.fechaVencimiento(), k -> new HashSet<>()).add(registro.idArticulo());
+    }
+
+    // Debe invocarse con el lock de escritura tomado
+    private void quitar(Integer id) {
+        Registro registro = registros.remove(id);
+        if (registro == null) {
+            return;
+        }
+        Set<Integer> ids = porFecha.get(registro.fechaVencimiento());
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                porFecha.remove(registro.fechaVencimiento());
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.belleza.pos.controller;
+
+import com.belleza.pos.dto.request.AjustePreciosRequest;
+import com.belleza.pos.dto.response.AjustePreciosResponse;
+import com.belleza.pos.service.AjustePrecioService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controlador REST para ajustes masivos de precios
+ */
+@Tag(name = "Ajustes de Precios", description = "Endpoints para ajuste masivo de precios por lista, rubro o proveedor")
+@RestController
+@RequestMapping("/ajustes-precios")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+public class AjustePrecioController {
+
+    private final AjustePrecioService ajustePrecioService;
+
+    /**
+     * Simular ajuste de precios
+     */
+    @Operation(summary = "Simular ajuste de precios",
+            description = "Calcula cuántos precios cambiarían y devuelve una muestra sin modificar datos")
+    @PostMapping("/simular")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GERENTE')")
+    public ResponseEntity<AjustePreciosResponse> simular(@Valid @RequestBody AjustePreciosRequest request) {
+        AjustePreciosResponse response = ajustePrecioService.simular(request);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Aplicar ajuste de precios
+     */
+    @Operation(summary = "Aplicar ajuste de precios",
+            description = "Aplica un ajuste porcentual o por monto a los precios que cumplen los filtros")
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'GERENTE')")
+    public ResponseEntity<AjustePreciosResponse> aplicar(@Valid @RequestBody AjustePreciosRequest request) {
+        AjustePreciosResponse response = ajustePrecioService.aplicar(request);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -3,22 +3,31 @@ package com.belleza.pos.controller;
 import com.belleza.pos.dto.request.*;
 import com.belleza.pos.dto.response.*;
 import com.belleza.pos.service.ArticuloService;
+import com.belleza.pos.service.IdempotenciaService;
+import com.belleza.pos.service.MovimientoStockService;
+import com.belleza.pos.service.StockBajoNotificacionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -32,6 +41,9 @@ import java.util.List;
 public class ArticuloController {
 
     private final ArticuloService articuloService;
+    private final MovimientoStockService movimientoStockService;
+    private final StockBajoNotificacionService stockBajoNotificacionService;
+    private final IdempotenciaService idempotenciaService;
 
     // ========== CRUD Básico ==========
 
@@ -83,6 +95,18 @@ public class ArticuloController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Escanear código de barras en caja
+     */
+    @Operation(summary = "Escanear código de barras", description = "Obtiene los datos de venta de un artículo desde el índice en memoria")
+    @GetMapping("/escanear/{codigoBarras}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GERENTE', 'VENDEDOR', 'CAJERO')")
+    public ResponseEntity<ArticuloScanResponse> escanear(
+            @Parameter(description = "Código de barras") @PathVariable String codigoBarras) {
+        ArticuloScanResponse response = articuloService.escanear(codigoBarras);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Obtener todos los artículos con paginación
      */
@@ -101,6 +125,20 @@ public class ArticuloController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Obtener artículos con paginación por cursor
+     */
+    @Operation(summary = "Listar artículos por cursor",
+            description = "Obtiene artículos ordenados por descripción usando paginación por cursor, sin conteo total")
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GERENTE', 'VENDEDOR')")
+    public ResponseEntity<CursorPageResponse<ArticuloResponse>> getAllByCursor(
+            @Parameter(description = "Cursor devuelto por la página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página") @RequestParam(defaultValue = "10") int size) {
+        CursorPageResponse<ArticuloResponse> response = articuloService.getAllByCursor(cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Obtener todos los artículos activos
      */
@@ -313,6 +351,52 @@ public class ArticuloController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Obtener stock por sucursal
+     */
+    @Operation(summary = "Stock por sucursal", description = "Obtiene el stock de un artículo en cada sucursal")
+    @GetMapping("/{id}/stock/sucursales")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GERENTE', 'VENDEDOR')")
+    public ResponseEntity<List<StockSucursalResponse>> getStockPorSucursal(
+            @Parameter(description = "ID del artículo") @PathVariable Integer id) {
+        List<StockSucursalResponse> response = articuloService.getStockPorSucursal(id);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Obtener stock total de varios artículos
+     */
+    @Operation(summary = "Stock total", description = "Obtiene el stock total (todas las sucursales) de varios artículos")
+    @GetMapping("/stock/totales")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GERENTE', 'VENDEDOR')")
+    public ResponseEntity<List<StockTotalResponse>> getStockTotales(
+            @Parameter(description = "IDs de artículos separados por coma") @RequestParam List<Integer> ids) {
+        List<StockTotalResponse> response = articuloService.getStockTotales(ids);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Obtener movimientos de stock
+     */
+    @Operation(summary = "Movimientos de stock",
+            description = "Obtiene el kardex de un artículo en un rango de fechas con saldo inicial y final")
+    @GetMapping("/{id}/stock/movimientos")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GERENTE')")
+    public ResponseEntity<KardexResponse> getMovimientosStock(
+            @Parameter(description = "ID del artículo") @PathVariable Integer id,
+            @Parameter(description = "ID de la sucursal; por defecto la del usuario")
+            @RequestParam(required = false) Integer idSucursal,
+            @Parameter(description = "Fecha desde (inclusive)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @Parameter(description = "Fecha hasta (exclusive)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+            @Parameter(description = "Número de página") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Tamaño de página") @RequestParam(defaultValue = "50") int size) {
+        KardexResponse response = movimientoStockService.getKardex(id, idSucursal, desde, hasta,
+                PageRequest.of(page, size));
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Incrementar stock
      */
@@ -334,8 +418,11 @@ public class ArticuloController {
     @PreAuthorize("hasAnyRole('ADMIN', 'GERENTE')")
     public ResponseEntity<ArticuloResponse> decrementarStock(
             @Parameter(description = "ID del artículo") @PathVariable Integer id,
-            @Parameter(description = "Cantidad a decrementar") @RequestParam BigDecimal cantidad) {
-        ArticuloResponse response = articuloService.decrementarStock(id, cantidad);
+            @Parameter(description = "Cantidad a decrementar") @RequestParam BigDecimal cantidad,
+            @Parameter(description = "Clave para reintentar sin duplicar el descuento") @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        ArticuloResponse response = idempotenciaService.ejecutar(idempotencyKey,
+                "POST /articulos/" + id + "/stock/decrementar?cantidad=" + cantidad, ArticuloResponse.class,
+                () -> articuloService.decrementarStock(id, cantidad));
         return ResponseEntity.ok(response);
     }
 
@@ -350,6 +437,17 @@ public class ArticuloController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Suscribirse a los cambios de stock bajo
+     */
+    @Operation(summary = "Eventos de stock bajo",
+            description = "Server-Sent Events: envía el conjunto actual de artículos con stock bajo y luego sus altas, bajas y actualizaciones")
+    @GetMapping(value = "/stock/bajo/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'GERENTE')")
+    public SseEmitter suscribirStockBajo() {
+        return stockBajoNotificacionService.suscribir();
+    }
+
     // ========== Gestión de Vencimientos ==========
 
     /**
@@ -359,7 +457,8 @@ public class ArticuloController {
     @GetMapping("/vencimientos/proximos")
     @PreAuthorize("hasAnyRole('ADMIN', 'GERENTE')")
     public ResponseEntity<List<ArticuloVencimientoResponse>> getArticulosProximosAVencer(
-            @Parameter(description = "Días hacia adelante") @RequestParam(defaultValue = "30") Integer dias) {
+            @Parameter(description = "Días hacia adelante (0 a 3650)") @RequestParam(defaultValue = "30")
+            @Min(0) @Max(3650) Integer dias) {
         List<ArticuloVencimientoResponse> response = articuloService.getArticulosProximosAVencer(dias);
         return ResponseEntity.ok(response);
     }
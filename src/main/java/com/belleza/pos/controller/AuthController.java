@@ -8,11 +8,15 @@ import com.belleza.pos.dto.response.MessageResponse;
 import com.belleza.pos.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Controlador de autenticación
  */
@@ -27,11 +31,14 @@ public class AuthController {
     /**
      * Endpoint para login
      */
-    @Operation(summary = "Login de usuario", description = "Autentica un usuario y devuelve tokens JWT")
+    @Operation(summary = "Login de usuario",
+            description = "Autentica un usuario y devuelve tokens JWT. Tras varios intentos fallidos el usuario " +
+                    "o la IP quedan bloqueados temporalmente (429)")
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-        AuthResponse response = authService.login(request);
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(@Valid @RequestBody LoginRequest request,
+                                                                 HttpServletRequest httpRequest) {
+        return authService.login(request, httpRequest.getRemoteAddr())
+                .thenApply(ResponseEntity::ok);
     }
 
     /**
@@ -57,11 +64,17 @@ public class AuthController {
     /**
      * Endpoint para logout
      */
-    @Operation(summary = "Logout de usuario", description = "Cierra la sesión del usuario")
+    @Operation(summary = "Logout de usuario",
+            description = "Cierra la sesión revocando el token de acceso del encabezado Authorization " +
+                    "y el refresh token, si se envía")
     @PostMapping("/logout")
-    public ResponseEntity<MessageResponse> logout() {
-        // En JWT stateless, el logout se maneja en el cliente eliminando el token
-        // Aquí podrías agregar lógica para invalidar el token en una blacklist si lo necesitas
+    public ResponseEntity<MessageResponse> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) RefreshTokenRequest request) {
+        String token = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7)
+                : null;
+        authService.logout(token, request != null ? request.refreshToken() : null);
         return ResponseEntity.ok(new MessageResponse("Logout exitoso"));
     }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.belleza.pos.controller;
+
+import com.belleza.pos.dto.response.CatalogoDeltaResponse;
+import com.belleza.pos.service.CatalogoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controlador REST para sincronización del catálogo en terminales POS
+ */
+@Tag(name = "Catálogo", description = "Endpoints para sincronización del catálogo en terminales")
+@RestController
+@RequestMapping("/catalogo")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+public class CatalogoController {
+
+    private final CatalogoService catalogoService;
+
+    /**
+     * Obtener snapshot completo del catálogo
+     */
+    @Operation(summary = "Snapshot del catálogo",
+            description = "Devuelve el catálogo completo de artículos activos y precios, comprimido con gzip")
+    @GetMapping("/snapshot")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GERENTE', 'VENDEDOR', 'CAJERO')")
+    public ResponseEntity<byte[]> getSnapshot(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        CatalogoService.SnapshotComprimido snapshot = catalogoService.getSnapshot();
+        String etag = "\"" + snapshot.version() + "\"";
+
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(snapshot.contenido());
+    }
+
+    /**
+     * Obtener cambios del catálogo desde una versión
+     */
+    @Operation(summary = "Cambios del catálogo",
+            description = "Devuelve los artículos y precios modificados y las bajas desde la versión indicada")
+    @GetMapping("/delta")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GERENTE', 'VENDEDOR', 'CAJERO')")
+    public ResponseEntity<CatalogoDeltaResponse> getDelta(
+            @Parameter(description = "Versión del catálogo que tiene el cliente") @RequestParam long desde) {
+        CatalogoDeltaResponse response = catalogoService.getDelta(desde);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -2,10 +2,15 @@ package com.belleza.pos.controller;
 
 import com.belleza.pos.dto.request.CreateClienteRequest;
 import com.belleza.pos.dto.request.UpdateClienteRequest;
+import com.belleza.pos.dto.response.AntiguedadSaldoResponse;
 import com.belleza.pos.dto.response.ClienteResponse;
 import com.belleza.pos.dto.response.ClienteSimpleResponse;
+import com.belleza.pos.dto.response.CursorPageResponse;
+import com.belleza.pos.dto.response.EstadoCuentaResponse;
 import com.belleza.pos.dto.response.MessageResponse;
 import com.belleza.pos.service.ClienteService;
+import com.belleza.pos.service.CuentaCorrienteService;
+import com.belleza.pos.service.IdempotenciaService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -16,12 +21,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -35,6 +42,8 @@ import java.util.List;
 public class ClienteController {
 
     private final ClienteService clienteService;
+    private final CuentaCorrienteService cuentaCorrienteService;
+    private final IdempotenciaService idempotenciaService;
 
     @Operation(summary = "Crear cliente", description = "Crea un nuevo cliente")
     @PostMapping
@@ -96,6 +105,17 @@ public class ClienteController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Listar clientes por cursor",
+            description = "Obtiene clientes ordenados por nombre usando paginación por cursor, sin conteo total")
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GERENTE', 'VENDEDOR')")
+    public ResponseEntity<CursorPageResponse<ClienteResponse>> getAllByCursor(
+            @Parameter(description = "Cursor devuelto por la página anterior") @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        CursorPageResponse<ClienteResponse> response = clienteService.getAllByCursor(cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(summary = "Listar clientes activos", description = "Obtiene todos los clientes activos")
     @GetMapping("/activos")
     @PreAuthorize("hasAnyRole('ADMIN', 'GERENTE', 'VENDEDOR', 'CAJERO')")
@@ -117,6 +137,18 @@ public class ClienteController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Buscar clientes por cursor",
+            description = "Busca clientes por nombre, apellido o documento usando paginación por cursor")
+    @GetMapping("/buscar/cursor")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GERENTE', 'VENDEDOR', 'CAJERO')")
+    public ResponseEntity<CursorPageResponse<ClienteResponse>> searchByCursor(
+            @Parameter(description = "Término de búsqueda") @RequestParam String q,
+            @Parameter(description = "Cursor devuelto por la página anterior") @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        CursorPageResponse<ClienteResponse> response = clienteService.searchByCursor(q, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(summary = "Clientes con cuenta corriente", description = "Obtiene clientes que tienen cuenta corriente")
     @GetMapping("/cuenta-corriente")
     @PreAuthorize("hasAnyRole('ADMIN', 'GERENTE')")
@@ -182,8 +214,11 @@ public class ClienteController {
     @PreAuthorize("hasAnyRole('ADMIN', 'GERENTE', 'CAJERO')")
     public ResponseEntity<ClienteResponse> registrarPago(
             @Parameter(description = "ID del cliente") @PathVariable Integer id,
-            @Parameter(description = "Monto del pago") @RequestParam BigDecimal monto) {
-        ClienteResponse response = clienteService.registrarPago(id, monto);
+            @Parameter(description = "Monto del pago") @RequestParam BigDecimal monto,
+            @Parameter(description = "Clave para reintentar sin duplicar el pago") @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        ClienteResponse response = idempotenciaService.ejecutar(idempotencyKey,
+                "POST /clientes/" + id + "/pagar?monto=" + monto, ClienteResponse.class,
+                () -> clienteService.registrarPago(id, monto));
         return ResponseEntity.ok(response);
     }
 
@@ -192,8 +227,37 @@ public class ClienteController {
     @PreAuthorize("hasAnyRole('ADMIN', 'GERENTE', 'VENDEDOR')")
     public ResponseEntity<ClienteResponse> registrarVenta(
             @Parameter(description = "ID del cliente") @PathVariable Integer id,
-            @Parameter(description = "Monto de la venta") @RequestParam BigDecimal monto) {
-        ClienteResponse response = clienteService.registrarVenta(id, monto);
+            @Parameter(description = "Monto de la venta") @RequestParam BigDecimal monto,
+            @Parameter(description = "Clave para reintentar sin duplicar la venta") @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        ClienteResponse response = idempotenciaService.ejecutar(idempotencyKey,
+                "POST /clientes/" + id + "/venta?monto=" + monto, ClienteResponse.class,
+                () -> clienteService.registrarVenta(id, monto));
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Estado de cuenta",
+            description = "Obtiene los movimientos de cuenta corriente en un rango de fechas con saldo inicial y final")
+    @GetMapping("/{id}/cuenta-corriente/movimientos")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GERENTE', 'CAJERO')")
+    public ResponseEntity<EstadoCuentaResponse> getEstadoCuenta(
+            @Parameter(description = "ID del cliente") @PathVariable Integer id,
+            @Parameter(description = "Fecha desde (inclusive)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @Parameter(description = "Fecha hasta (exclusive)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+            @Parameter(description = "Número de página") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Tamaño de página") @RequestParam(defaultValue = "50") int size) {
+        EstadoCuentaResponse response = cuentaCorrienteService.getEstadoCuenta(id, desde, hasta, PageRequest.of(page, size));
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Antigüedad de saldo",
+            description = "Distribuye el saldo de cuenta corriente en tramos de 30, 60, 90 y más de 90 días")
+    @GetMapping("/{id}/cuenta-corriente/antiguedad")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GERENTE')")
+    public ResponseEntity<AntiguedadSaldoResponse> getAntiguedad(
+            @Parameter(description = "ID del cliente") @PathVariable Integer id) {
+        AntiguedadSaldoResponse response = cuentaCorrienteService.getAntiguedad(id);
         return ResponseEntity.ok(response);
     }
 
@@ -0,0 +1,60 @@
+package com.belleza.pos.controller;
+
+import com.belleza.pos.service.ExportacionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Controlador REST para exportaciones masivas
+ */
+@Tag(name = "Exportaciones", description = "Endpoints para exportación masiva de datos")
+@RestController
+@RequestMapping("/exportaciones")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+public class ExportacionController {
+
+    private final ExportacionService exportacionService;
+
+    /**
+     * Exportar catálogo de artículos en NDJSON
+     */
+    @Operation(summary = "Exportar artículos en NDJSON",
+            description = "Descarga el catálogo completo con precios por lista y proveedor predeterminado, un artículo por línea")
+    @GetMapping("/articulos/ndjson")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GERENTE')")
+    public ResponseEntity<StreamingResponseBody> exportarArticulosNdjson() {
+        StreamingResponseBody cuerpo = exportacionService::exportarArticulosNdjson;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"articulos.ndjson\"")
+                .body(cuerpo);
+    }
+
+    /**
+     * Exportar catálogo de artículos en CSV
+     */
+    @Operation(summary = "Exportar artículos en CSV",
+            description = "Descarga el catálogo completo con una columna precio_<idLista> por lista y el proveedor predeterminado")
+    @GetMapping("/articulos/csv")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GERENTE')")
+    public ResponseEntity<StreamingResponseBody> exportarArticulosCsv() {
+        StreamingResponseBody cuerpo = exportacionService::exportarArticulosCsv;
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"articulos.csv\"")
+                .body(cuerpo);
+    }
+}
@@ -0,0 +1,58 @@
+package com.belleza.pos.controller;
+
+import com.belleza.pos.dto.response.ImportacionResponse;
+import com.belleza.pos.exception.BusinessException;
+import com.belleza.pos.service.ImportacionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Controlador REST para importaciones masivas
+ */
+@Tag(name = "Importaciones", description = "Endpoints para importación masiva de datos")
+@RestController
+@RequestMapping("/importaciones")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+public class ImportacionController {
+
+    private final ImportacionService importacionService;
+
+    /**
+     * Importar artículos desde CSV
+     */
+    @Operation(summary = "Importar artículos",
+            description = "Importa artículos desde un CSV con encabezado. Columnas obligatorias: codigo_barras, descripcion. " +
+                    "Opcionales: id_rubro, unidad_venta, usa_control_stock, stock_actual, stock_minimo, stock_maximo, " +
+                    "fecha_vencimiento, imagen_url, publicar_en_web, en_oferta, activo, id_proveedor, costo_proveedor " +
+                    "y una columna precio_<idLista> por cada lista de precios")
+    @PostMapping(value = "/articulos", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'GERENTE')")
+    public ResponseEntity<ImportacionResponse> importarArticulos(
+            @Parameter(description = "Archivo CSV codificado en UTF-8") @RequestParam("archivo") MultipartFile archivo) {
+        if (archivo.isEmpty()) {
+            throw new BusinessException("El archivo está vacío");
+        }
+
+        try (InputStream contenido = archivo.getInputStream()) {
+            ImportacionResponse response = importacionService.importarArticulos(contenido);
+            return ResponseEntity.ok(response);
+        } catch (IOException e) {
+            throw new BusinessException("No se pudo leer el archivo", e);
+        }
+    }
+}
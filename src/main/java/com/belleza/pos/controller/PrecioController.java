@@ -0,0 +1,38 @@
+package com.belleza.pos.controller;
+
+import com.belleza.pos.dto.request.CotizacionRequest;
+import com.belleza.pos.dto.response.CotizacionResponse;
+import com.belleza.pos.service.PrecioService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controlador REST para resolución de precios
+ */
+@Tag(name = "Precios", description = "Endpoints para cotizar artículos contra listas de precios")
+@RestController
+@RequestMapping("/precios")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+public class PrecioController {
+
+    private final PrecioService precioService;
+
+    /**
+     * Cotizar un carrito
+     */
+    @Operation(summary = "Cotizar carrito",
+            description = "Calcula precio neto, IVA según el rubro y total de cada ítem en la lista indicada o la predeterminada")
+    @PostMapping("/cotizar")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GERENTE', 'VENDEDOR', 'CAJERO')")
+    public ResponseEntity<CotizacionResponse> cotizar(@Valid @RequestBody CotizacionRequest request) {
+        CotizacionResponse response = precioService.cotizar(request);
+        return ResponseEntity.ok(response);
+    }
+}
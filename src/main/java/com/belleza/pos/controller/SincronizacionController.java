@@ -0,0 +1,44 @@
+package com.belleza.pos.controller;
+
+import com.belleza.pos.dto.response.SincronizacionResponse;
+import com.belleza.pos.service.SincronizacionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+
+/**
+ * Controlador REST para la sincronización de terminales que operaron sin conexión
+ */
+@Tag(name = "Sincronización", description = "Endpoints para subir operaciones registradas sin conexión")
+@RestController
+@RequestMapping("/sincronizacion")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+public class SincronizacionController {
+
+    private final SincronizacionService sincronizacionService;
+
+    /**
+     * Subir la cola de operaciones de una terminal
+     */
+    @Operation(summary = "Sincronizar operaciones",
+            description = "Recibe un arreglo JSON de operaciones (DECREMENTO_STOCK, CARGO_CUENTA, PAGO_CUENTA) con ID único " +
+                    "y fecha de la terminal. Se aplican en orden de fecha; las ya sincronizadas se informan como duplicadas")
+    @PostMapping(value = "/operaciones", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'GERENTE', 'VENDEDOR', 'CAJERO')")
+    public ResponseEntity<SincronizacionResponse> sincronizar(
+            @Parameter(hidden = true) InputStream contenido) {
+        SincronizacionResponse response = sincronizacionService.sincronizar(contenido);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -3,6 +3,7 @@ package com.belleza.pos.controller;
 import com.belleza.pos.dto.request.ChangePasswordRequest;
 import com.belleza.pos.dto.request.CreateUsuarioRequest;
 import com.belleza.pos.dto.request.UpdateUsuarioRequest;
+import com.belleza.pos.dto.response.CursorPageResponse;
 import com.belleza.pos.dto.response.MessageResponse;
 import com.belleza.pos.dto.response.UsuarioResponse;
 import com.belleza.pos.dto.response.UsuarioSimpleResponse;
@@ -103,6 +104,20 @@ public class UsuarioController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Obtener usuarios con paginación por cursor
+     */
+    @Operation(summary = "Listar usuarios por cursor",
+            description = "Obtiene usuarios ordenados por username usando paginación por cursor, sin conteo total")
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GERENTE')")
+    public ResponseEntity<CursorPageResponse<UsuarioResponse>> getAllByCursor(
+            @Parameter(description = "Cursor devuelto por la página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página") @RequestParam(defaultValue = "10") int size) {
+        CursorPageResponse<UsuarioResponse> response = usuarioService.getAllByCursor(cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Obtener todos los usuarios activos
      */
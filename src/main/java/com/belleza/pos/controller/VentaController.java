@@ -0,0 +1,58 @@
+package com.belleza.pos.controller;
+
+import com.belleza.pos.dto.request.VentaRequest;
+import com.belleza.pos.dto.response.VentaResponse;
+import com.belleza.pos.service.IdempotenciaService;
+import com.belleza.pos.service.VentaService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controlador REST para ventas
+ */
+@Tag(name = "Ventas", description = "Endpoints para registrar y consultar ventas")
+@RestController
+@RequestMapping("/ventas")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+public class VentaController {
+
+    private final VentaService ventaService;
+    private final IdempotenciaService idempotenciaService;
+
+    /**
+     * Registrar una venta
+     */
+    @Operation(summary = "Registrar venta",
+            description = "Cobra el ticket completo: precios, descuento de stock de la sucursal, cuenta corriente y líneas en una sola transacción")
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'GERENTE', 'VENDEDOR', 'CAJERO')")
+    public ResponseEntity<VentaResponse> registrar(
+            @Valid @RequestBody VentaRequest request,
+            @Parameter(description = "Clave para reintentar sin duplicar la venta") @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        VentaResponse response = idempotenciaService.ejecutar(idempotencyKey,
+                idempotenciaService.operacion("POST /ventas", request), VentaResponse.class,
+                () -> ventaService.registrar(request));
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    /**
+     * Obtener una venta por ID
+     */
+    @Operation(summary = "Obtener venta", description = "Obtiene una venta con sus líneas")
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'GERENTE', 'VENDEDOR', 'CAJERO')")
+    public ResponseEntity<VentaResponse> getById(
+            @Parameter(description = "ID de la venta") @PathVariable Long id) {
+        VentaResponse response = ventaService.getById(id);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,42 @@
+package com.belleza.pos.dto.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO para ajuste masivo de precios
+ * @param tipoAjuste
+ * @param valor
+ * @param redondeo
+ * @param modoRedondeo
+ * @param idLista
+ * @param idRubro
+ * @param idProveedor
+ * @param enOferta
+ */
+
+public record AjustePreciosRequest(
+
+    @NotNull(message = "El tipo de ajuste es obligatorio")
+    String tipoAjuste, // PORCENTAJE, MONTO
+
+    @NotNull(message = "El valor del ajuste es obligatorio")
+    BigDecimal valor,
+
+    // Múltiplo al que se redondea el nuevo precio (ej. 10 redondea a decenas)
+    @DecimalMin(value = "0.01", message = "El redondeo debe ser mayor a 0")
+    BigDecimal redondeo,
+
+    String modoRedondeo, // CERCANO, ARRIBA, ABAJO
+
+    // Filtros; los nulos no restringen
+    Integer idLista,
+
+    Integer idRubro,
+
+    Integer idProveedor,
+
+    Boolean enOferta
+) {}
@@ -0,0 +1,21 @@
+package com.belleza.pos.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * DTO para cotizar un carrito completo contra una lista de precios
+ * @param idLista
+ * @param items
+ */
+
+public record CotizacionRequest(
+
+    // Si es nulo se usa la lista predeterminada
+    Integer idLista,
+
+    @NotEmpty(message = "Debe indicar al menos un ítem")
+    List<@Valid ItemCotizacionRequest> items
+) {}
@@ -0,0 +1,22 @@
+package com.belleza.pos.dto.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO para un ítem a cotizar
+ * @param idArticulo
+ * @param cantidad
+ */
+
+public record ItemCotizacionRequest(
+
+    @NotNull(message = "El ID de artículo es obligatorio")
+    Integer idArticulo,
+
+    @NotNull(message = "La cantidad es obligatoria")
+    @DecimalMin(value = "0.001", message = "La cantidad debe ser mayor a 0")
+    BigDecimal cantidad
+) {}
@@ -0,0 +1,38 @@
+package com.belleza.pos.dto.request;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO para una operación registrada sin conexión en una terminal
+ * @param idOperacion
+ * @param tipo
+ * @param fecha
+ * @param idArticulo
+ * @param idCliente
+ * @param cantidad
+ * @param monto
+ */
+
+public record OperacionOfflineRequest(
+
+    // Identificador único generado por la terminal
+    String idOperacion,
+
+    String tipo, // DECREMENTO_STOCK, CARGO_CUENTA, PAGO_CUENTA
+
+    // Fecha y hora de la terminal; define el orden de aplicación
+    LocalDateTime fecha,
+
+    // Obligatorio para DECREMENTO_STOCK
+    Integer idArticulo,
+
+    // Obligatorio para CARGO_CUENTA y PAGO_CUENTA
+    Integer idCliente,
+
+    // Obligatoria para DECREMENTO_STOCK
+    BigDecimal cantidad,
+
+    // Obligatorio para CARGO_CUENTA y PAGO_CUENTA
+    BigDecimal monto
+) {}
@@ -0,0 +1,30 @@
+package com.belleza.pos.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * DTO para registrar una venta completa
+ * @param idCliente
+ * @param idLista
+ * @param formaPago
+ * @param items
+ */
+
+public record VentaRequest(
+
+    // Obligatorio si la forma de pago es CUENTA_CORRIENTE
+    Integer idCliente,
+
+    // Si es nulo se usa la lista predeterminada
+    Integer idLista,
+
+    @NotNull(message = "La forma de pago es obligatoria")
+    String formaPago, // EFECTIVO, TARJETA, TRANSFERENCIA, CUENTA_CORRIENTE
+
+    @NotEmpty(message = "La venta debe tener al menos un ítem")
+    List<@Valid ItemVentaRequest> items
+) {}
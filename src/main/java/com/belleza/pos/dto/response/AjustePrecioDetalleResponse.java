@@ -0,0 +1,25 @@
+package com.belleza.pos.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO con el precio anterior y nuevo de un artículo en una lista
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AjustePrecioDetalleResponse {
+
+    private Integer idArticulo;
+    private String codigoBarras;
+    private String descripcion;
+    private Integer idLista;
+    private BigDecimal precioAnterior;
+    private BigDecimal precioNuevo;
+}
@@ -0,0 +1,24 @@
+package com.belleza.pos.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO con el resultado de un ajuste masivo de precios
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AjustePreciosResponse {
+
+    private Boolean simulacion;
+    private Integer preciosAfectados;
+
+    // Primeros precios afectados, sólo en simulación
+    private List<AjustePrecioDetalleResponse> muestra;
+}
@@ -0,0 +1,29 @@
+package com.belleza.pos.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO de respuesta para la antigüedad del saldo de cuenta corriente de un cliente
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AntiguedadSaldoResponse {
+
+    private Integer idCliente;
+    private LocalDateTime fecha;
+    private BigDecimal saldoActual;
+
+    // Saldo pendiente según la antigüedad de los cargos que lo originaron
+    private BigDecimal hasta30Dias;
+    private BigDecimal de31a60Dias;
+    private BigDecimal de61a90Dias;
+    private BigDecimal masDe90Dias;
+}
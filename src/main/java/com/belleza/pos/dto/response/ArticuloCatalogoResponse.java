@@ -0,0 +1,29 @@
+package com.belleza.pos.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * DTO compacto de artículo para sincronización del catálogo en terminales
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticuloCatalogoResponse {
+
+    private Integer idArticulo;
+    private String codigoBarras;
+    private String descripcion;
+    private Integer idRubro;
+    private String unidadVenta;
+    private Boolean enOferta;
+
+    // Precio de venta por ID de lista
+    private Map<Integer, BigDecimal> precios;
+}
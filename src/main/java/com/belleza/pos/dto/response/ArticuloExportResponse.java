@@ -0,0 +1,34 @@
+package com.belleza.pos.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * DTO de artículo para exportación del catálogo
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticuloExportResponse {
+
+    private Integer idArticulo;
+    private String codigoBarras;
+    private String descripcion;
+    private String rubro;
+    private String unidadVenta;
+    private BigDecimal stockActual;
+    private Boolean activo;
+
+    // Proveedor predeterminado
+    private String proveedor;
+    private BigDecimal costoProveedor;
+
+    // Precio de venta por ID de lista
+    private Map<Integer, BigDecimal> precios;
+}
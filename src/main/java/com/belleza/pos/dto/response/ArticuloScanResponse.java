@@ -0,0 +1,21 @@
+package com.belleza.pos.dto.response;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO compacto de artículo para escaneo en caja
+ * @param idArticulo
+ * @param codigoBarras
+ * @param descripcion
+ * @param precioVenta Precio de lista predeterminada
+ * @param stockActual
+ * @param activo
+ */
+public record ArticuloScanResponse(
+        Integer idArticulo,
+        String codigoBarras,
+        String descripcion,
+        BigDecimal precioVenta,
+        BigDecimal stockActual,
+        Boolean activo
+) {}
@@ -0,0 +1,29 @@
+package com.belleza.pos.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO con los cambios del catálogo desde una versión dada
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogoDeltaResponse {
+
+    private Long version;
+
+    // Si es true el cliente debe descargar el snapshot completo
+    private Boolean requiereSnapshotCompleto;
+
+    // Artículos nuevos o modificados (incluye todos sus precios)
+    private List<ArticuloCatalogoResponse> articulos;
+
+    // IDs de artículos dados de baja
+    private List<Integer> bajas;
+}
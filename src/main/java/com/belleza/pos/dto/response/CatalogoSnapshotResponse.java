@@ -0,0 +1,21 @@
+package com.belleza.pos.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO con el catálogo completo de artículos activos en una versión dada
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogoSnapshotResponse {
+
+    private Long version;
+    private List<ArticuloCatalogoResponse> articulos;
+}
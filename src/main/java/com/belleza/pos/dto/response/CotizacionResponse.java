@@ -0,0 +1,26 @@
+package com.belleza.pos.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO con la cotización de un carrito en una lista de precios
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CotizacionResponse {
+
+    private Integer idLista;
+    private String nombreLista;
+    private List<ItemCotizacionResponse> items;
+    private BigDecimal subtotal;
+    private BigDecimal iva;
+    private BigDecimal total;
+}
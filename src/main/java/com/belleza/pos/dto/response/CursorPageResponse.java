@@ -0,0 +1,25 @@
+package com.belleza.pos.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para páginas obtenidas con paginación por cursor (keyset)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+
+    private List<T> content;
+    private Integer size;
+    private Boolean hasNext;
+
+    // Cursor opaco para pedir la página siguiente (null si no hay más)
+    private String nextCursor;
+}
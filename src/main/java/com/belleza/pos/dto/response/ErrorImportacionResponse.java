@@ -0,0 +1,20 @@
+package com.belleza.pos.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con el motivo de rechazo de una fila importada
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErrorImportacionResponse {
+
+    private Integer fila;
+    private String codigoBarras;
+    private String mensaje;
+}
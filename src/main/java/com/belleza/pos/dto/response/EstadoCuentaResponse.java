@@ -0,0 +1,30 @@
+package com.belleza.pos.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO de respuesta para el estado de cuenta corriente de un cliente en un rango de fechas
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstadoCuentaResponse {
+
+    private Integer idCliente;
+    private LocalDateTime desde;
+    private LocalDateTime hasta;
+
+    // Saldo al inicio y al final del rango
+    private BigDecimal saldoInicial;
+    private BigDecimal saldoFinal;
+
+    private Page<MovimientoCuentaResponse> movimientos;
+}
@@ -0,0 +1,23 @@
+package com.belleza.pos.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO con el resultado de una importación masiva
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportacionResponse {
+
+    private Integer totalFilas;
+    private Integer importados;
+    private Integer rechazados;
+    private List<ErrorImportacionResponse> errores;
+}
@@ -0,0 +1,27 @@
+package com.belleza.pos.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO para un ítem cotizado
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemCotizacionResponse {
+
+    private Integer idArticulo;
+    private BigDecimal cantidad;
+    private BigDecimal precioUnitario;
+    private BigDecimal ivaPorcentaje;
+    private BigDecimal precioUnitarioConIva;
+    private BigDecimal subtotal;
+    private BigDecimal iva;
+    private BigDecimal total;
+}
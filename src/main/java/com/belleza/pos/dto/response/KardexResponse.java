@@ -0,0 +1,31 @@
+package com.belleza.pos.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO de respuesta para el historial de stock de un artículo en una sucursal y rango de fechas
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KardexResponse {
+
+    private Integer idArticulo;
+    private Integer idSucursal;
+    private LocalDateTime desde;
+    private LocalDateTime hasta;
+
+    // Stock al inicio y al final del rango
+    private BigDecimal saldoInicial;
+    private BigDecimal saldoFinal;
+
+    private Page<MovimientoStockResponse> movimientos;
+}
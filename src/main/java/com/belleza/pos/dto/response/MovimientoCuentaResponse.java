@@ -0,0 +1,28 @@
+package com.belleza.pos.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO de respuesta para movimiento de cuenta corriente
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovimientoCuentaResponse {
+
+    private Long idMovimiento;
+    private String tipo;
+    private BigDecimal monto;
+    private BigDecimal saldo;
+    private Long idVenta;
+    private String usuario;
+    private String descripcion;
+    private LocalDateTime fecha;
+}
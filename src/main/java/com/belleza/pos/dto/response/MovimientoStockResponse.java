@@ -0,0 +1,27 @@
+package com.belleza.pos.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO de respuesta para movimiento de stock
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovimientoStockResponse {
+
+    private Long idMovimiento;
+    private String tipo;
+    private BigDecimal cantidad;
+    private BigDecimal saldo;
+    private String usuario;
+    private String motivo;
+    private LocalDateTime fecha;
+}
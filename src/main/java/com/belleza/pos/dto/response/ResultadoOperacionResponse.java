@@ -0,0 +1,21 @@
+package com.belleza.pos.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con el resultado de una operación sincronizada
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoOperacionResponse {
+
+    private String idOperacion;
+    private String tipo;
+    private String estado; // APLICADA, DUPLICADA, RECHAZADA
+    private String mensaje;
+}
@@ -0,0 +1,24 @@
+package com.belleza.pos.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO con el resultado de la sincronización de operaciones sin conexión
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SincronizacionResponse {
+
+    private Integer totalOperaciones;
+    private Integer aplicadas;
+    private Integer duplicadas;
+    private Integer rechazadas;
+    private List<ResultadoOperacionResponse> resultados;
+}
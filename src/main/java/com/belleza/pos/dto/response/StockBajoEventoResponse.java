@@ -0,0 +1,21 @@
+package com.belleza.pos.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO para los cambios del conjunto de artículos con stock bajo enviados por SSE.
+ * Tipo: ALTA, ACTUALIZACION o BAJA; en las bajas no se incluye el artículo.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockBajoEventoResponse {
+
+    private String tipo;
+    private Integer idArticulo;
+    private ArticuloStockBajoResponse articulo;
+}
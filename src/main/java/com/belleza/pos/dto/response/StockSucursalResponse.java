@@ -0,0 +1,22 @@
+package com.belleza.pos.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO de respuesta para el stock de un artículo en una sucursal
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockSucursalResponse {
+
+    private Integer idSucursal;
+    private String sucursal;
+    private BigDecimal stockActual;
+}
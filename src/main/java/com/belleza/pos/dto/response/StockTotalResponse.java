@@ -0,0 +1,21 @@
+package com.belleza.pos.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO de respuesta para el stock total de un artículo sumando todas las sucursales
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockTotalResponse {
+
+    private Integer idArticulo;
+    private BigDecimal stockTotal;
+}
@@ -0,0 +1,28 @@
+package com.belleza.pos.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO para una línea de venta
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VentaDetalleResponse {
+
+    private Integer idArticulo;
+    private String codigoBarras;
+    private String descripcion;
+    private BigDecimal cantidad;
+    private BigDecimal precioUnitario;
+    private BigDecimal ivaPorcentaje;
+    private BigDecimal subtotal;
+    private BigDecimal iva;
+    private BigDecimal total;
+}
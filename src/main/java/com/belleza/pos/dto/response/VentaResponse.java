@@ -0,0 +1,32 @@
+package com.belleza.pos.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO de respuesta para Venta
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VentaResponse {
+
+    private Long idVenta;
+    private LocalDateTime fecha;
+    private Integer idSucursal;
+    private Integer idCliente;
+    private Integer idLista;
+    private String formaPago;
+    private String username;
+    private List<VentaDetalleResponse> items;
+    private BigDecimal subtotal;
+    private BigDecimal iva;
+    private BigDecimal total;
+}
@@ -19,7 +19,11 @@ import java.util.Set;
  * Entidad Artículo/Producto
  */
 @Entity
-@Table(name = "articulos")
+@Table(name = "articulos", indexes = {
+        @Index(name = "idx_articulos_descripcion", columnList = "descripcion, id_articulo"),
+        @Index(name = "idx_articulos_stock_bajo", columnList = "stock_bajo"),
+        @Index(name = "idx_articulos_version_catalogo", columnList = "version_catalogo")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -48,12 +52,18 @@ public class Articulo {
     @Column(name = "usa_control_stock", nullable = false)
     private Boolean usaControlStock = false;
 
-    @Column(name = "stock_actual", precision = 10, scale = 3)
+    // Total de todas las sucursales; lo mantiene StockTotalBuffer a partir de stock_sucursales
+    @Column(name = "stock_actual", precision = 10, scale = 3, updatable = false)
     private BigDecimal stockActual = BigDecimal.ZERO;
 
     @Column(name = "stock_minimo", precision = 10, scale = 3)
     private BigDecimal stockMinimo = BigDecimal.ZERO;
 
+    // stock_actual <= stock_minimo en artículos activos con control de stock; lo mantiene StockTotalBuffer
+    @Column(name = "stock_bajo", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "BOOLEAN NOT NULL DEFAULT FALSE")
+    private Boolean stockBajo = false;
+
     @Column(name = "stock_maximo", precision = 10, scale = 3)
     private BigDecimal stockMaximo = BigDecimal.ZERO;
 
@@ -78,6 +88,12 @@ public class Articulo {
     @OneToMany(mappedBy = "articulo", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<ArticuloProveedor> proveedores = new HashSet<>();
 
+    // Versión del catálogo en la que cambió el artículo o alguno de sus precios.
+    // La asigna CatalogoService luego del commit; JPA nunca la escribe
+    @Column(name = "version_catalogo", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long versionCatalogo = 0L;
+
     @CreatedDate
     @Column(name = "fecha_creacion", nullable = false, updatable = false)
     private LocalDateTime fechaCreacion;
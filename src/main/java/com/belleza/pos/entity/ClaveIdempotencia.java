@@ -0,0 +1,42 @@
+package com.belleza.pos.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad ClaveIdempotencia - Respuesta registrada de una operación enviada con encabezado Idempotency-Key
+ */
+@Entity
+@Immutable
+@Table(name = "claves_idempotencia",
+        indexes = @Index(name = "idx_claves_idempotencia_expiracion", columnList = "fecha_expiracion"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClaveIdempotencia {
+
+    @Id
+    @Column(name = "clave", length = 100)
+    private String clave;
+
+    @Column(name = "username", length = 50)
+    private String username;
+
+    @Column(name = "operacion", nullable = false, length = 200)
+    private String operacion;
+
+    @Lob
+    @Column(name = "respuesta", columnDefinition = "MEDIUMTEXT")
+    private String respuesta;
+
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion;
+
+    @Column(name = "fecha_expiracion", nullable = false)
+    private LocalDateTime fechaExpiracion;
+}
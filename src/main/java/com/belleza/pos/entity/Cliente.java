@@ -15,7 +15,7 @@ import java.time.LocalDateTime;
  * Entidad Cliente
  */
 @Entity
-@Table(name = "clientes")
+@Table(name = "clientes", indexes = @Index(name = "idx_clientes_nombre", columnList = "nombre, id_cliente"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -99,6 +99,11 @@ public class Cliente {
     @Column(name = "activo", nullable = false)
     private Boolean activo = true;
 
+    // Control optimista; las actualizaciones de saldo por consulta también lo incrementan
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long version;
+
     @CreatedDate
     @Column(name = "fecha_creacion", nullable = false, updatable = false)
     private LocalDateTime fechaCreacion;
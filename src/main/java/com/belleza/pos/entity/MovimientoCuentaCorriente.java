@@ -0,0 +1,61 @@
+package com.belleza.pos.entity;
+
+import com.belleza.pos.entity.enums.TipoMovimientoCuenta;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entidad MovimientoCuentaCorriente - Registro inmutable de cada cargo o pago en la cuenta corriente de un cliente
+ */
+@Entity
+@Immutable
+@Table(name = "movimientos_cuenta_corriente",
+        indexes = {
+                @Index(name = "idx_movimientos_cc_cliente_fecha", columnList = "id_cliente, fecha, id_movimiento"),
+                @Index(name = "idx_movimientos_cc_fecha", columnList = "fecha")
+        })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovimientoCuentaCorriente {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_movimiento")
+    private Long idMovimiento;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_cliente", nullable = false)
+    private Cliente cliente;
+
+    // Venta que originó el cargo, si corresponde
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_venta")
+    private Venta venta;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo", nullable = false, length = 20)
+    private TipoMovimientoCuenta tipo;
+
+    @Column(name = "monto", nullable = false, precision = 15, scale = 2)
+    private BigDecimal monto;
+
+    // Saldo de la cuenta luego del movimiento
+    @Column(name = "saldo", nullable = false, precision = 15, scale = 2)
+    private BigDecimal saldo;
+
+    @Column(name = "username", length = 50)
+    private String username;
+
+    @Column(name = "descripcion")
+    private String descripcion;
+
+    @Column(name = "fecha", nullable = false)
+    private LocalDateTime fecha;
+}
@@ -0,0 +1,62 @@
+package com.belleza.pos.entity;
+
+import com.belleza.pos.entity.enums.TipoMovimientoStock;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entidad MovimientoStock - Registro inmutable de cada movimiento de stock (kardex)
+ */
+@Entity
+@Immutable
+@Table(name = "movimientos_stock",
+        indexes = {
+                @Index(name = "idx_movimientos_stock_articulo_fecha",
+                        columnList = "id_articulo, id_sucursal, fecha, id_movimiento"),
+                @Index(name = "idx_movimientos_stock_fecha", columnList = "fecha")
+        })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovimientoStock {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_movimiento")
+    private Long idMovimiento;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_articulo", nullable = false)
+    private Articulo articulo;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_sucursal", nullable = false)
+    private Sucursal sucursal;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo", nullable = false, length = 20)
+    private TipoMovimientoStock tipo;
+
+    // Cantidad del movimiento; en los ajustes es la diferencia con el stock anterior, con signo
+    @Column(name = "cantidad", nullable = false, precision = 10, scale = 3)
+    private BigDecimal cantidad;
+
+    // Stock resultante de la sucursal luego del movimiento
+    @Column(name = "saldo", nullable = false, precision = 10, scale = 3)
+    private BigDecimal saldo;
+
+    @Column(name = "username", length = 50)
+    private String username;
+
+    @Column(name = "motivo")
+    private String motivo;
+
+    @Column(name = "fecha", nullable = false)
+    private LocalDateTime fecha;
+}
@@ -0,0 +1,40 @@
+package com.belleza.pos.entity;
+
+import com.belleza.pos.entity.enums.TipoOperacionOffline;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad OperacionOfflineAplicada - ID de una operación sin conexión ya aplicada.
+ * Los registros no vencen: una terminal puede volver a subir su cola en cualquier momento.
+ */
+@Entity
+@Immutable
+@Table(name = "operaciones_offline_aplicadas")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OperacionOfflineAplicada {
+
+    @Id
+    @Column(name = "id_operacion", length = 64)
+    private String idOperacion;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo", nullable = false, length = 20)
+    private TipoOperacionOffline tipo;
+
+    @Column(name = "username", length = 50)
+    private String username;
+
+    @Column(name = "fecha_operacion", nullable = false)
+    private LocalDateTime fechaOperacion;
+
+    @Column(name = "fecha_aplicacion", nullable = false)
+    private LocalDateTime fechaAplicacion;
+}
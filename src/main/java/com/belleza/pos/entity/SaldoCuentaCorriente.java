@@ -0,0 +1,38 @@
+package com.belleza.pos.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entidad SaldoCuentaCorriente - Foto periódica del saldo de la cuenta corriente de un cliente
+ */
+@Entity
+@Immutable
+@Table(name = "saldos_cuenta_corriente",
+        indexes = @Index(name = "idx_saldos_cc_cliente_fecha", columnList = "id_cliente, fecha"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaldoCuentaCorriente {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_saldo")
+    private Long idSaldo;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_cliente", nullable = false)
+    private Cliente cliente;
+
+    @Column(name = "saldo", nullable = false, precision = 15, scale = 2)
+    private BigDecimal saldo;
+
+    @Column(name = "fecha", nullable = false)
+    private LocalDateTime fecha;
+}
@@ -0,0 +1,42 @@
+package com.belleza.pos.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entidad SaldoStock - Foto periódica del stock de un artículo en una sucursal
+ */
+@Entity
+@Immutable
+@Table(name = "saldos_stock",
+        indexes = @Index(name = "idx_saldos_stock_articulo_fecha", columnList = "id_articulo, id_sucursal, fecha"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaldoStock {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_saldo")
+    private Long idSaldo;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_articulo", nullable = false)
+    private Articulo articulo;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_sucursal", nullable = false)
+    private Sucursal sucursal;
+
+    @Column(name = "saldo", nullable = false, precision = 10, scale = 3)
+    private BigDecimal saldo;
+
+    @Column(name = "fecha", nullable = false)
+    private LocalDateTime fecha;
+}
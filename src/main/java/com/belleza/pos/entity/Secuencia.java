@@ -0,0 +1,24 @@
+package com.belleza.pos.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entidad Secuencia - Próximo valor libre de una numeración; los valores se reservan en bloques
+ */
+@Entity
+@Table(name = "secuencias")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Secuencia {
+
+    @Id
+    @Column(name = "nombre", length = 50)
+    private String nombre;
+
+    @Column(name = "proximo_valor", nullable = false)
+    private Long proximoValor;
+}
@@ -0,0 +1,37 @@
+package com.belleza.pos.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Entidad StockSucursal - Stock de un artículo en una sucursal
+ */
+@Entity
+@Table(name = "stock_sucursales",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"id_articulo", "id_sucursal"}),
+        indexes = @Index(name = "idx_stock_sucursales_sucursal", columnList = "id_sucursal, id_articulo"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockSucursal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_stock_sucursal")
+    private Integer id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_articulo", nullable = false)
+    private Articulo articulo;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_sucursal", nullable = false)
+    private Sucursal sucursal;
+
+    @Column(name = "stock_actual", nullable = false, precision = 10, scale = 3)
+    private BigDecimal stockActual = BigDecimal.ZERO;
+}
@@ -0,0 +1,35 @@
+package com.belleza.pos.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad TokenRevocado - Identificador (jti) de un token JWT revocado antes de su expiración
+ */
+@Entity
+@Immutable
+@Table(name = "tokens_revocados",
+        indexes = @Index(name = "idx_tokens_revocados_expiracion", columnList = "fecha_expiracion"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocado {
+
+    @Id
+    @Column(name = "jti", length = 36)
+    private String jti;
+
+    @Column(name = "username", length = 50)
+    private String username;
+
+    @Column(name = "fecha_revocacion", nullable = false)
+    private LocalDateTime fechaRevocacion;
+
+    @Column(name = "fecha_expiracion", nullable = false)
+    private LocalDateTime fechaExpiracion;
+}
@@ -0,0 +1,61 @@
+package com.belleza.pos.entity;
+
+import com.belleza.pos.entity.enums.FormaPago;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entidad Venta - Cabecera de un ticket de venta
+ */
+@Entity
+@Table(name = "ventas",
+        indexes = {
+                @Index(name = "idx_ventas_fecha", columnList = "fecha"),
+                @Index(name = "idx_ventas_cliente_fecha", columnList = "id_cliente, fecha")
+        })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Venta {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_venta")
+    private Long idVenta;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_sucursal", nullable = false)
+    private Sucursal sucursal;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_cliente")
+    private Cliente cliente;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_lista", nullable = false)
+    private ListaPrecio listaPrecio;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "forma_pago", nullable = false, length = 20)
+    private FormaPago formaPago;
+
+    @Column(name = "username", length = 50)
+    private String username;
+
+    @Column(name = "subtotal", nullable = false, precision = 15, scale = 2)
+    private BigDecimal subtotal;
+
+    @Column(name = "iva", nullable = false, precision = 15, scale = 2)
+    private BigDecimal iva;
+
+    @Column(name = "total", nullable = false, precision = 15, scale = 2)
+    private BigDecimal total;
+
+    @Column(name = "fecha", nullable = false)
+    private LocalDateTime fecha;
+}
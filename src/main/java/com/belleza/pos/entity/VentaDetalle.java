@@ -0,0 +1,50 @@
+package com.belleza.pos.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Entidad VentaDetalle - Línea de un ticket de venta con el precio aplicado
+ */
+@Entity
+@Table(name = "ventas_detalle", indexes = @Index(name = "idx_ventas_detalle_venta", columnList = "id_venta"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VentaDetalle {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_detalle")
+    private Long idDetalle;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_venta", nullable = false)
+    private Venta venta;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_articulo", nullable = false)
+    private Articulo articulo;
+
+    @Column(name = "cantidad", nullable = false, precision = 10, scale = 3)
+    private BigDecimal cantidad;
+
+    @Column(name = "precio_unitario", nullable = false, precision = 15, scale = 2)
+    private BigDecimal precioUnitario;
+
+    @Column(name = "iva_porcentaje", nullable = false, precision = 5, scale = 2)
+    private BigDecimal ivaPorcentaje;
+
+    @Column(name = "subtotal", nullable = false, precision = 15, scale = 2)
+    private BigDecimal subtotal;
+
+    @Column(name = "iva", nullable = false, precision = 15, scale = 2)
+    private BigDecimal iva;
+
+    @Column(name = "total", nullable = false, precision = 15, scale = 2)
+    private BigDecimal total;
+}
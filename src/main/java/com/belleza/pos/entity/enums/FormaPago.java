@@ -0,0 +1,21 @@
+package com.belleza.pos.entity.enums;
+
+/**
+ * Enum para formas de pago de una venta
+ */
+public enum FormaPago {
+    EFECTIVO("Efectivo"),
+    TARJETA("Tarjeta"),
+    TRANSFERENCIA("Transferencia"),
+    CUENTA_CORRIENTE("Cuenta corriente");
+
+    private final String descripcion;
+
+    FormaPago(String descripcion) {
+        this.descripcion = descripcion;
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+}
@@ -0,0 +1,19 @@
+package com.belleza.pos.entity.enums;
+
+/**
+ * Enum para tipos de movimiento de cuenta corriente
+ */
+public enum TipoMovimientoCuenta {
+    CARGO("Cargo"),
+    PAGO("Pago");
+
+    private final String descripcion;
+
+    TipoMovimientoCuenta(String descripcion) {
+        this.descripcion = descripcion;
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+}
@@ -0,0 +1,20 @@
+package com.belleza.pos.entity.enums;
+
+/**
+ * Enum para tipos de movimiento de stock
+ */
+public enum TipoMovimientoStock {
+    INGRESO("Ingreso"),
+    EGRESO("Egreso"),
+    AJUSTE("Ajuste");
+
+    private final String descripcion;
+
+    TipoMovimientoStock(String descripcion) {
+        this.descripcion = descripcion;
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+}
@@ -0,0 +1,20 @@
+package com.belleza.pos.entity.enums;
+
+/**
+ * Enum para tipos de operación registradas sin conexión en una terminal
+ */
+public enum TipoOperacionOffline {
+    DECREMENTO_STOCK("Decremento de stock"),
+    CARGO_CUENTA("Cargo en cuenta corriente"),
+    PAGO_CUENTA("Pago de cuenta corriente");
+
+    private final String descripcion;
+
+    TipoOperacionOffline(String descripcion) {
+        this.descripcion = descripcion;
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+}
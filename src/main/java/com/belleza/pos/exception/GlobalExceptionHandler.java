@@ -3,6 +3,7 @@ package com.belleza.pos.exception;
 import com.belleza.pos.dto.response.MessageResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -11,6 +12,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -48,6 +50,29 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(response);
     }
 
+    /**
+     * Maneja excepciones de validación de parámetros de la solicitud
+     */
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<Map<String, Object>> handleHandlerMethodValidationException(
+            HandlerMethodValidationException ex, WebRequest request) {
+
+        Map<String, String> errors = new HashMap<>();
+        ex.getAllValidationResults().forEach(result -> result.getResolvableErrors().forEach(error ->
+                errors.put(result.getMethodParameter().getParameterName(), error.getDefaultMessage())));
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.BAD_REQUEST.value());
+        response.put("error", "Errores de validación");
+        response.put("errors", errors);
+        response.put("path", request.getDescription(false).replace("uri=", ""));
+
+        log.error("Errores de validación: {}", errors);
+
+        return ResponseEntity.badRequest().body(response);
+    }
+
     /**
      * Maneja excepciones de negocio
      */
@@ -86,6 +111,25 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
+    /**
+     * Maneja conflictos de modificación concurrente (bloqueo optimista)
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLockingFailureException(
+            ObjectOptimisticLockingFailureException ex, WebRequest request) {
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.CONFLICT.value());
+        response.put("error", "Conflicto de modificación");
+        response.put("message", "El registro fue modificado por otro usuario; vuelva a cargarlo e intente nuevamente");
+        response.put("path", request.getDescription(false).replace("uri=", ""));
+
+        log.warn("Conflicto de modificación concurrente: {}", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
     /**
      * Maneja excepciones de credenciales incorrectas
      */
@@ -105,6 +149,25 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
     }
 
+    /**
+     * Maneja excepciones de exceso de intentos o de carga
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Map<String, Object>> handleTooManyRequestsException(
+            TooManyRequestsException ex, WebRequest request) {
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        response.put("error", "Demasiadas solicitudes");
+        response.put("message", ex.getMessage());
+        response.put("path", request.getDescription(false).replace("uri=", ""));
+
+        log.warn("Solicitud rechazada: {}", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(response);
+    }
+
     /**
      * Maneja excepciones de usuario no encontrado
      */
@@ -0,0 +1,11 @@
+package com.belleza.pos.exception;
+
+/**
+ * Excepción cuando una operación se rechaza por exceso de intentos o de carga
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
@@ -1,16 +1,20 @@
 package com.belleza.pos.mapper;
 
+import com.belleza.pos.cache.MatrizPrecios;
+import com.belleza.pos.cache.VencimientoIndex;
 import com.belleza.pos.dto.request.CreateArticuloRequest;
 import com.belleza.pos.dto.request.UpdateArticuloRequest;
 import com.belleza.pos.dto.response.*;
 import com.belleza.pos.entity.*;
 import com.belleza.pos.entity.enums.UnidadVenta;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -18,8 +22,11 @@ import java.util.stream.Collectors;
  * Mapper para convertir entre entidades Articulo y DTOs
  */
 @Component
+@RequiredArgsConstructor
 public class ArticuloMapper {
 
+    private final MatrizPrecios matrizPrecios;
+
     /**
      * Convierte CreateArticuloRequest a Articulo
      */
@@ -60,9 +67,7 @@ public class ArticuloMapper {
         if (request.usaControlStock() != null) {
             articulo.setUsaControlStock(request.usaControlStock());
         }
-        if (request.stockActual() != null) {
-            articulo.setStockActual(request.stockActual());
-        }
+        // stockActual es el total consolidado: el servicio lo fija en la sucursal y recalcula el total
         if (request.stockMinimo() != null) {
             articulo.setStockMinimo(request.stockMinimo());
         }
@@ -90,6 +95,14 @@ public class ArticuloMapper {
      * Convierte Articulo a ArticuloResponse
      */
     public ArticuloResponse toResponse(Articulo articulo) {
+        return toResponse(articulo, articulo.getPrecios(), articulo.getProveedores());
+    }
+
+    /**
+     * Convierte Articulo a ArticuloResponse usando precios y proveedores ya cargados
+     */
+    public ArticuloResponse toResponse(Articulo articulo, Collection<ArticuloPrecio> precios,
+                                       Collection<ArticuloProveedor> proveedores) {
         ArticuloResponse response = ArticuloResponse.builder()
                 .idArticulo(articulo.getIdArticulo())
                 .codigoBarras(articulo.getCodigoBarras())
@@ -119,8 +132,8 @@ public class ArticuloMapper {
         }
 
         // Mapear precios
-        if (articulo.getPrecios() != null && !articulo.getPrecios().isEmpty()) {
-            response.setPrecios(articulo.getPrecios().stream()
+        if (precios != null && !precios.isEmpty()) {
+            response.setPrecios(precios.stream()
                     .map(this::toPrecioResponse)
                     .collect(Collectors.toList()));
         } else {
@@ -128,8 +141,8 @@ public class ArticuloMapper {
         }
 
         // Mapear proveedores
-        if (articulo.getProveedores() != null && !articulo.getProveedores().isEmpty()) {
-            response.setProveedores(articulo.getProveedores().stream()
+        if (proveedores != null && !proveedores.isEmpty()) {
+            response.setProveedores(proveedores.stream()
                     .map(this::toProveedorArticuloResponse)
                     .collect(Collectors.toList()));
         } else {
@@ -145,8 +158,13 @@ public class ArticuloMapper {
     public ArticuloSimpleResponse toSimpleResponse(Articulo articulo) {
         BigDecimal precioVenta = null;
 
-        // Obtener precio de lista predeterminada
-        if (articulo.getPrecios() != null) {
+        // Obtener precio de lista predeterminada, desde la matriz de precios si ya está cargada
+        if (matrizPrecios.isCargado()) {
+            precioVenta = matrizPrecios.listaPredeterminada()
+                    .flatMap(lista -> matrizPrecios.precio(articulo.getIdArticulo(), lista.idLista()))
+                    .map(MatrizPrecios.Precio::neto)
+                    .orElse(null);
+        } else if (articulo.getPrecios() != null) {
             precioVenta = articulo.getPrecios().stream()
                     .filter(p -> p.getListaPrecio().getEsPredeterminada())
                     .findFirst()
@@ -169,7 +187,10 @@ public class ArticuloMapper {
      * Convierte ArticuloPrecio a PrecioResponse
      */
     public PrecioResponse toPrecioResponse(ArticuloPrecio precio) {
-        BigDecimal precioConIva = precio.getPrecioVenta().multiply(BigDecimal.valueOf(1.21));
+        // Alícuota del rubro del artículo; el ID del rubro se lee sin inicializar el proxy
+        Rubro rubro = precio.getArticulo().getRubro();
+        BigDecimal iva = matrizPrecios.ivaDeRubro(rubro != null ? rubro.getIdRubro() : null);
+        BigDecimal precioConIva = MatrizPrecios.conIva(precio.getPrecioVenta(), iva);
 
         return PrecioResponse.builder()
                 .idPrecio(precio.getIdPrecio())
@@ -216,22 +237,13 @@ public class ArticuloMapper {
     }
 
     /**
-     * Convierte Articulo a ArticuloVencimientoResponse
+     * Convierte Articulo a ArticuloVencimientoResponse con los días restantes respecto de la fecha indicada
      */
-    public ArticuloVencimientoResponse toVencimientoResponse(Articulo articulo) {
+    public ArticuloVencimientoResponse toVencimientoResponse(Articulo articulo, LocalDate hoy) {
         long diasRestantes = articulo.getFechaVencimiento() != null ?
-                ChronoUnit.DAYS.between(LocalDate.now(), articulo.getFechaVencimiento()) : 0;
+                ChronoUnit.DAYS.between(hoy, articulo.getFechaVencimiento()) : 0;
 
-        String estadoVencimiento;
-        if (diasRestantes < 0) {
-            estadoVencimiento = "VENCIDO";
-        } else if (diasRestantes <= 7) {
-            estadoVencimiento = "CRITICO";
-        } else if (diasRestantes <= 30) {
-            estadoVencimiento = "PROXIMO";
-        } else {
-            estadoVencimiento = "OK";
-        }
+        String estadoVencimiento = VencimientoIndex.estado(diasRestantes);
 
         return ArticuloVencimientoResponse.builder()
                 .idArticulo(articulo.getIdArticulo())
@@ -1,11 +1,16 @@
 package com.belleza.pos.repository;
 
 import com.belleza.pos.entity.ArticuloPrecio;
+import com.belleza.pos.repository.projection.ConteoView;
+import com.belleza.pos.repository.projection.PrecioArticuloView;
+import com.belleza.pos.repository.projection.PrecioListaView;
+import com.belleza.pos.repository.projection.PrecioVentaView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,10 +24,40 @@ public interface ArticuloPrecioRepository extends JpaRepository<ArticuloPrecio,
 
     List<ArticuloPrecio> findByListaPrecio_IdLista(Integer idLista);
 
+    long countByListaPrecio_IdLista(Integer idLista);
+
+    @Query("SELECT ap.listaPrecio.idLista AS id, COUNT(ap) AS cantidad FROM ArticuloPrecio ap " +
+            "WHERE ap.listaPrecio.idLista IN :ids GROUP BY ap.listaPrecio.idLista")
+    List<ConteoView> contarPorLista(@Param("ids") Collection<Integer> ids);
+
     Optional<ArticuloPrecio> findByArticulo_IdArticuloAndListaPrecio_IdLista(Integer idArticulo, Integer idLista);
 
     @Query("SELECT ap FROM ArticuloPrecio ap WHERE ap.articulo.idArticulo = :idArticulo AND ap.listaPrecio.esPredeterminada = true")
     Optional<ArticuloPrecio> findPrecioPredeterminadoByArticulo(@Param("idArticulo") Integer idArticulo);
 
+    @Query("SELECT ap FROM ArticuloPrecio ap JOIN FETCH ap.listaPrecio WHERE ap.articulo.idArticulo IN :ids")
+    List<ArticuloPrecio> findByArticuloIdsWithLista(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT ap.articulo.idArticulo AS idArticulo, ap.precioVenta AS precioVenta FROM ArticuloPrecio ap " +
+            "WHERE ap.listaPrecio.esPredeterminada = true")
+    List<PrecioArticuloView> findPreciosListaPredeterminada();
+
+    @Query("SELECT a.idArticulo AS idArticulo, ap.precioVenta AS precioVenta, r.ivaPorcentaje AS ivaPorcentaje " +
+            "FROM ArticuloPrecio ap JOIN ap.articulo a LEFT JOIN a.rubro r " +
+            "WHERE ap.listaPrecio.idLista = :idLista AND a.idArticulo IN :ids")
+    List<PrecioVentaView> findPreciosVenta(@Param("idLista") Integer idLista, @Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT ap.articulo.idArticulo AS idArticulo, ap.listaPrecio.idLista AS idLista, " +
+            "ap.precioVenta AS precioVenta FROM ArticuloPrecio ap WHERE ap.articulo.activo = true")
+    List<PrecioListaView> findPreciosCatalogoActivo();
+
+    @Query("SELECT ap.articulo.idArticulo AS idArticulo, ap.listaPrecio.idLista AS idLista, " +
+            "ap.precioVenta AS precioVenta FROM ArticuloPrecio ap")
+    List<PrecioListaView> findAllPrecioListaViews();
+
+    @Query("SELECT ap.articulo.idArticulo AS idArticulo, ap.listaPrecio.idLista AS idLista, " +
+            "ap.precioVenta AS precioVenta FROM ArticuloPrecio ap WHERE ap.articulo.idArticulo IN :ids")
+    List<PrecioListaView> findPreciosByArticuloIds(@Param("ids") Collection<Integer> ids);
+
     void deleteByArticulo_IdArticulo(Integer idArticulo);
 }
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +22,9 @@ public interface ArticuloProveedorRepository extends JpaRepository<ArticuloProve
 
     Optional<ArticuloProveedor> findByArticulo_IdArticuloAndProveedor_IdProveedor(Integer idArticulo, Integer idProveedor);
 
+    @Query("SELECT ap FROM ArticuloProveedor ap JOIN FETCH ap.proveedor WHERE ap.articulo.idArticulo IN :ids")
+    List<ArticuloProveedor> findByArticuloIdsWithProveedor(@Param("ids") Collection<Integer> ids);
+
     @Query("SELECT ap FROM ArticuloProveedor ap WHERE ap.articulo.idArticulo = :idArticulo AND ap.esPredeterminado = true")
     Optional<ArticuloProveedor> findProveedorPredeterminadoByArticulo(@Param("idArticulo") Integer idArticulo);
 
@@ -1,16 +1,28 @@
 package com.belleza.pos.repository;
 
 import com.belleza.pos.entity.Articulo;
+import com.belleza.pos.repository.projection.ArticuloCatalogoView;
+import com.belleza.pos.repository.projection.ArticuloExportView;
+import com.belleza.pos.repository.projection.ArticuloRubroView;
+import com.belleza.pos.repository.projection.ArticuloScanView;
+import com.belleza.pos.repository.projection.ConteoView;
+import com.belleza.pos.repository.projection.ArticuloVencimientoView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositorio para Articulo
@@ -20,6 +32,23 @@ public interface ArticuloRepository extends JpaRepository<Articulo, Integer> {
 
     Optional<Articulo> findByCodigoBarras(String codigoBarras);
 
+    @Override
+    @EntityGraph(attributePaths = "rubro")
+    Page<Articulo> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = "rubro")
+    List<Articulo> findByIdArticuloIn(Collection<Integer> ids);
+
+    @EntityGraph(attributePaths = "rubro")
+    @Query("SELECT a FROM Articulo a ORDER BY a.descripcion, a.idArticulo")
+    List<Articulo> findPrimerosPorDescripcion(Pageable limite);
+
+    @EntityGraph(attributePaths = "rubro")
+    @Query("SELECT a FROM Articulo a WHERE a.descripcion > :descripcion " +
+            "OR (a.descripcion = :descripcion AND a.idArticulo > :id) ORDER BY a.descripcion, a.idArticulo")
+    List<Articulo> findSiguientesPorDescripcion(@Param("descripcion") String descripcion, @Param("id") Integer id,
+                                                Pageable limite);
+
     Boolean existsByCodigoBarras(String codigoBarras);
 
     List<Articulo> findByActivo(Boolean activo);
@@ -28,18 +57,84 @@ public interface ArticuloRepository extends JpaRepository<Articulo, Integer> {
 
     List<Articulo> findByRubro_IdRubro(Integer idRubro);
 
+    @EntityGraph(attributePaths = "rubro")
     Page<Articulo> findByRubro_IdRubro(Integer idRubro, Pageable pageable);
 
+    @EntityGraph(attributePaths = "rubro")
     @Query("SELECT a FROM Articulo a WHERE a.descripcion LIKE %:searchTerm% OR a.codigoBarras LIKE %:searchTerm%")
     Page<Articulo> search(@Param("searchTerm") String searchTerm, Pageable pageable);
 
-    @Query("SELECT a FROM Articulo a WHERE a.usaControlStock = true AND a.stockActual <= a.stockMinimo AND a.activo = true")
+    @Query("SELECT a.idArticulo AS idArticulo, r.idRubro AS idRubro FROM Articulo a LEFT JOIN a.rubro r")
+    List<ArticuloRubroView> findRubroViews();
+
+    @Query("SELECT a.idArticulo AS idArticulo, r.idRubro AS idRubro FROM Articulo a LEFT JOIN a.rubro r " +
+            "WHERE a.idArticulo IN :ids")
+    List<ArticuloRubroView> findRubroViewsByIds(@Param("ids") Collection<Integer> ids);
+
+    long countByRubro_IdRubro(Integer idRubro);
+
+    @Query("SELECT a.rubro.idRubro AS id, COUNT(a) AS cantidad FROM Articulo a " +
+            "WHERE a.rubro.idRubro IN :ids GROUP BY a.rubro.idRubro")
+    List<ConteoView> contarPorRubro(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT a FROM Articulo a WHERE a.stockBajo = true ORDER BY a.descripcion, a.idArticulo")
     List<Articulo> findArticulosConStockBajo();
 
+    @Query("SELECT a FROM Articulo a WHERE a.stockBajo = true AND a.idArticulo IN :ids")
+    List<Articulo> findArticulosConStockBajo(@Param("ids") Collection<Integer> ids);
+
     @Query("SELECT a FROM Articulo a WHERE a.fechaVencimiento BETWEEN :fechaInicio AND :fechaFin AND a.activo = true")
     List<Articulo> findArticulosProximosAVencer(@Param("fechaInicio") LocalDate fechaInicio, @Param("fechaFin") LocalDate fechaFin);
 
+    @Query("SELECT a FROM Articulo a WHERE a.fechaVencimiento < :fecha AND a.activo = true ORDER BY a.fechaVencimiento")
+    List<Articulo> findArticulosVencidos(@Param("fecha") LocalDate fecha);
+
+    @Query("SELECT a.idArticulo AS idArticulo, a.codigoBarras AS codigoBarras, a.descripcion AS descripcion, " +
+            "a.fechaVencimiento AS fechaVencimiento FROM Articulo a WHERE a.fechaVencimiento IS NOT NULL AND a.activo = true")
+    List<ArticuloVencimientoView> findVencimientoViews();
+
     List<Articulo> findByEnOferta(Boolean enOferta);
 
     List<Articulo> findByPublicarEnWeb(Boolean publicarEnWeb);
+
+    @Query("SELECT a.idArticulo AS idArticulo, a.codigoBarras AS codigoBarras, a.descripcion AS descripcion, " +
+            "a.stockActual AS stockActual, a.activo AS activo FROM Articulo a")
+    List<ArticuloScanView> findAllScanViews();
+
+    @Query("SELECT a.idArticulo AS idArticulo, a.codigoBarras AS codigoBarras, a.descripcion AS descripcion, " +
+            "r.idRubro AS idRubro, a.unidadVenta AS unidadVenta, a.enOferta AS enOferta, a.activo AS activo " +
+            "FROM Articulo a LEFT JOIN a.rubro r WHERE a.activo = true ORDER BY a.idArticulo")
+    List<ArticuloCatalogoView> findCatalogoActivo();
+
+    @Query("SELECT a.idArticulo AS idArticulo, a.codigoBarras AS codigoBarras, a.descripcion AS descripcion, " +
+            "r.idRubro AS idRubro, a.unidadVenta AS unidadVenta, a.enOferta AS enOferta, a.activo AS activo " +
+            "FROM Articulo a LEFT JOIN a.rubro r WHERE a.versionCatalogo > :desde ORDER BY a.idArticulo")
+    List<ArticuloCatalogoView> findCatalogoModificadoDesde(@Param("desde") long desde);
+
+    @Query("SELECT a.codigoBarras FROM Articulo a WHERE a.codigoBarras IN :codigos")
+    List<String> findCodigosBarrasExistentes(@Param("codigos") Collection<String> codigos);
+
+    @Query("SELECT a.idArticulo AS idArticulo, a.codigoBarras AS codigoBarras, a.descripcion AS descripcion, " +
+            "a.stockActual AS stockActual, a.activo AS activo FROM Articulo a WHERE a.codigoBarras IN :codigos")
+    List<ArticuloScanView> findScanViewsByCodigoBarras(@Param("codigos") Collection<String> codigos);
+
+    /**
+     * Recorre el catálogo completo con un cursor de sólo avance, ordenado por artículo.
+     * El fetch size Integer.MIN_VALUE hace que el driver de MySQL entregue las filas de a una
+     * en lugar de cargar todo el resultado en memoria.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT a.idArticulo AS idArticulo, a.codigoBarras AS codigoBarras, a.descripcion AS descripcion, " +
+            "r.nombre AS rubro, a.unidadVenta AS unidadVenta, a.stockActual AS stockActual, a.activo AS activo, " +
+            "prov.razonSocial AS proveedor, ap.costo AS costoProveedor, " +
+            "l.idLista AS idLista, p.precioVenta AS precioVenta " +
+            "FROM Articulo a LEFT JOIN a.rubro r " +
+            "LEFT JOIN a.proveedores ap ON ap.esPredeterminado = true LEFT JOIN ap.proveedor prov " +
+            "LEFT JOIN a.precios p LEFT JOIN p.listaPrecio l " +
+            "ORDER BY a.idArticulo, l.idLista")
+    Stream<ArticuloExportView> streamExportacion();
 }
@@ -4,6 +4,7 @@ import com.belleza.pos.entity.Cliente;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -34,9 +35,47 @@ public interface ClienteRepository extends JpaRepository<Cliente, Integer> {
 
     Boolean existsByEmail(String email);
 
+    // Último número de cliente generado con el formato CLI000000; punto de partida de la numeración
+    @Query(value = "SELECT COALESCE(MAX(CAST(SUBSTRING(nro_cliente, 4) AS UNSIGNED)), 0) FROM clientes " +
+            "WHERE nro_cliente REGEXP '^CLI[0-9]+$'", nativeQuery = true)
+    Long findUltimoNumeroGenerado();
+
     @Query("SELECT c FROM Cliente c WHERE c.nombre LIKE %:searchTerm% OR c.apellido LIKE %:searchTerm% OR c.nroDocumento LIKE %:searchTerm%")
     Page<Cliente> search(@Param("searchTerm") String searchTerm, Pageable pageable);
 
+    @Query("SELECT c FROM Cliente c ORDER BY c.nombre, c.idCliente")
+    List<Cliente> findPrimerosPorNombre(Pageable limite);
+
+    @Query("SELECT c FROM Cliente c WHERE c.nombre > :nombre OR (c.nombre = :nombre AND c.idCliente > :id) " +
+            "ORDER BY c.nombre, c.idCliente")
+    List<Cliente> findSiguientesPorNombre(@Param("nombre") String nombre, @Param("id") Integer id, Pageable limite);
+
+    @Query("SELECT c FROM Cliente c WHERE (c.nombre LIKE %:searchTerm% OR c.apellido LIKE %:searchTerm% " +
+            "OR c.nroDocumento LIKE %:searchTerm%) ORDER BY c.nombre, c.idCliente")
+    List<Cliente> searchPrimerosPorNombre(@Param("searchTerm") String searchTerm, Pageable limite);
+
+    @Query("SELECT c FROM Cliente c WHERE (c.nombre LIKE %:searchTerm% OR c.apellido LIKE %:searchTerm% " +
+            "OR c.nroDocumento LIKE %:searchTerm%) AND (c.nombre > :nombre OR (c.nombre = :nombre AND c.idCliente > :id)) " +
+            "ORDER BY c.nombre, c.idCliente")
+    List<Cliente> searchSiguientesPorNombre(@Param("searchTerm") String searchTerm, @Param("nombre") String nombre,
+                                            @Param("id") Integer id, Pageable limite);
+
+    // Suma el monto al saldo sólo si la cuenta corriente está habilitada y no se excede el límite de crédito
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Cliente c SET c.saldoActual = c.saldoActual + :monto, c.version = c.version + 1 " +
+            "WHERE c.idCliente = :idCliente AND c.cuentaCorrienteHabilitada = true AND c.activo = true " +
+            "AND (c.tipoLimite = 'ILIMITADA' OR c.saldoActual + :monto <= c.limiteCredito)")
+    int cargarCuentaCorriente(@Param("idCliente") Integer idCliente, @Param("monto") BigDecimal monto);
+
+    // Descuenta el pago del saldo sólo si la cuenta corriente está habilitada y el pago no supera el saldo
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Cliente c SET c.saldoActual = c.saldoActual - :monto, c.version = c.version + 1 " +
+            "WHERE c.idCliente = :idCliente AND c.cuentaCorrienteHabilitada = true AND c.saldoActual >= :monto")
+    int pagarCuentaCorriente(@Param("idCliente") Integer idCliente, @Param("monto") BigDecimal monto);
+
+    @Query("SELECT c.saldoActual FROM Cliente c WHERE c.idCliente = :idCliente")
+    BigDecimal findSaldoActual(@Param("idCliente") Integer idCliente);
+
     @Query("SELECT c FROM Cliente c WHERE c.cuentaCorrienteHabilitada = true AND c.activo = true")
     List<Cliente> findConCuentaCorriente();
 
@@ -0,0 +1,35 @@
+package com.belleza.pos.repository;
+
+import com.belleza.pos.entity.MovimientoCuentaCorriente;
+import com.belleza.pos.entity.enums.TipoMovimientoCuenta;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repositorio para MovimientoCuentaCorriente
+ */
+@Repository
+public interface MovimientoCuentaCorrienteRepository extends JpaRepository<MovimientoCuentaCorriente, Long> {
+
+    boolean existsByCliente_IdCliente(Integer idCliente);
+
+    Page<MovimientoCuentaCorriente> findByCliente_IdClienteAndFechaGreaterThanEqualAndFechaLessThan(
+            Integer idCliente, LocalDateTime desde, LocalDateTime hasta, Pageable pageable);
+
+    Optional<MovimientoCuentaCorriente> findFirstByCliente_IdClienteAndFechaLessThanOrderByFechaDescIdMovimientoDesc(
+            Integer idCliente, LocalDateTime fecha);
+
+    // Recorre sólo el rango de fechas pedido sobre el índice (id_cliente, fecha)
+    @Query("SELECT COALESCE(SUM(m.monto), 0) FROM MovimientoCuentaCorriente m " +
+            "WHERE m.cliente.idCliente = :idCliente AND m.tipo = :tipo AND m.fecha >= :desde")
+    BigDecimal sumMontoDesde(@Param("idCliente") Integer idCliente, @Param("tipo") TipoMovimientoCuenta tipo,
+                             @Param("desde") LocalDateTime desde);
+}
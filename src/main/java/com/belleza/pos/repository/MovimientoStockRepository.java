@@ -0,0 +1,25 @@
+package com.belleza.pos.repository;
+
+import com.belleza.pos.entity.MovimientoStock;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repositorio para MovimientoStock
+ */
+@Repository
+public interface MovimientoStockRepository extends JpaRepository<MovimientoStock, Long> {
+
+    boolean existsByArticulo_IdArticulo(Integer idArticulo);
+
+    Page<MovimientoStock> findByArticulo_IdArticuloAndSucursal_IdSucursalAndFechaGreaterThanEqualAndFechaLessThan(
+            Integer idArticulo, Integer idSucursal, LocalDateTime desde, LocalDateTime hasta, Pageable pageable);
+
+    Optional<MovimientoStock> findFirstByArticulo_IdArticuloAndSucursal_IdSucursalAndFechaLessThanOrderByFechaDescIdMovimientoDesc(
+            Integer idArticulo, Integer idSucursal, LocalDateTime fecha);
+}
@@ -0,0 +1,24 @@
+package com.belleza.pos.repository;
+
+import com.belleza.pos.entity.SaldoCuentaCorriente;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repositorio para SaldoCuentaCorriente
+ */
+@Repository
+public interface SaldoCuentaCorrienteRepository extends JpaRepository<SaldoCuentaCorriente, Long> {
+
+    Optional<SaldoCuentaCorriente> findFirstByCliente_IdClienteAndFechaLessThanOrderByFechaDesc(
+            Integer idCliente, LocalDateTime fecha);
+
+    void deleteByCliente_IdCliente(Integer idCliente);
+
+    @Query("SELECT MAX(s.fecha) FROM SaldoCuentaCorriente s")
+    Optional<LocalDateTime> findUltimaFecha();
+}
@@ -0,0 +1,24 @@
+package com.belleza.pos.repository;
+
+import com.belleza.pos.entity.SaldoStock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repositorio para SaldoStock
+ */
+@Repository
+public interface SaldoStockRepository extends JpaRepository<SaldoStock, Long> {
+
+    Optional<SaldoStock> findFirstByArticulo_IdArticuloAndSucursal_IdSucursalAndFechaLessThanOrderByFechaDesc(
+            Integer idArticulo, Integer idSucursal, LocalDateTime fecha);
+
+    void deleteByArticulo_IdArticulo(Integer idArticulo);
+
+    @Query("SELECT MAX(s.fecha) FROM SaldoStock s")
+    Optional<LocalDateTime> findUltimaFecha();
+}
@@ -0,0 +1,79 @@
+package com.belleza.pos.repository;
+
+import com.belleza.pos.entity.StockSucursal;
+import com.belleza.pos.repository.projection.StockSucursalView;
+import com.belleza.pos.repository.projection.StockTotalView;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio para StockSucursal
+ */
+@Repository
+public interface StockSucursalRepository extends JpaRepository<StockSucursal, Integer> {
+
+    void deleteByArticulo_IdArticulo(Integer idArticulo);
+
+    @EntityGraph(attributePaths = "sucursal")
+    List<StockSucursal> findByArticulo_IdArticuloOrderBySucursal_IdSucursal(Integer idArticulo);
+
+    @Query("SELECT s.stockActual FROM StockSucursal s " +
+            "WHERE s.articulo.idArticulo = :idArticulo AND s.sucursal.idSucursal = :idSucursal")
+    Optional<BigDecimal> findStock(@Param("idArticulo") Integer idArticulo, @Param("idSucursal") Integer idSucursal);
+
+    /**
+     * Fila del stock de la sucursal bloqueada hasta el fin de la transacción, para conocer
+     * el valor anterior a un ajuste absoluto
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM StockSucursal s " +
+            "WHERE s.articulo.idArticulo = :idArticulo AND s.sucursal.idSucursal = :idSucursal")
+    Optional<StockSucursal> findParaActualizar(@Param("idArticulo") Integer idArticulo,
+                                               @Param("idSucursal") Integer idSucursal);
+
+    @Query("SELECT s.articulo.idArticulo AS idArticulo, s.stockActual AS stockActual FROM StockSucursal s " +
+            "WHERE s.articulo.idArticulo IN :ids AND s.sucursal.idSucursal = :idSucursal")
+    List<StockSucursalView> findStocks(@Param("ids") Collection<Integer> ids, @Param("idSucursal") Integer idSucursal);
+
+    @Query("SELECT s.articulo.idArticulo AS idArticulo, SUM(s.stockActual) AS stockTotal FROM StockSucursal s " +
+            "WHERE s.articulo.idArticulo IN :ids GROUP BY s.articulo.idArticulo")
+    List<StockTotalView> sumarPorArticulo(@Param("ids") Collection<Integer> ids);
+
+    /*
+     * Actualizaciones atómicas del stock de una sucursal. Cada sucursal modifica
+     * su propia fila, por lo que las ventas de distintas sucursales no compiten
+     * por el mismo bloqueo.
+     */
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO stock_sucursales (id_articulo, id_sucursal, stock_actual) " +
+            "VALUES (:idArticulo, :idSucursal, :cantidad) " +
+            "ON DUPLICATE KEY UPDATE stock_actual = stock_actual + :cantidad", nativeQuery = true)
+    int incrementarStock(@Param("idArticulo") Integer idArticulo, @Param("idSucursal") Integer idSucursal,
+                         @Param("cantidad") BigDecimal cantidad);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE StockSucursal s SET s.stockActual = s.stockActual - :cantidad " +
+            "WHERE s.articulo.idArticulo = :idArticulo AND s.sucursal.idSucursal = :idSucursal " +
+            "AND s.stockActual >= :cantidad")
+    int decrementarStock(@Param("idArticulo") Integer idArticulo, @Param("idSucursal") Integer idSucursal,
+                         @Param("cantidad") BigDecimal cantidad);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO stock_sucursales (id_articulo, id_sucursal, stock_actual) " +
+            "VALUES (:idArticulo, :idSucursal, :cantidad) " +
+            "ON DUPLICATE KEY UPDATE stock_actual = :cantidad", nativeQuery = true)
+    int fijarStock(@Param("idArticulo") Integer idArticulo, @Param("idSucursal") Integer idSucursal,
+                   @Param("cantidad") BigDecimal cantidad);
+}
@@ -0,0 +1,17 @@
+package com.belleza.pos.repository;
+
+import com.belleza.pos.entity.TokenRevocado;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio para TokenRevocado
+ */
+@Repository
+public interface TokenRevocadoRepository extends JpaRepository<TokenRevocado, String> {
+
+    List<TokenRevocado> findByFechaExpiracionAfter(LocalDateTime fecha);
+}
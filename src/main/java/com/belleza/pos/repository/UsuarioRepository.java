@@ -2,8 +2,12 @@ package com.belleza.pos.repository;
 
 import com.belleza.pos.entity.Usuario;
 import com.belleza.pos.entity.enums.RolUsuario;
+import com.belleza.pos.repository.projection.EstadoUsuarioView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -17,6 +21,16 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Integer> {
 
     Optional<Usuario> findByUsername(String username);
 
+    @EntityGraph(attributePaths = "sucursal")
+    Optional<Usuario> findConSucursalByUsername(String username);
+
+    @Query("SELECT u.sucursal.idSucursal FROM Usuario u WHERE u.username = :username")
+    Optional<Integer> findIdSucursalByUsername(@Param("username") String username);
+
+    @Query("SELECT u.username AS username, u.activo AS activo, u.rol AS rol, s.idSucursal AS idSucursal " +
+            "FROM Usuario u LEFT JOIN u.sucursal s WHERE u.username = :username")
+    Optional<EstadoUsuarioView> findEstadoByUsername(@Param("username") String username);
+
     Optional<Usuario> findByEmail(String email);
 
     Boolean existsByUsername(String username);
@@ -29,6 +43,20 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Integer> {
 
     List<Usuario> findBySucursal_IdSucursal(Integer idSucursal);
 
+    long countBySucursal_IdSucursal(Integer idSucursal);
+
+    long countBySucursal_IdSucursalAndActivoTrue(Integer idSucursal);
+
+    @EntityGraph(attributePaths = "sucursal")
+    @Query("SELECT u FROM Usuario u ORDER BY u.username, u.idUsuario")
+    List<Usuario> findPrimerosPorUsername(Pageable limite);
+
+    @EntityGraph(attributePaths = "sucursal")
+    @Query("SELECT u FROM Usuario u WHERE u.username > :username " +
+            "OR (u.username = :username AND u.idUsuario > :id) ORDER BY u.username, u.idUsuario")
+    List<Usuario> findSiguientesPorUsername(@Param("username") String username, @Param("id") Integer id,
+                                            Pageable limite);
+
     @Query("SELECT u FROM Usuario u WHERE u.activo = true AND u.sucursal.idSucursal = :idSucursal")
     List<Usuario> findActiveUsuariosBySucursal(Integer idSucursal);
 }
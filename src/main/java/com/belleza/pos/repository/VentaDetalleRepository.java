@@ -0,0 +1,20 @@
+package com.belleza.pos.repository;
+
+import com.belleza.pos.entity.VentaDetalle;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repositorio para VentaDetalle
+ */
+@Repository
+public interface VentaDetalleRepository extends JpaRepository<VentaDetalle, Long> {
+
+    boolean existsByArticulo_IdArticulo(Integer idArticulo);
+
+    @EntityGraph(attributePaths = "articulo")
+    List<VentaDetalle> findByVenta_IdVentaOrderByIdDetalle(Long idVenta);
+}
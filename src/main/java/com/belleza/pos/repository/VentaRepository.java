@@ -0,0 +1,14 @@
+package com.belleza.pos.repository;
+
+import com.belleza.pos.entity.Venta;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio para Venta
+ */
+@Repository
+public interface VentaRepository extends JpaRepository<Venta, Long> {
+
+    boolean existsByCliente_IdCliente(Integer idCliente);
+}
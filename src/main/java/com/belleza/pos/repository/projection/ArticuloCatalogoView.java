@@ -0,0 +1,23 @@
+package com.belleza.pos.repository.projection;
+
+import com.belleza.pos.entity.enums.UnidadVenta;
+
+/**
+ * Proyección de artículo para el catálogo de terminales
+ */
+public interface ArticuloCatalogoView {
+
+    Integer getIdArticulo();
+
+    String getCodigoBarras();
+
+    String getDescripcion();
+
+    Integer getIdRubro();
+
+    UnidadVenta getUnidadVenta();
+
+    Boolean getEnOferta();
+
+    Boolean getActivo();
+}
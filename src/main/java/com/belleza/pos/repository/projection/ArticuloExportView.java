@@ -0,0 +1,33 @@
+package com.belleza.pos.repository.projection;
+
+import com.belleza.pos.entity.enums.UnidadVenta;
+
+import java.math.BigDecimal;
+
+/**
+ * Proyección plana de artículo para exportación: una fila por artículo y lista de precios
+ */
+public interface ArticuloExportView {
+
+    Integer getIdArticulo();
+
+    String getCodigoBarras();
+
+    String getDescripcion();
+
+    String getRubro();
+
+    UnidadVenta getUnidadVenta();
+
+    BigDecimal getStockActual();
+
+    Boolean getActivo();
+
+    String getProveedor();
+
+    BigDecimal getCostoProveedor();
+
+    Integer getIdLista();
+
+    BigDecimal getPrecioVenta();
+}
@@ -0,0 +1,11 @@
+package com.belleza.pos.repository.projection;
+
+/**
+ * Proyección del rubro de un artículo, usada para resolver su alícuota de IVA
+ */
+public interface ArticuloRubroView {
+
+    Integer getIdArticulo();
+
+    Integer getIdRubro();
+}
@@ -0,0 +1,19 @@
+package com.belleza.pos.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Proyección con los datos necesarios para el índice de códigos de barras
+ */
+public interface ArticuloScanView {
+
+    Integer getIdArticulo();
+
+    String getCodigoBarras();
+
+    String getDescripcion();
+
+    BigDecimal getStockActual();
+
+    Boolean getActivo();
+}
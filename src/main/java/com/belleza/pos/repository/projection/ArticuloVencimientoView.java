@@ -0,0 +1,17 @@
+package com.belleza.pos.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Proyección con los datos necesarios para el índice de vencimientos
+ */
+public interface ArticuloVencimientoView {
+
+    Integer getIdArticulo();
+
+    String getCodigoBarras();
+
+    String getDescripcion();
+
+    LocalDate getFechaVencimiento();
+}
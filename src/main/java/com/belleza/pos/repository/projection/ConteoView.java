@@ -0,0 +1,11 @@
+package com.belleza.pos.repository.projection;
+
+/**
+ * Proyección de una cantidad agrupada por ID (rubro, lista de precios, sucursal)
+ */
+public interface ConteoView {
+
+    Integer getId();
+
+    Long getCantidad();
+}
@@ -0,0 +1,17 @@
+package com.belleza.pos.repository.projection;
+
+import com.belleza.pos.entity.enums.RolUsuario;
+
+/**
+ * Proyección del estado de un usuario usado para autenticar peticiones
+ */
+public interface EstadoUsuarioView {
+
+    String getUsername();
+
+    Boolean getActivo();
+
+    RolUsuario getRol();
+
+    Integer getIdSucursal();
+}
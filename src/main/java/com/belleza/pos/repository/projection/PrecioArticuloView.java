@@ -0,0 +1,13 @@
+package com.belleza.pos.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Proyección de precio de venta por artículo
+ */
+public interface PrecioArticuloView {
+
+    Integer getIdArticulo();
+
+    BigDecimal getPrecioVenta();
+}
@@ -0,0 +1,15 @@
+package com.belleza.pos.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Proyección de precio de venta por artículo y lista
+ */
+public interface PrecioListaView {
+
+    Integer getIdArticulo();
+
+    Integer getIdLista();
+
+    BigDecimal getPrecioVenta();
+}
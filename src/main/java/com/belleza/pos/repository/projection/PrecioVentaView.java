@@ -0,0 +1,16 @@
+package com.belleza.pos.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Proyección de precio de venta de un artículo en una lista con la alícuota de IVA de su rubro
+ */
+public interface PrecioVentaView {
+
+    Integer getIdArticulo();
+
+    BigDecimal getPrecioVenta();
+
+    // null si el artículo no tiene rubro o el rubro no tiene alícuota
+    BigDecimal getIvaPorcentaje();
+}
@@ -0,0 +1,13 @@
+package com.belleza.pos.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Proyección del stock de un artículo en una sucursal
+ */
+public interface StockSucursalView {
+
+    Integer getIdArticulo();
+
+    BigDecimal getStockActual();
+}
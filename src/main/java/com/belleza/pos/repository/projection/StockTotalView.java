@@ -0,0 +1,13 @@
+package com.belleza.pos.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Proyección del stock total de un artículo sumando todas las sucursales
+ */
+public interface StockTotalView {
+
+    Integer getIdArticulo();
+
+    BigDecimal getStockTotal();
+}
@@ -0,0 +1,147 @@
+package com.belleza.pos.secuencia;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Generador de numeraciones con reserva de bloques (hi/lo).
+ *
+ * Cada numeración tiene una fila en la tabla secuencias con el próximo valor
+ * libre. Al agotarse el bloque en memoria se reserva el siguiente con un único
+ * UPDATE en una transacción propia; mientras tanto los valores se entregan
+ * desde un AtomicLong sin bloqueos ni consultas. Varias instancias pueden
+ * compartir la misma numeración sin repetir valores. Los valores no usados de
+ * un bloque se pierden al reiniciar, por lo que la numeración puede tener
+ * saltos.
+ *
+ * Los contadores ({@link #incrementar}) no reservan bloques: se incrementan
+ * dentro de la transacción del llamador, cuya fila queda bloqueada hasta el
+ * commit, de modo que los valores se confirman en el mismo orden en que se
+ * asignan. Por eso la transacción que incrementa un contador debe ser breve.
+ */
+@Slf4j
+@Component
+public class GeneradorSecuencias {
+
+    public static final String CLIENTES = "clientes";
+
+    public static final String CATALOGO = "catalogo";
+
+    public static final String CATALOGO_MINIMA = "catalogo_minima";
+
+    // LAST_INSERT_ID(expr) devuelve el nuevo valor en la misma conexión sin volver a leer la fila
+    private static final String UPDATE_RESERVAR = "UPDATE secuencias SET proximo_valor = LAST_INSERT_ID(proximo_valor + ?) " +
+            "WHERE nombre = ?";
+
+    private static final String INSERT_INICIAL = "INSERT IGNORE INTO secuencias (nombre, proximo_valor) VALUES (?, ?)";
+
+    private static final String SELECT_ACTUAL = "SELECT proximo_valor FROM secuencias WHERE nombre = ?";
+
+    private static final String UPDATE_FIJAR = "UPDATE secuencias SET proximo_valor = GREATEST(proximo_valor, ?) " +
+            "WHERE nombre = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanioBloque;
+
+    private final Map<String, Numeracion> numeraciones = new ConcurrentHashMap<>();
+
+    public GeneradorSecuencias(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.secuencias.tamanio-bloque:50}") int tamanioBloque) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.tamanioBloque = tamanioBloque;
+    }
+
+    /**
+     * Bloque de valores reservado: [siguiente, fin)
+     */
+    private record Bloque(AtomicLong siguiente, long fin) {}
+
+    private static final class Numeracion {
+        private volatile Bloque bloque;
+    }
+
+    /**
+     * Próximo valor de la numeración. Si la numeración todavía no existe se crea
+     * a continuación del último valor informado por {@code ultimoUsado}.
+     */
+    public long siguiente(String nombre, LongSupplier ultimoUsado) {
+        Numeracion numeracion = numeraciones.computeIfAbsent(nombre, n -> new Numeracion());
+
+        while (true) {
+            Bloque bloque = numeracion.bloque;
+            if (bloque != null) {
+                long valor = bloque.siguiente().getAndIncrement();
+                if (valor < bloque.fin()) {
+                    return valor;
+                }
+            }
+
+            synchronized (numeracion) {
+                // Otro hilo pudo haber reservado un bloque nuevo mientras se esperaba
+                if (numeracion.bloque == bloque) {
+                    numeracion.bloque = reservar(nombre, ultimoUsado);
+                }
+            }
+        }
+    }
+
+    private Bloque reservar(String nombre, LongSupplier ultimoUsado) {
+        Long fin = transactionTemplate.execute(status -> {
+            if (jdbcTemplate.update(UPDATE_RESERVAR, tamanioBloque, nombre) == 0) {
+                long inicial = ultimoUsado.getAsLong() + 1;
+                jdbcTemplate.update(INSERT_INICIAL, nombre, inicial);
+                log.info("Numeración {} creada a partir de {}", nombre, inicial);
+                jdbcTemplate.update(UPDATE_RESERVAR, tamanioBloque, nombre);
+            }
+            return jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+        });
+
+        log.debug("Reservado bloque de numeración {}: [{}, {})", nombre, fin - tamanioBloque, fin);
+        return new Bloque(new AtomicLong(fin - tamanioBloque), fin);
+    }
+
+    /**
+     * Incrementa el contador en la transacción actual y devuelve el nuevo valor.
+     * Los contadores empiezan en 0.
+     */
+    public long incrementar(String nombre) {
+        if (jdbcTemplate.update(UPDATE_RESERVAR, 1, nombre) == 0) {
+            jdbcTemplate.update(INSERT_INICIAL, nombre, 0L);
+            jdbcTemplate.update(UPDATE_RESERVAR, 1, nombre);
+        }
+        return jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+    }
+
+    /**
+     * Valor confirmado del contador visible en la transacción actual; 0 si todavía no existe
+     */
+    public long actual(String nombre) {
+        List<Long> valores = jdbcTemplate.queryForList(SELECT_ACTUAL, Long.class, nombre);
+        return valores.isEmpty() ? 0L : valores.get(0);
+    }
+
+    /**
+     * Lleva el contador al menos hasta el valor indicado, en la transacción actual
+     */
+    public void fijar(String nombre, long valor) {
+        if (jdbcTemplate.update(UPDATE_FIJAR, valor, nombre) == 0) {
+            jdbcTemplate.update(INSERT_INICIAL, nombre, 0L);
+            jdbcTemplate.update(UPDATE_FIJAR, valor, nombre);
+        }
+    }
+}
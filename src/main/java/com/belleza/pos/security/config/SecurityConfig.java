@@ -2,6 +2,7 @@ package com.belleza.pos.security.config;
 
 import com.belleza.pos.security.jwt.JwtAuthenticationFilter;
 import com.belleza.pos.security.jwt.JwtAuthenticationEntryPoint;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -56,6 +57,8 @@ public class SecurityConfig {
                 .sessionManagement(session ->
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Despachos asíncronos (SSE, descargas en streaming): la petición original ya fue autorizada
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Endpoints públicos
                         .requestMatchers(
                                 "/auth/**",
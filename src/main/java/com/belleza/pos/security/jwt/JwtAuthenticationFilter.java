@@ -1,5 +1,9 @@
 package com.belleza.pos.security.jwt;
 
+import com.belleza.pos.cache.EstadoUsuarioCache;
+import com.belleza.pos.security.service.UsuarioPrincipal;
+import com.belleza.pos.service.RevocacionTokenService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,14 +13,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Objects;
 
 /**
  * Filtro que intercepta las peticiones HTTP para validar el token JWT
@@ -27,7 +30,8 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final EstadoUsuarioCache estadoUsuarioCache;
+    private final RevocacionTokenService revocacionTokenService;
 
     @Override
     protected void doFilterInternal(
@@ -38,24 +42,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtUtil.validateToken(jwt)) {
-                String username = jwtUtil.getUsernameFromToken(jwt);
+            Claims claims = StringUtils.hasText(jwt) ? jwtUtil.verifyToken(jwt).orElse(null) : null;
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (claims != null && isTokenDeAcceso(claims)) {
+                UsuarioPrincipal principal = getPrincipal(claims);
 
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
+                if (principal != null) {
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(
+                                    principal,
+                                    null,
+                                    principal.getAuthorities()
+                            );
 
-                authentication.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
+                    authentication.setDetails(
+                            new WebAuthenticationDetailsSource().buildDetails(request)
+                    );
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-                log.debug("Usuario autenticado: {}", username);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    log.debug("Usuario autenticado: {}", principal.username());
+                }
             }
         } catch (Exception e) {
             log.error("No se puede establecer la autenticación del usuario: {}", e.getMessage());
@@ -64,6 +70,46 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Sólo autentican los tokens de acceso no revocados
+     */
+    private boolean isTokenDeAcceso(Claims claims) {
+        if (jwtUtil.isRefreshToken(claims)) {
+            log.debug("Se rechaza un refresh token usado como token de acceso");
+            return false;
+        }
+        if (revocacionTokenService.estaRevocado(claims.getId())) {
+            log.debug("Token revocado: {}", claims.getId());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Arma el usuario autenticado con los claims del token. Los claims se aceptan
+     * mientras coincidan con el estado actual del usuario; si el usuario fue
+     * desactivado o cambió su rol o sucursal, el token deja de ser válido y debe
+     * refrescarse. Los tokens sin claims toman el estado actual.
+     */
+    private UsuarioPrincipal getPrincipal(Claims claims) {
+        String username = claims.getSubject();
+        EstadoUsuarioCache.Estado estado = estadoUsuarioCache.obtener(username).orElse(null);
+
+        if (estado == null || !estado.activo()) {
+            log.debug("Usuario inexistente o inactivo: {}", username);
+            return null;
+        }
+
+        String rol = claims.get(JwtUtil.CLAIM_ROL, String.class);
+        if (rol != null && (!rol.equals(estado.rol().name())
+                || !Objects.equals(claims.get(JwtUtil.CLAIM_SUCURSAL, Integer.class), estado.idSucursal()))) {
+            log.debug("El rol o la sucursal del usuario {} cambiaron desde la emisión del token", username);
+            return null;
+        }
+
+        return new UsuarioPrincipal(username, estado.rol(), estado.idSucursal());
+    }
+
     /**
      * Extrae el token JWT del header Authorization
      */
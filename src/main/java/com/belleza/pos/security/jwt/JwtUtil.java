@@ -1,17 +1,18 @@
 package com.belleza.pos.security.jwt;
 
+import com.belleza.pos.cache.TokenVerificadoCache;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Utilidad para generar y validar tokens JWT
@@ -20,8 +21,11 @@ import java.util.Date;
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    public static final String CLAIM_ROL = "rol";
+    public static final String CLAIM_SUCURSAL = "idSucursal";
+    public static final String CLAIM_TIPO = "tipo";
+
+    private static final String TIPO_REFRESH = "refresh";
 
     @Value("${jwt.expiration}")
     private long jwtExpirationMs;
@@ -29,34 +33,37 @@ public class JwtUtil {
     @Value("${jwt.refresh-expiration}")
     private long jwtRefreshExpirationMs;
 
-    /**
-     * Genera la clave secreta para firmar los tokens
-     */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
+    private final TokenVerificadoCache tokenVerificadoCache;
+
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
 
     /**
-     * Genera un token JWT a partir de la autenticación
+     * La clave secreta y el parser se generan una sola vez; ambos son inmutables y seguros entre hilos
      */
-    public String generateToken(Authentication authentication) {
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        return generateTokenFromUsername(userDetails.getUsername());
+    public JwtUtil(@Value("${jwt.secret}") String jwtSecret, TokenVerificadoCache tokenVerificadoCache) {
+        this.tokenVerificadoCache = tokenVerificadoCache;
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
 
     /**
-     * Genera un token JWT a partir del username
+     * Genera un token JWT con el rol y la sucursal del usuario como claims
      */
-    public String generateTokenFromUsername(String username) {
+    public String generateTokenFromUsername(String username, String rol, Integer idSucursal) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(username)
+                .claim(CLAIM_ROL, rol)
+                .claim(CLAIM_SUCURSAL, idSucursal)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -68,36 +75,30 @@ public class JwtUtil {
         Date expiryDate = new Date(now.getTime() + jwtRefreshExpirationMs);
 
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(username)
+                .claim(CLAIM_TIPO, TIPO_REFRESH)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
     /**
-     * Obtiene el username del token JWT
+     * Verifica el token JWT y devuelve sus claims; vacío si es inválido o expiró.
+     * Los tokens ya verificados se toman de la caché sin volver a validar la firma.
      */
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.getSubject();
-    }
+    public Optional<Claims> verifyToken(String token) {
+        String clave = tokenVerificadoCache.clave(token);
+        Optional<Claims> enCache = tokenVerificadoCache.obtener(clave);
+        if (enCache.isPresent()) {
+            return enCache;
+        }
 
-    /**
-     * Valida el token JWT
-     */
-    public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            tokenVerificadoCache.guardar(clave, claims);
+            return Optional.of(claims);
         } catch (SignatureException e) {
             log.error("Firma JWT inválida: {}", e.getMessage());
         } catch (MalformedJwtException e) {
@@ -109,20 +110,35 @@ public class JwtUtil {
         } catch (IllegalArgumentException e) {
             log.error("JWT claims string está vacío: {}", e.getMessage());
         }
-        return false;
+        return Optional.empty();
+    }
+
+    /**
+     * Indica si los claims corresponden a un refresh token, que no sirve para autenticar peticiones
+     */
+    public boolean isRefreshToken(Claims claims) {
+        return TIPO_REFRESH.equals(claims.get(CLAIM_TIPO, String.class));
+    }
+
+    /**
+     * Obtiene el username del token JWT
+     */
+    public String getUsernameFromToken(String token) {
+        return jwtParser.parseSignedClaims(token).getPayload().getSubject();
+    }
+
+    /**
+     * Valida el token JWT
+     */
+    public boolean validateToken(String token) {
+        return verifyToken(token).isPresent();
     }
 
     /**
      * Obtiene la fecha de expiración del token
      */
     public Date getExpirationDateFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.getExpiration();
+        return jwtParser.parseSignedClaims(token).getPayload().getExpiration();
     }
 
     /**
@@ -0,0 +1,110 @@
+package com.belleza.pos.security.service;
+
+import com.belleza.pos.exception.TooManyRequestsException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Contadores de intentos de login fallidos por usuario y por IP.
+ *
+ * Al superar el máximo de fallos dentro de la ventana, el usuario o la IP
+ * quedan bloqueados durante un tiempo y sus logins se rechazan antes de
+ * calcular el hash. Los contadores viven en un ConcurrentHashMap y se
+ * actualizan con compute, que sólo bloquea la celda de la clave: logins de
+ * distintos usuarios no compiten entre sí.
+ *
+ * La IP es la del cliente según server.forward-headers-strategy cuando la
+ * aplicación corre detrás de un proxy.
+ */
+@Slf4j
+@Component
+public class ControlIntentosLogin {
+
+    private final int maxFallosUsuario;
+    private final int maxFallosIp;
+    private final long ventanaMs;
+    private final long bloqueoMs;
+
+    private final Map<String, Intentos> intentos = new ConcurrentHashMap<>();
+
+    public ControlIntentosLogin(@Value("${app.seguridad.login.max-fallos-usuario:5}") int maxFallosUsuario,
+                                @Value("${app.seguridad.login.max-fallos-ip:50}") int maxFallosIp,
+                                @Value("${app.seguridad.login.ventana-ms:900000}") long ventanaMs,
+                                @Value("${app.seguridad.login.bloqueo-ms:900000}") long bloqueoMs) {
+        this.maxFallosUsuario = maxFallosUsuario;
+        this.maxFallosIp = maxFallosIp;
+        this.ventanaMs = ventanaMs;
+        this.bloqueoMs = bloqueoMs;
+    }
+
+    private record Intentos(int fallos, long inicioVentana, long bloqueadoHasta) {}
+
+    /**
+     * Rechaza el login si el usuario o la IP están bloqueados
+     */
+    public void verificar(String username, String ip) {
+        long ahora = System.currentTimeMillis();
+        long espera = Math.max(bloqueadoHasta(claveUsuario(username)), bloqueadoHasta(claveIp(ip))) - ahora;
+        if (espera > 0) {
+            throw new TooManyRequestsException("Demasiados intentos fallidos, reintente en "
+                    + (espera / 1000 + 1) + " segundos");
+        }
+    }
+
+    public void registrarFallo(String username, String ip) {
+        fallo(claveUsuario(username), maxFallosUsuario);
+        fallo(claveIp(ip), maxFallosIp);
+    }
+
+    /**
+     * Un login exitoso reinicia los contadores del usuario y de la IP, de modo que
+     * los errores de tipeo de varios usuarios detrás de la misma IP no la bloquean.
+     * Sólo llega a este punto un login no bloqueado.
+     */
+    public void registrarExito(String username, String ip) {
+        intentos.remove(claveUsuario(username));
+        intentos.remove(claveIp(ip));
+    }
+
+    /**
+     * Descarta los contadores cuya ventana y bloqueo ya terminaron
+     */
+    @Scheduled(fixedDelayString = "${app.seguridad.login.purga-ms:60000}")
+    public void purgar() {
+        long ahora = System.currentTimeMillis();
+        intentos.values().removeIf(i -> i.inicioVentana() + ventanaMs <= ahora && i.bloqueadoHasta() <= ahora);
+    }
+
+    private long bloqueadoHasta(String clave) {
+        Intentos actual = intentos.get(clave);
+        return actual != null ? actual.bloqueadoHasta() : 0L;
+    }
+
+    private void fallo(String clave, int maximo) {
+        long ahora = System.currentTimeMillis();
+        Intentos resultado = intentos.compute(clave, (k, actual) -> {
+            if (actual == null || actual.inicioVentana() + ventanaMs <= ahora) {
+                return new Intentos(1, ahora, maximo <= 1 ? ahora + bloqueoMs : 0L);
+            }
+            int fallos = actual.fallos() + 1;
+            return new Intentos(fallos, actual.inicioVentana(), fallos >= maximo ? ahora + bloqueoMs : actual.bloqueadoHasta());
+        });
+        if (resultado.fallos() == maximo) {
+            log.warn("Login bloqueado por {} intentos fallidos: {}", maximo, clave);
+        }
+    }
+
+    private static String claveUsuario(String username) {
+        return "usuario:" + username.toLowerCase(Locale.ROOT);
+    }
+
+    private static String claveIp(String ip) {
+        return "ip:" + ip;
+    }
+}
@@ -1,5 +1,6 @@
 package com.belleza.pos.security.service;
 
+import com.belleza.pos.cache.EstadoUsuarioCache;
 import com.belleza.pos.entity.Usuario;
 import com.belleza.pos.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
@@ -14,6 +15,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Optional;
 
 /**
  * Servicio personalizado para cargar los detalles del usuario
@@ -55,6 +57,16 @@ public class CustomUserDetailsService implements UserDetailsService {
         );
     }
 
+    /**
+     * Carga el estado del usuario sin su contraseña; lo usa la caché de autenticación de peticiones
+     */
+    @Transactional(readOnly = true)
+    public Optional<EstadoUsuarioCache.Estado> loadEstadoByUsername(String username) {
+        return usuarioRepository.findEstadoByUsername(username)
+                .map(u -> new EstadoUsuarioCache.Estado(u.getUsername(), Boolean.TRUE.equals(u.getActivo()),
+                        u.getRol(), u.getIdSucursal()));
+    }
+
     /**
      * Carga un usuario por ID
      */
@@ -0,0 +1,44 @@
+package com.belleza.pos.security.service;
+
+import com.belleza.pos.repository.UsuarioRepository;
+import com.belleza.pos.util.SecurityUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+/**
+ * Servicio para resolver la sucursal en la que opera el usuario autenticado
+ */
+@Service
+@RequiredArgsConstructor
+public class SucursalActualService {
+
+    private final UsuarioRepository usuarioRepository;
+
+    @Value("${app.default-sucursal-id}")
+    private Integer idSucursalPredeterminada;
+
+    /**
+     * Devuelve la sucursal del usuario autenticado, o la sucursal predeterminada
+     * si no hay usuario o no tiene sucursal asignada
+     */
+    public Integer getIdSucursal() {
+        // La sucursal viaja en el token; sólo se consulta la base para autenticaciones sin claims
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UsuarioPrincipal principal) {
+            return principal.idSucursal() != null ? principal.idSucursal() : idSucursalPredeterminada;
+        }
+
+        String username = SecurityUtil.getUsernameActual();
+        if (username == null) {
+            return idSucursalPredeterminada;
+        }
+        return usuarioRepository.findIdSucursalByUsername(username).orElse(idSucursalPredeterminada);
+    }
+
+    public Integer getIdSucursalPredeterminada() {
+        return idSucursalPredeterminada;
+    }
+}
@@ -0,0 +1,71 @@
+package com.belleza.pos.security.service;
+
+import com.belleza.pos.exception.TooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Verificación de contraseñas en un pool de hilos acotado.
+ *
+ * BCrypt consume CPU de forma deliberada; ejecutarlo en los hilos de Tomcat
+ * hace que un pico de logins (cambio de turno) deje sin hilos al resto de los
+ * endpoints. El pool tiene tantos hilos como procesadores y una cola acotada:
+ * cuando la cola está llena el login se rechaza de inmediato en lugar de
+ * acumular esperas.
+ */
+@Slf4j
+@Component
+public class VerificadorPassword {
+
+    // Hash de una contraseña aleatoria: los usuarios inexistentes pagan el mismo costo que los existentes
+    private final String hashFicticio;
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+
+    public VerificadorPassword(PasswordEncoder passwordEncoder,
+                               @Value("${app.seguridad.login.hilos:0}") int hilos,
+                               @Value("${app.seguridad.login.cola:200}") int cola) {
+        this.passwordEncoder = passwordEncoder;
+        this.hashFicticio = passwordEncoder.encode(UUID.randomUUID().toString());
+
+        int cantidadHilos = hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors();
+        AtomicInteger numero = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(cantidadHilos, cantidadHilos, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(cola),
+                r -> {
+                    Thread hilo = new Thread(r, "login-bcrypt-" + numero.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        log.info("Verificación de contraseñas con {} hilos y cola de {}", cantidadHilos, cola);
+    }
+
+    /**
+     * Compara la contraseña con el hash en el pool de verificación. Si el hash es
+     * null (usuario inexistente) compara contra un hash ficticio y devuelve false.
+     */
+    public CompletableFuture<Boolean> verificar(String password, String hash) {
+        try {
+            return CompletableFuture.supplyAsync(
+                    () -> passwordEncoder.matches(password, hash != null ? hash : hashFicticio) && hash != null,
+                    executor);
+        } catch (RejectedExecutionException e) {
+            throw new TooManyRequestsException("El servidor está procesando demasiados inicios de sesión, reintente en unos segundos");
+        }
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,20 @@
+package com.belleza.pos.service;
+
+import com.belleza.pos.dto.request.AjustePreciosRequest;
+import com.belleza.pos.dto.response.AjustePreciosResponse;
+
+/**
+ * Interfaz del servicio de ajuste masivo de precios
+ */
+public interface AjustePrecioService {
+
+    /**
+     * Calcula el ajuste sin modificar precios y devuelve una muestra de los cambios
+     */
+    AjustePreciosResponse simular(AjustePreciosRequest request);
+
+    /**
+     * Aplica el ajuste a todos los precios que cumplen los filtros
+     */
+    AjustePreciosResponse aplicar(AjustePreciosRequest request);
+}
@@ -38,11 +38,21 @@ public interface ArticuloService {
      */
     ArticuloResponse getByCodigoBarras(String codigoBarras);
 
+    /**
+     * Obtiene el registro compacto de escaneo desde el índice en memoria
+     */
+    ArticuloScanResponse escanear(String codigoBarras);
+
     /**
      * Obtiene todos los artículos con paginación
      */
     Page<ArticuloResponse> getAll(Pageable pageable);
 
+    /**
+     * Obtiene artículos ordenados por descripción con paginación por cursor
+     */
+    CursorPageResponse<ArticuloResponse> getAllByCursor(String cursor, int size);
+
     /**
      * Obtiene todos los artículos activos
      */
@@ -129,6 +139,16 @@ public interface ArticuloService {
      */
     ArticuloResponse ajustarStock(Integer id, AjusteStockRequest request);
 
+    /**
+     * Obtiene el stock de un artículo en cada sucursal
+     */
+    List<StockSucursalResponse> getStockPorSucursal(Integer id);
+
+    /**
+     * Obtiene el stock total de varios artículos con una sola consulta agregada
+     */
+    List<StockTotalResponse> getStockTotales(List<Integer> ids);
+
     /**
      * Obtiene artículos con stock bajo
      */
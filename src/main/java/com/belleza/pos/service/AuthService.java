@@ -1,5 +1,6 @@
 package com.belleza.pos.service;
 
+import com.belleza.pos.buffer.UltimoLoginBuffer;
 import com.belleza.pos.dto.request.LoginRequest;
 import com.belleza.pos.dto.request.RefreshTokenRequest;
 import com.belleza.pos.dto.request.RegisterRequest;
@@ -11,17 +12,19 @@ import com.belleza.pos.exception.BusinessException;
 import com.belleza.pos.repository.SucursalRepository;
 import com.belleza.pos.repository.UsuarioRepository;
 import com.belleza.pos.security.jwt.JwtUtil;
+import com.belleza.pos.security.service.ControlIntentosLogin;
+import com.belleza.pos.security.service.VerificadorPassword;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Servicio de autenticación
@@ -31,43 +34,47 @@ import java.time.LocalDateTime;
 @RequiredArgsConstructor
 public class AuthService {
 
-    private final AuthenticationManager authenticationManager;
     private final UsuarioRepository usuarioRepository;
     private final SucursalRepository sucursalRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final RevocacionTokenService revocacionTokenService;
+    private final VerificadorPassword verificadorPassword;
+    private final ControlIntentosLogin controlIntentosLogin;
+    private final UltimoLoginBuffer ultimoLoginBuffer;
 
     /**
-     * Realiza el login de un usuario
+     * Realiza el login de un usuario. El usuario se obtiene con una sola consulta y
+     * la contraseña se verifica en el pool acotado de VerificadorPassword, fuera de
+     * los hilos de Tomcat y sin conexión a la base de datos tomada.
      */
-    @Transactional
-    public AuthResponse login(LoginRequest request) {
-        // Autenticar usuario
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getUsername(),
-                        request.getPassword()
-                )
-        );
-
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-
-        // Generar tokens
-        String token = jwtUtil.generateToken(authentication);
-        String refreshToken = jwtUtil.generateRefreshToken(request.getUsername());
+    public CompletableFuture<AuthResponse> login(LoginRequest request, String ip) {
+        controlIntentosLogin.verificar(request.username(), ip);
 
         // Obtener usuario
-        Usuario usuario = usuarioRepository.findByUsername(request.getUsername())
-                .orElseThrow(() -> new BusinessException("Usuario no encontrado"));
+        Usuario usuario = usuarioRepository.findConSucursalByUsername(request.username()).orElse(null);
 
-        // Actualizar último login
-        usuario.setUltimoLogin(LocalDateTime.now());
-        usuarioRepository.save(usuario);
-
-        log.info("Usuario autenticado exitosamente: {}", request.getUsername());
-
-        // Construir respuesta
-        return buildAuthResponse(usuario, token, refreshToken);
+        // Autenticar usuario
+        return verificadorPassword.verificar(request.password(), usuario != null ? usuario.getPasswordHash() : null)
+                .thenApply(valida -> {
+                    if (!valida || !usuario.getActivo()) {
+                        controlIntentosLogin.registrarFallo(request.username(), ip);
+                        throw new BadCredentialsException("Usuario o contraseña incorrectos");
+                    }
+                    controlIntentosLogin.registrarExito(request.username(), ip);
+
+                    // Generar tokens
+                    String token = generarToken(usuario);
+                    String refreshToken = jwtUtil.generateRefreshToken(usuario.getUsername());
+
+                    // Actualizar último login (se escribe en segundo plano)
+                    ultimoLoginBuffer.registrar(usuario.getIdUsuario(), LocalDateTime.now());
+
+                    log.info("Usuario autenticado exitosamente: {}", usuario.getUsername());
+
+                    // Construir respuesta
+                    return buildAuthResponse(usuario, token, refreshToken);
+                });
     }
 
     /**
@@ -116,7 +123,7 @@ public class AuthService {
         log.info("Usuario registrado exitosamente: {}", request.username());
 
         // Generar tokens
-        String token = jwtUtil.generateTokenFromUsername(usuario.getUsername());
+        String token = generarToken(usuario);
         String refreshToken = jwtUtil.generateRefreshToken(usuario.getUsername());
 
         // Construir respuesta
@@ -124,19 +131,23 @@ public class AuthService {
     }
 
     /**
-     * Refresca el token de acceso
+     * Refresca el token de acceso. El refresh token se rota: el recibido queda
+     * revocado y se entrega uno nuevo, por lo que sólo puede usarse una vez.
      */
     @Transactional
     public AuthResponse refreshToken(RefreshTokenRequest request) {
-        String refreshToken = request.refreshToken();
-
         // Validar refresh token
-        if (!jwtUtil.validateToken(refreshToken)) {
+        Claims claims = jwtUtil.verifyToken(request.refreshToken())
+                .filter(jwtUtil::isRefreshToken)
+                .orElseThrow(() -> new BusinessException("Refresh token inválido o expirado"));
+
+        // Revocar el refresh token recibido; si ya estaba revocado fue usado antes
+        if (!revocacionTokenService.revocar(claims)) {
+            log.warn("Intento de reutilizar un refresh token revocado del usuario: {}", claims.getSubject());
             throw new BusinessException("Refresh token inválido o expirado");
         }
 
-        // Obtener username del token
-        String username = jwtUtil.getUsernameFromToken(refreshToken);
+        String username = claims.getSubject();
 
         // Obtener usuario
         Usuario usuario = usuarioRepository.findByUsername(username)
@@ -146,13 +157,37 @@ public class AuthService {
             throw new BusinessException("Usuario inactivo");
         }
 
-        // Generar nuevo token de acceso
-        String newToken = jwtUtil.generateTokenFromUsername(username);
+        // Generar nuevos tokens
+        String newToken = generarToken(usuario);
+        String newRefreshToken = jwtUtil.generateRefreshToken(username);
 
         log.info("Token refrescado para usuario: {}", username);
 
         // Construir respuesta
-        return buildAuthResponse(usuario, newToken, refreshToken);
+        return buildAuthResponse(usuario, newToken, newRefreshToken);
+    }
+
+    /**
+     * Cierra la sesión revocando el token de acceso y, si se envía, el refresh token.
+     * Los tokens inválidos o ya vencidos se ignoran.
+     */
+    @Transactional
+    public void logout(String token, String refreshToken) {
+        for (String jwt : new String[] {token, refreshToken}) {
+            if (StringUtils.hasText(jwt)) {
+                jwtUtil.verifyToken(jwt).ifPresent(revocacionTokenService::revocar);
+            }
+        }
+    }
+
+    /**
+     * Genera el token de acceso con el rol y la sucursal actuales del usuario
+     */
+    private String generarToken(Usuario usuario) {
+        return jwtUtil.generateTokenFromUsername(
+                usuario.getUsername(),
+                usuario.getRol().name(),
+                usuario.getSucursal() != null ? usuario.getSucursal().getIdSucursal() : null);
     }
 
     /**
@@ -169,8 +204,8 @@ public class AuthService {
                 .apellido(usuario.getApellido())
                 .email(usuario.getEmail())
                 .rol(usuario.getRol().name())
-                .idSucursal(usuario.getSucursal() != null ? usuario.getSucursal().idSucursal() : null)
-                .nombreSucursal(usuario.getSucursal() != null ? usuario.getSucursal().nombre() : null)
+                .idSucursal(usuario.getSucursal() != null ? usuario.getSucursal().getIdSucursal() : null)
+                .nombreSucursal(usuario.getSucursal() != null ? usuario.getSucursal().getNombre() : null)
                 .build();
     }
 }
\ No newline at end of file
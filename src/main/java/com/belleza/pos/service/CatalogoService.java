@@ -0,0 +1,39 @@
+package com.belleza.pos.service;
+
+import com.belleza.pos.dto.response.CatalogoDeltaResponse;
+
+import java.util.Collection;
+
+/**
+ * Interfaz del servicio de sincronización del catálogo para terminales POS
+ */
+public interface CatalogoService {
+
+    /**
+     * Snapshot del catálogo serializado en JSON y comprimido con gzip
+     */
+    record SnapshotComprimido(long version, byte[] contenido) {}
+
+    /**
+     * Obtiene el snapshot completo precalculado del catálogo
+     */
+    SnapshotComprimido getSnapshot();
+
+    /**
+     * Obtiene los artículos y precios modificados desde una versión
+     */
+    CatalogoDeltaResponse getDelta(long desde);
+
+    /**
+     * Registra un cambio de los artículos indicados. Luego del commit de la
+     * transacción actual se les asigna una nueva versión del catálogo y el
+     * snapshot queda desactualizado.
+     */
+    void registrarCambio(Collection<Integer> idsArticulos);
+
+    /**
+     * Registra una baja permanente luego del commit; los clientes con versiones
+     * anteriores deben resincronizar
+     */
+    void registrarBajaPermanente();
+}
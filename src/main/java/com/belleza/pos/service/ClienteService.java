@@ -4,6 +4,7 @@ import com.belleza.pos.dto.request.CreateClienteRequest;
 import com.belleza.pos.dto.request.UpdateClienteRequest;
 import com.belleza.pos.dto.response.ClienteResponse;
 import com.belleza.pos.dto.response.ClienteSimpleResponse;
+import com.belleza.pos.dto.response.CursorPageResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -19,6 +20,8 @@ public interface ClienteService {
     Page<ClienteResponse> getAll(Pageable pageable);
     List<ClienteSimpleResponse> getAllActive();
     Page<ClienteResponse> search(String searchTerm, Pageable pageable);
+    CursorPageResponse<ClienteResponse> getAllByCursor(String cursor, int size);
+    CursorPageResponse<ClienteResponse> searchByCursor(String searchTerm, String cursor, int size);
     List<ClienteResponse> getConCuentaCorriente();
     List<ClienteResponse> getConLimiteCreditoExcedido();
     List<ClienteResponse> getConSaldoPendiente();
@@ -0,0 +1,41 @@
+package com.belleza.pos.service;
+
+import com.belleza.pos.dto.response.AntiguedadSaldoResponse;
+import com.belleza.pos.dto.response.EstadoCuentaResponse;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Interfaz del servicio de cuentas corrientes de clientes
+ */
+public interface CuentaCorrienteService {
+
+    /**
+     * Carga el monto en la cuenta validando habilitación y límite de crédito en la misma
+     * actualización, y registra el movimiento. Devuelve el saldo resultante.
+     */
+    BigDecimal cargar(Integer idCliente, BigDecimal monto, Long idVenta, String descripcion);
+
+    /**
+     * Descuenta el pago de la cuenta y registra el movimiento. Devuelve el saldo resultante.
+     * Un pago mayor al saldo se rechaza.
+     */
+    BigDecimal pagar(Integer idCliente, BigDecimal monto, String descripcion);
+
+    /**
+     * Obtiene los movimientos del cliente en el rango [desde, hasta) con el saldo inicial y final
+     */
+    EstadoCuentaResponse getEstadoCuenta(Integer idCliente, LocalDateTime desde, LocalDateTime hasta, Pageable pageable);
+
+    /**
+     * Distribuye el saldo actual del cliente por antigüedad de los cargos pendientes
+     */
+    AntiguedadSaldoResponse getAntiguedad(Integer idCliente);
+
+    /**
+     * Registra una foto del saldo de los clientes con movimientos desde la última foto
+     */
+    void registrarSaldos();
+}
@@ -0,0 +1,20 @@
+package com.belleza.pos.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Interfaz del servicio de exportación masiva de datos
+ */
+public interface ExportacionService {
+
+    /**
+     * Escribe el catálogo completo de artículos como NDJSON (un objeto JSON por línea)
+     */
+    void exportarArticulosNdjson(OutputStream out) throws IOException;
+
+    /**
+     * Escribe el catálogo completo de artículos como CSV, con una columna precio_<idLista> por lista de precios
+     */
+    void exportarArticulosCsv(OutputStream out) throws IOException;
+}
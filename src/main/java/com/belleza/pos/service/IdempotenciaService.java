@@ -0,0 +1,27 @@
+package com.belleza.pos.service;
+
+import java.util.function.Supplier;
+
+/**
+ * Interface del servicio de idempotencia para operaciones que modifican datos
+ */
+public interface IdempotenciaService {
+
+    /**
+     * Ejecuta la acción una sola vez por clave. Si la clave ya fue usada para la misma
+     * operación devuelve la respuesta original sin volver a ejecutarla; si la clave es
+     * nula o vacía ejecuta la acción sin registrar nada.
+     *
+     * @param clave     valor del encabezado Idempotency-Key
+     * @param operacion descripción de la operación y sus parámetros; una clave no puede reutilizarse con otra
+     * @param tipo      tipo de la respuesta, para reconstruirla al repetirla
+     * @param accion    operación a ejecutar
+     */
+    <T> T ejecutar(String clave, String operacion, Class<T> tipo, Supplier<T> accion);
+
+    /**
+     * Descripción de una operación con cuerpo: el método y la ruta seguidos del
+     * SHA-256 del JSON canónico del cuerpo, para usar como {@code operacion}
+     */
+    String operacion(String metodoYRuta, Object cuerpo);
+}
@@ -0,0 +1,17 @@
+package com.belleza.pos.service;
+
+import com.belleza.pos.dto.response.ImportacionResponse;
+
+import java.io.InputStream;
+
+/**
+ * Interfaz del servicio de importación masiva de datos
+ */
+public interface ImportacionService {
+
+    /**
+     * Importa artículos desde un CSV con encabezado. Las filas inválidas se
+     * informan en el resultado y no impiden la importación del resto.
+     */
+    ImportacionResponse importarArticulos(InputStream contenido);
+}
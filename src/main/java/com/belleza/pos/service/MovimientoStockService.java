@@ -0,0 +1,44 @@
+package com.belleza.pos.service;
+
+import com.belleza.pos.dto.response.KardexResponse;
+import com.belleza.pos.entity.enums.TipoMovimientoStock;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Interfaz del servicio de movimientos de stock (kardex)
+ */
+public interface MovimientoStockService {
+
+    /**
+     * Movimiento a registrar; la cantidad es la variación del stock de la sucursal
+     */
+    record Movimiento(Integer idArticulo, Integer idSucursal, TipoMovimientoStock tipo, BigDecimal cantidad,
+                      BigDecimal saldo, String username, String motivo, LocalDateTime fecha) {}
+
+    /**
+     * Registra un movimiento con el stock resultante de la sucursal en la transacción actual
+     */
+    void registrar(Integer idArticulo, Integer idSucursal, TipoMovimientoStock tipo, BigDecimal cantidad,
+                   BigDecimal saldo, String motivo);
+
+    /**
+     * Registra varios movimientos con inserts en lote en la transacción actual
+     */
+    void registrarLote(List<Movimiento> movimientos);
+
+    /**
+     * Obtiene los movimientos de un artículo en una sucursal en el rango [desde, hasta)
+     * con el saldo inicial y final. Sin sucursal se usa la del usuario autenticado.
+     */
+    KardexResponse getKardex(Integer idArticulo, Integer idSucursal, LocalDateTime desde, LocalDateTime hasta,
+                             Pageable pageable);
+
+    /**
+     * Registra una foto del stock de los artículos con movimientos desde la última foto
+     */
+    void registrarSaldos();
+}
@@ -0,0 +1,15 @@
+package com.belleza.pos.service;
+
+import com.belleza.pos.dto.request.CotizacionRequest;
+import com.belleza.pos.dto.response.CotizacionResponse;
+
+/**
+ * Servicio de resolución de precios
+ */
+public interface PrecioService {
+
+    /**
+     * Cotiza todos los ítems contra una lista de precios, con IVA según el rubro de cada artículo
+     */
+    CotizacionResponse cotizar(CotizacionRequest request);
+}
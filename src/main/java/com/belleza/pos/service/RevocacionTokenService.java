@@ -0,0 +1,20 @@
+package com.belleza.pos.service;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Interface del servicio de revocación de tokens JWT
+ */
+public interface RevocacionTokenService {
+
+    /**
+     * Revoca el token hasta su expiración. Devuelve false si ya estaba revocado
+     * o si no tiene identificador (jti).
+     */
+    boolean revocar(Claims claims);
+
+    /**
+     * Indica si el token con el identificador dado fue revocado; null nunca está revocado
+     */
+    boolean estaRevocado(String jti);
+}
@@ -0,0 +1,18 @@
+package com.belleza.pos.service;
+
+import com.belleza.pos.dto.response.SincronizacionResponse;
+
+import java.io.InputStream;
+
+/**
+ * Interfaz del servicio de sincronización de operaciones registradas sin conexión
+ */
+public interface SincronizacionService {
+
+    /**
+     * Aplica un arreglo JSON de operaciones en orden de fecha de la terminal.
+     * Las operaciones repetidas o inválidas se informan en el resultado y no
+     * impiden la aplicación del resto.
+     */
+    SincronizacionResponse sincronizar(InputStream contenido);
+}
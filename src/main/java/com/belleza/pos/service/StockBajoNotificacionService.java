@@ -0,0 +1,22 @@
+package com.belleza.pos.service;
+
+import com.belleza.pos.dto.response.StockBajoEventoResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * Servicio de notificación de stock bajo por Server-Sent Events
+ */
+public interface StockBajoNotificacionService {
+
+    /**
+     * Registra una suscripción; el primer evento contiene el conjunto actual
+     */
+    SseEmitter suscribir();
+
+    /**
+     * Envía los cambios del conjunto de stock bajo a todos los suscriptores
+     */
+    void publicar(List<StockBajoEventoResponse> cambios);
+}
@@ -3,6 +3,7 @@ package com.belleza.pos.service;
 import com.belleza.pos.dto.request.ChangePasswordRequest;
 import com.belleza.pos.dto.request.CreateUsuarioRequest;
 import com.belleza.pos.dto.request.UpdateUsuarioRequest;
+import com.belleza.pos.dto.response.CursorPageResponse;
 import com.belleza.pos.dto.response.UsuarioResponse;
 import com.belleza.pos.dto.response.UsuarioSimpleResponse;
 import com.belleza.pos.entity.enums.RolUsuario;
@@ -41,6 +42,11 @@ public interface UsuarioService {
      */
     Page<UsuarioResponse> getAll(Pageable pageable);
 
+    /**
+     * Obtiene usuarios ordenados por username con paginación por cursor
+     */
+    CursorPageResponse<UsuarioResponse> getAllByCursor(String cursor, int size);
+
     /**
      * Obtiene todos los usuarios activos
      */
@@ -0,0 +1,17 @@
+package com.belleza.pos.service;
+
+import com.belleza.pos.dto.request.VentaRequest;
+import com.belleza.pos.dto.response.VentaResponse;
+
+/**
+ * Servicio de ventas
+ */
+public interface VentaService {
+
+    /**
+     * Registra la venta completa en una única transacción: precios, stock, cuenta corriente y líneas
+     */
+    VentaResponse registrar(VentaRequest request);
+
+    VentaResponse getById(Long id);
+}
@@ -0,0 +1,254 @@
+package com.belleza.pos.service.impl;
+
+import com.belleza.pos.cache.CodigoBarrasIndex;
+import com.belleza.pos.cache.MatrizPrecios;
+import com.belleza.pos.dto.request.AjustePreciosRequest;
+import com.belleza.pos.dto.response.AjustePrecioDetalleResponse;
+import com.belleza.pos.dto.response.AjustePreciosResponse;
+import com.belleza.pos.exception.BusinessException;
+import com.belleza.pos.exception.ResourceNotFoundException;
+import com.belleza.pos.repository.ListaPrecioRepository;
+import com.belleza.pos.repository.ProveedorRepository;
+import com.belleza.pos.repository.RubroRepository;
+import com.belleza.pos.service.AjustePrecioService;
+import com.belleza.pos.service.CatalogoService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementación del servicio de ajuste masivo de precios.
+ *
+ * El nuevo precio se calcula en la base de datos con un único UPDATE por
+ * conjunto. El rango de IDs de precio afectado se recorre en ventanas y cada
+ * ventana se confirma en su propia transacción, para no mantener bloqueadas
+ * todas las filas durante el ajuste completo. Si una ventana falla, las
+ * anteriores quedan aplicadas: las cachés de precios se recargan igual y el
+ * error informa hasta qué precio se aplicó el ajuste.
+ */
+@Slf4j
+@Service
+public class AjustePrecioServiceImpl implements AjustePrecioService {
+
+    private static final long TAMANIO_VENTANA = 5_000;
+
+    private static final int TAMANIO_MUESTRA = 100;
+
+    private static final String FROM = " FROM articulos_precios ap JOIN articulos a ON a.id_articulo = ap.id_articulo";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ListaPrecioRepository listaPrecioRepository;
+    private final RubroRepository rubroRepository;
+    private final ProveedorRepository proveedorRepository;
+    private final CodigoBarrasIndex codigoBarrasIndex;
+    private final CatalogoService catalogoService;
+    private final MatrizPrecios matrizPrecios;
+
+    public AjustePrecioServiceImpl(NamedParameterJdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   ListaPrecioRepository listaPrecioRepository,
+                                   RubroRepository rubroRepository,
+                                   ProveedorRepository proveedorRepository,
+                                   CodigoBarrasIndex codigoBarrasIndex,
+                                   CatalogoService catalogoService,
+                                   MatrizPrecios matrizPrecios) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.listaPrecioRepository = listaPrecioRepository;
+        this.rubroRepository = rubroRepository;
+        this.proveedorRepository = proveedorRepository;
+        this.codigoBarrasIndex = codigoBarrasIndex;
+        this.catalogoService = catalogoService;
+        this.matrizPrecios = matrizPrecios;
+    }
+
+    @Override
+    public AjustePreciosResponse simular(AjustePreciosRequest request) {
+        log.info("Simulando ajuste de precios: {} {}", request.tipoAjuste(), request.valor());
+        validar(request);
+
+        MapSqlParameterSource parametros = parametros(request);
+        String expresion = expresion(request);
+        String condicion = condicion(request, expresion);
+
+        Integer afectados = jdbcTemplate.queryForObject("SELECT COUNT(*)" + FROM + condicion, parametros, Integer.class);
+
+        List<AjustePrecioDetalleResponse> muestra = jdbcTemplate.query(
+                "SELECT a.id_articulo, a.codigo_barras, a.descripcion, ap.id_lista, ap.precio_venta, " +
+                        expresion + " AS precio_nuevo" + FROM + condicion +
+                        " ORDER BY a.descripcion, a.id_articulo, ap.id_lista LIMIT " + TAMANIO_MUESTRA,
+                parametros,
+                (rs, n) -> AjustePrecioDetalleResponse.builder()
+                        .idArticulo(rs.getInt("id_articulo"))
+                        .codigoBarras(rs.getString("codigo_barras"))
+                        .descripcion(rs.getString("descripcion"))
+                        .idLista(rs.getInt("id_lista"))
+                        .precioAnterior(rs.getBigDecimal("precio_venta"))
+                        .precioNuevo(rs.getBigDecimal("precio_nuevo").setScale(2, RoundingMode.HALF_UP))
+                        .build());
+
+        return AjustePreciosResponse.builder()
+                .simulacion(true)
+                .preciosAfectados(afectados)
+                .muestra(muestra)
+                .build();
+    }
+
+    @Override
+    public AjustePreciosResponse aplicar(AjustePreciosRequest request) {
+        log.info("Aplicando ajuste de precios: {} {}", request.tipoAjuste(), request.valor());
+        validar(request);
+
+        MapSqlParameterSource parametros = parametros(request);
+        String expresion = expresion(request);
+        String condicion = condicion(request, expresion);
+
+        Map<String, Object> rango = jdbcTemplate.queryForMap(
+                "SELECT MIN(ap.id_precio) AS desde, MAX(ap.id_precio) AS hasta" + FROM + condicion, parametros);
+        if (rango.get("desde") == null) {
+            return AjustePreciosResponse.builder().simulacion(false).preciosAfectados(0).build();
+        }
+
+        long desde = ((Number) rango.get("desde")).longValue();
+        long hasta = ((Number) rango.get("hasta")).longValue();
+
+        String filtroVentana = condicion + " AND ap.id_precio BETWEEN :desdeVentana AND :hastaVentana";
+        String articulos = "SELECT DISTINCT ap.id_articulo" + FROM + filtroVentana;
+        String update = "UPDATE articulos_precios ap JOIN articulos a ON a.id_articulo = ap.id_articulo " +
+                "SET ap.precio_venta = " + expresion + ", ap.fecha_ultima_actualizacion = :ahora" + filtroVentana;
+
+        int afectados = 0;
+        long aplicadoHasta = desde - 1;
+        try {
+            for (long inicio = desde; inicio <= hasta; inicio += TAMANIO_VENTANA) {
+                long fin = Math.min(inicio + TAMANIO_VENTANA - 1, hasta);
+                MapSqlParameterSource ventana = new MapSqlParameterSource(parametros.getValues())
+                        .addValue("desdeVentana", inicio)
+                        .addValue("hastaVentana", fin);
+
+                Integer filas = transactionTemplate.execute(status -> {
+                    ventana.addValue("ahora", LocalDateTime.now());
+                    // Los artículos de la ventana reciben una versión del catálogo luego del commit
+                    catalogoService.registrarCambio(jdbcTemplate.queryForList(articulos, ventana, Integer.class));
+                    return jdbcTemplate.update(update, ventana);
+                });
+                afectados += filas != null ? filas : 0;
+                aplicadoHasta = fin;
+            }
+        } catch (RuntimeException e) {
+            if (afectados == 0) {
+                throw e;
+            }
+            // Las ventanas anteriores ya están confirmadas; volver a aplicar el ajuste las ajustaría dos veces
+            log.error("Ajuste de precios interrumpido: {} precios actualizados hasta el ID de precio {}",
+                    afectados, aplicadoHasta, e);
+            throw new BusinessException("El ajuste de precios se aplicó parcialmente: se actualizaron " + afectados +
+                    " precios con ID hasta " + aplicadoHasta + " antes del error", e);
+        } finally {
+            if (afectados > 0) {
+                codigoBarrasIndex.recargarPrecios();
+                matrizPrecios.recargarPrecios();
+            }
+        }
+
+        log.info("Ajuste de precios aplicado a {} precios", afectados);
+        return AjustePreciosResponse.builder()
+                .simulacion(false)
+                .preciosAfectados(afectados)
+                .build();
+    }
+
+    private void validar(AjustePreciosRequest request) {
+        switch (request.tipoAjuste().toUpperCase()) {
+            case "PORCENTAJE":
+                if (request.valor().compareTo(BigDecimal.valueOf(-100)) <= 0) {
+                    throw new BusinessException("El porcentaje de ajuste debe ser mayor a -100");
+                }
+                break;
+            case "MONTO":
+                break;
+            default:
+                throw new BusinessException("Tipo de ajuste inválido: " + request.tipoAjuste());
+        }
+
+        if (request.modoRedondeo() != null && !List.of("CERCANO", "ARRIBA", "ABAJO")
+                .contains(request.modoRedondeo().toUpperCase())) {
+            throw new BusinessException("Modo de redondeo inválido: " + request.modoRedondeo());
+        }
+
+        if (request.idLista() != null && !listaPrecioRepository.existsById(request.idLista())) {
+            throw new ResourceNotFoundException("Lista de precios", "id", request.idLista());
+        }
+        if (request.idRubro() != null && !rubroRepository.existsById(request.idRubro())) {
+            throw new ResourceNotFoundException("Rubro", "id", request.idRubro());
+        }
+        if (request.idProveedor() != null && !proveedorRepository.existsById(request.idProveedor())) {
+            throw new ResourceNotFoundException("Proveedor", "id", request.idProveedor());
+        }
+    }
+
+    /**
+     * Expresión SQL del nuevo precio de venta, redondeada y nunca menor a 0.01
+     */
+    private String expresion(AjustePreciosRequest request) {
+        String ajustado = "PORCENTAJE".equalsIgnoreCase(request.tipoAjuste())
+                ? "ap.precio_venta * (1 + :valor / 100)"
+                : "ap.precio_venta + :valor";
+
+        String redondeado;
+        if (request.redondeo() == null) {
+            redondeado = "ROUND(" + ajustado + ", 2)";
+        } else {
+            String modo = request.modoRedondeo() != null ? request.modoRedondeo().toUpperCase() : "CERCANO";
+            String funcion = switch (modo) {
+                case "ARRIBA" -> "CEILING";
+                case "ABAJO" -> "FLOOR";
+                default -> "ROUND";
+            };
+            redondeado = funcion + "((" + ajustado + ") / :redondeo) * :redondeo";
+        }
+
+        return "GREATEST(" + redondeado + ", 0.01)";
+    }
+
+    /**
+     * Filtros del ajuste; excluye los precios que no cambiarían
+     */
+    private String condicion(AjustePreciosRequest request, String expresion) {
+        StringBuilder where = new StringBuilder(" WHERE ").append(expresion).append(" <> ap.precio_venta");
+        if (request.idLista() != null) {
+            where.append(" AND ap.id_lista = :idLista");
+        }
+        if (request.idRubro() != null) {
+            where.append(" AND a.id_rubro = :idRubro");
+        }
+        if (request.enOferta() != null) {
+            where.append(" AND a.en_oferta = :enOferta");
+        }
+        if (request.idProveedor() != null) {
+            where.append(" AND EXISTS (SELECT 1 FROM articulos_proveedores pv " +
+                    "WHERE pv.id_articulo = ap.id_articulo AND pv.id_proveedor = :idProveedor)");
+        }
+        return where.toString();
+    }
+
+    private MapSqlParameterSource parametros(AjustePreciosRequest request) {
+        return new MapSqlParameterSource()
+                .addValue("valor", request.valor())
+                .addValue("redondeo", request.redondeo())
+                .addValue("idLista", request.idLista())
+                .addValue("idRubro", request.idRubro())
+                .addValue("idProveedor", request.idProveedor())
+                .addValue("enOferta", request.enOferta());
+    }
+}
@@ -1,25 +1,44 @@
 package com.belleza.pos.service.impl;
 
+import com.belleza.pos.buffer.StockTotalBuffer;
+import com.belleza.pos.cache.ArticuloSearchIndex;
+import com.belleza.pos.cache.CodigoBarrasIndex;
+import com.belleza.pos.cache.ConteoCache;
+import com.belleza.pos.cache.MatrizPrecios;
+import com.belleza.pos.cache.StockBajoIndex;
+import com.belleza.pos.cache.VencimientoIndex;
 import com.belleza.pos.dto.request.*;
 import com.belleza.pos.dto.response.*;
 import com.belleza.pos.entity.*;
+import com.belleza.pos.entity.enums.TipoMovimientoStock;
 import com.belleza.pos.entity.enums.UnidadVenta;
 import com.belleza.pos.exception.BusinessException;
 import com.belleza.pos.exception.ResourceNotFoundException;
 import com.belleza.pos.mapper.ArticuloMapper;
 import com.belleza.pos.repository.*;
+import com.belleza.pos.repository.projection.StockTotalView;
+import com.belleza.pos.security.service.SucursalActualService;
 import com.belleza.pos.service.ArticuloService;
+import com.belleza.pos.service.CatalogoService;
+import com.belleza.pos.service.MovimientoStockService;
+import com.belleza.pos.util.CursorUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -30,6 +49,8 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ArticuloServiceImpl implements ArticuloService {
 
+    private static final int TAMANIO_LOTE = 1_000;
+
     private final ArticuloRepository articuloRepository;
     private final RubroRepository rubroRepository;
     private final ListaPrecioRepository listaPrecioRepository;
@@ -37,6 +58,20 @@ public class ArticuloServiceImpl implements ArticuloService {
     private final ArticuloPrecioRepository articuloPrecioRepository;
     private final ArticuloProveedorRepository articuloProveedorRepository;
     private final ArticuloMapper articuloMapper;
+    private final CodigoBarrasIndex codigoBarrasIndex;
+    private final ArticuloSearchIndex articuloSearchIndex;
+    private final CatalogoService catalogoService;
+    private final MovimientoStockService movimientoStockService;
+    private final StockSucursalRepository stockSucursalRepository;
+    private final MovimientoStockRepository movimientoStockRepository;
+    private final SaldoStockRepository saldoStockRepository;
+    private final SucursalActualService sucursalActualService;
+    private final StockTotalBuffer stockTotalBuffer;
+    private final StockBajoIndex stockBajoIndex;
+    private final VencimientoIndex vencimientoIndex;
+    private final ConteoCache conteoCache;
+    private final MatrizPrecios matrizPrecios;
+    private final VentaDetalleRepository ventaDetalleRepository;
 
     // ========== CRUD Básico ==========
 
@@ -83,6 +118,21 @@ public class ArticuloServiceImpl implements ArticuloService {
         }
 
         articulo = articuloRepository.save(articulo);
+
+        // El stock inicial se asigna a la sucursal del usuario
+        if (articulo.getStockActual() != null && articulo.getStockActual().signum() > 0) {
+            Integer idSucursal = sucursalActualService.getIdSucursal();
+            stockSucursalRepository.fijarStock(articulo.getIdArticulo(), idSucursal, articulo.getStockActual());
+            movimientoStockService.registrar(articulo.getIdArticulo(), idSucursal, TipoMovimientoStock.AJUSTE,
+                    articulo.getStockActual(), articulo.getStockActual(), "Stock inicial");
+        }
+        stockTotalBuffer.marcar(articulo.getIdArticulo());
+        conteoCache.invalidarRubros(request.idRubro());
+
+        indexar(articulo);
+        articuloSearchIndex.actualizar(articulo);
+        vencimientoIndex.actualizar(articulo);
+        catalogoService.registrarCambio(List.of(articulo.getIdArticulo()));
         log.info("Artículo creado exitosamente con ID: {}", articulo.getIdArticulo());
         return articuloMapper.toResponse(articulo);
     }
@@ -119,9 +169,29 @@ public class ArticuloServiceImpl implements ArticuloService {
         }
 
         // Actualizar artículo
+        Integer idRubroAnterior = articulo.getRubro() != null ? articulo.getRubro().getIdRubro() : null;
         articuloMapper.updateEntity(articulo, request, rubro);
         articulo = articuloRepository.save(articulo);
 
+        // stock_actual es el total consolidado; el valor indicado se fija en la sucursal del usuario
+        if (request.stockActual() != null) {
+            Integer idSucursal = sucursalActualService.getIdSucursal();
+            movimientoStockService.registrar(id, idSucursal, TipoMovimientoStock.AJUSTE,
+                    fijarStock(id, idSucursal, request.stockActual()), request.stockActual(), "Actualización de artículo");
+            // La respuesta y los índices muestran el total de todas las sucursales, como en ajustarStock
+            articulo.setStockActual(stockTotal(id));
+        }
+        // Reevalúa el total y el estado de stock bajo (puede cambiar el mínimo o el control de stock)
+        stockTotalBuffer.marcar(id);
+        if (rubro != null && !rubro.getIdRubro().equals(idRubroAnterior)) {
+            conteoCache.invalidarRubros(idRubroAnterior, rubro.getIdRubro());
+        }
+
+        indexar(articulo);
+        articuloSearchIndex.actualizar(articulo);
+        vencimientoIndex.actualizar(articulo);
+        catalogoService.registrarCambio(List.of(articulo.getIdArticulo()));
+
         log.info("Artículo actualizado exitosamente: {}", id);
         return articuloMapper.toResponse(articulo);
     }
@@ -144,12 +214,44 @@ public class ArticuloServiceImpl implements ArticuloService {
         return articuloMapper.toResponse(articulo);
     }
 
+    @Override
+    public ArticuloScanResponse escanear(String codigoBarras) {
+        log.debug("Escaneando código de barras: {}", codigoBarras);
+
+        // Mientras el índice se carga se consulta la base de datos
+        if (!codigoBarrasIndex.isCargado()) {
+            Articulo articulo = articuloRepository.findByCodigoBarras(codigoBarras)
+                    .orElseThrow(() -> new ResourceNotFoundException("Artículo", "código de barras", codigoBarras));
+            BigDecimal precioVenta = articuloPrecioRepository
+                    .findPrecioPredeterminadoByArticulo(articulo.getIdArticulo())
+                    .map(ArticuloPrecio::getPrecioVenta)
+                    .orElse(null);
+            return new ArticuloScanResponse(articulo.getIdArticulo(), articulo.getCodigoBarras(),
+                    articulo.getDescripcion(), precioVenta, articulo.getStockActual(), articulo.getActivo());
+        }
+
+        return codigoBarrasIndex.buscar(codigoBarras)
+                .orElseThrow(() -> new ResourceNotFoundException("Artículo", "código de barras", codigoBarras));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<ArticuloResponse> getAll(Pageable pageable) {
         log.debug("Obteniendo todos los artículos con paginación");
-        return articuloRepository.findAll(pageable)
-                .map(articuloMapper::toResponse);
+        return toResponsePage(articuloRepository.findAll(pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ArticuloResponse> getAllByCursor(String cursor, int size) {
+        log.debug("Obteniendo artículos por cursor");
+        CursorUtil.Cursor posicion = CursorUtil.decode(cursor);
+
+        List<Articulo> filas = posicion == null
+                ? articuloRepository.findPrimerosPorDescripcion(CursorUtil.limite(size))
+                : articuloRepository.findSiguientesPorDescripcion(posicion.clave(), posicion.id(), CursorUtil.limite(size));
+
+        return CursorUtil.toPage(filas, size, Articulo::getDescripcion, Articulo::getIdArticulo, this::toResponses);
     }
 
     @Override
@@ -165,8 +267,23 @@ public class ArticuloServiceImpl implements ArticuloService {
     @Transactional(readOnly = true)
     public Page<ArticuloResponse> search(String searchTerm, Pageable pageable) {
         log.debug("Buscando artículos con término: {}", searchTerm);
-        return articuloRepository.search(searchTerm, pageable)
-                .map(articuloMapper::toResponse);
+
+        // Mientras el índice se construye se usa la consulta LIKE
+        if (!articuloSearchIndex.isCargado()) {
+            return toResponsePage(articuloRepository.search(searchTerm, pageable));
+        }
+
+        // El índice resuelve coincidencias, orden y paginación; solo se leen las filas de la página
+        Page<Integer> ids = articuloSearchIndex.buscar(searchTerm, pageable);
+        Map<Integer, Articulo> articulos = articuloRepository.findByIdArticuloIn(ids.getContent()).stream()
+                .collect(Collectors.toMap(Articulo::getIdArticulo, Function.identity()));
+
+        List<Articulo> contenido = ids.getContent().stream()
+                .map(articulos::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        return new PageImpl<>(toResponses(contenido), pageable, ids.getTotalElements());
     }
 
     @Override
@@ -178,8 +295,40 @@ public class ArticuloServiceImpl implements ArticuloService {
             throw new ResourceNotFoundException("Rubro", "id", idRubro);
         }
 
-        return articuloRepository.findByRubro_IdRubro(idRubro, pageable)
-                .map(articuloMapper::toResponse);
+        return toResponsePage(articuloRepository.findByRubro_IdRubro(idRubro, pageable));
+    }
+
+    /**
+     * Convierte una página de artículos cargando precios y proveedores en lote
+     */
+    private Page<ArticuloResponse> toResponsePage(Page<Articulo> page) {
+        return new PageImpl<>(toResponses(page.getContent()), page.getPageable(), page.getTotalElements());
+    }
+
+    /**
+     * Convierte artículos a respuesta con una consulta para precios y otra para proveedores,
+     * independientemente de la cantidad de artículos
+     */
+    private List<ArticuloResponse> toResponses(List<Articulo> articulos) {
+        if (articulos.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Integer> ids = articulos.stream()
+                .map(Articulo::getIdArticulo)
+                .collect(Collectors.toList());
+
+        Map<Integer, List<ArticuloPrecio>> precios = articuloPrecioRepository.findByArticuloIdsWithLista(ids).stream()
+                .collect(Collectors.groupingBy(ap -> ap.getArticulo().getIdArticulo()));
+        Map<Integer, List<ArticuloProveedor>> proveedores = articuloProveedorRepository
+                .findByArticuloIdsWithProveedor(ids).stream()
+                .collect(Collectors.groupingBy(ap -> ap.getArticulo().getIdArticulo()));
+
+        return articulos.stream()
+                .map(a -> articuloMapper.toResponse(a,
+                        precios.getOrDefault(a.getIdArticulo(), List.of()),
+                        proveedores.getOrDefault(a.getIdArticulo(), List.of())))
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -191,6 +340,11 @@ public class ArticuloServiceImpl implements ArticuloService {
 
         articulo.setActivo(true);
         articulo = articuloRepository.save(articulo);
+        stockTotalBuffer.marcar(id);
+        indexar(articulo);
+        articuloSearchIndex.actualizar(articulo);
+        vencimientoIndex.actualizar(articulo);
+        catalogoService.registrarCambio(List.of(articulo.getIdArticulo()));
 
         log.info("Artículo activado exitosamente: {}", id);
         return articuloMapper.toResponse(articulo);
@@ -205,6 +359,11 @@ public class ArticuloServiceImpl implements ArticuloService {
 
         articulo.setActivo(false);
         articulo = articuloRepository.save(articulo);
+        stockTotalBuffer.marcar(id);
+        indexar(articulo);
+        articuloSearchIndex.actualizar(articulo);
+        vencimientoIndex.actualizar(articulo);
+        catalogoService.registrarCambio(List.of(articulo.getIdArticulo()));
 
         log.info("Artículo desactivado exitosamente: {}", id);
         return articuloMapper.toResponse(articulo);
@@ -219,6 +378,11 @@ public class ArticuloServiceImpl implements ArticuloService {
 
         articulo.setActivo(false);
         articuloRepository.save(articulo);
+        stockTotalBuffer.marcar(id);
+        indexar(articulo);
+        articuloSearchIndex.actualizar(articulo);
+        vencimientoIndex.actualizar(articulo);
+        catalogoService.registrarCambio(List.of(articulo.getIdArticulo()));
 
         log.info("Artículo eliminado exitosamente (soft delete): {}", id);
     }
@@ -228,15 +392,32 @@ public class ArticuloServiceImpl implements ArticuloService {
     public void deletePermanently(Integer id) {
         log.warn("Eliminando artículo permanentemente: {}", id);
 
-        if (!articuloRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Artículo", "id", id);
+        Articulo articulo = articuloRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Artículo", "id", id));
+
+        // El kardex es de sólo inserción: un artículo con movimientos sólo puede desactivarse
+        if (movimientoStockRepository.existsByArticulo_IdArticulo(id)) {
+            throw new BusinessException("El artículo tiene movimientos de stock; debe desactivarse en lugar de eliminarse");
+        }
+        if (ventaDetalleRepository.existsByArticulo_IdArticulo(id)) {
+            throw new BusinessException("El artículo tiene ventas registradas; debe desactivarse en lugar de eliminarse");
         }
 
-        // Eliminar precios y proveedores asociados
+        // Eliminar precios, proveedores y stock asociados
         articuloPrecioRepository.deleteByArticulo_IdArticulo(id);
         articuloProveedorRepository.deleteByArticulo_IdArticulo(id);
+        stockSucursalRepository.deleteByArticulo_IdArticulo(id);
+        saldoStockRepository.deleteByArticulo_IdArticulo(id);
 
         articuloRepository.deleteById(id);
+        codigoBarrasIndex.eliminar(id);
+        articuloSearchIndex.eliminar(id);
+        vencimientoIndex.eliminar(id);
+        stockTotalBuffer.marcar(id);
+        conteoCache.invalidarRubros(articulo.getRubro() != null ? articulo.getRubro().getIdRubro() : null);
+        conteoCache.invalidarListas();
+        matrizPrecios.actualizarArticulo(id);
+        catalogoService.registrarBajaPermanente();
         log.info("Artículo eliminado permanentemente: {}", id);
     }
 
@@ -264,7 +445,13 @@ public class ArticuloServiceImpl implements ArticuloService {
         precio.setPrecioVenta(request.precioVenta());
         precio.setPorcentajeUtilidad(request.porcentajeUtilidad());
 
+        boolean nuevo = precio.getIdPrecio() == null;
         precio = articuloPrecioRepository.save(precio);
+        if (nuevo) {
+            conteoCache.invalidarLista(request.idLista());
+        }
+        indexar(articulo);
+        catalogoService.registrarCambio(List.of(articulo.getIdArticulo()));
 
         log.info("Precio agregado/actualizado exitosamente");
         return articuloMapper.toPrecioResponse(precio);
@@ -281,6 +468,13 @@ public class ArticuloServiceImpl implements ArticuloService {
                         "Precio no encontrado para artículo " + idArticulo + " en lista " + idLista));
 
         articuloPrecioRepository.delete(precio);
+        conteoCache.invalidarLista(idLista);
+
+        // La baja del precio llega en el delta del catálogo con el artículo
+        Articulo articulo = precio.getArticulo();
+        catalogoService.registrarCambio(List.of(articulo.getIdArticulo()));
+
+        indexar(articulo);
         log.info("Precio eliminado exitosamente");
     }
 
@@ -308,11 +502,14 @@ public class ArticuloServiceImpl implements ArticuloService {
 
         // Eliminar precios existentes
         articuloPrecioRepository.deleteByArticulo_IdArticulo(idArticulo);
+        conteoCache.invalidarListas();
 
         // Agregar nuevos precios
         for (PrecioRequest precioReq : precios) {
             agregarPrecio(articulo, precioReq);
         }
+        catalogoService.registrarCambio(List.of(articulo.getIdArticulo()));
+        indexar(articulo);
 
         return getPreciosByArticulo(idArticulo);
     }
@@ -333,6 +530,17 @@ public class ArticuloServiceImpl implements ArticuloService {
             articulo.setPrecios(new HashSet<>());
         }
         articulo.getPrecios().add(precio);
+        conteoCache.invalidarLista(request.idLista());
+    }
+
+    // Método auxiliar para actualizar el índice de códigos de barras
+    private void indexar(Articulo articulo) {
+        BigDecimal precioVenta = articuloPrecioRepository
+                .findPrecioPredeterminadoByArticulo(articulo.getIdArticulo())
+                .map(ArticuloPrecio::getPrecioVenta)
+                .orElse(null);
+        codigoBarrasIndex.actualizar(articulo, precioVenta);
+        matrizPrecios.actualizarArticulo(articulo.getIdArticulo());
     }
 
     // ========== Gestión de Proveedores ==========
@@ -452,6 +660,15 @@ public class ArticuloServiceImpl implements ArticuloService {
     public ArticuloResponse ajustarStock(Integer id, AjusteStockRequest request) {
         log.info("Ajustando stock del artículo: {} - Tipo: {}", id, request.tipoAjuste());
 
+        String tipoAjuste = request.tipoAjuste().toUpperCase();
+        if ("AJUSTE".equals(tipoAjuste)) {
+            if (request.cantidad().compareTo(BigDecimal.ZERO) < 0) {
+                throw new BusinessException("El stock no puede ser negativo");
+            }
+        } else if (request.cantidad().compareTo(BigDecimal.ZERO) <= 0) {
+            throw new BusinessException("La cantidad debe ser mayor a cero");
+        }
+
         Articulo articulo = articuloRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Artículo", "id", id));
 
@@ -459,37 +676,104 @@ public class ArticuloServiceImpl implements ArticuloService {
             throw new BusinessException("El artículo no tiene control de stock habilitado");
         }
 
-        BigDecimal stockActual = articulo.getStockActual();
-        BigDecimal nuevoStock;
+        // El movimiento impacta sólo en la fila de la sucursal del usuario
+        Integer idSucursal = sucursalActualService.getIdSucursal();
+
+        // El cálculo se hace en el UPDATE para no perder ajustes concurrentes.
+        // El kardex registra la variación: en un AJUSTE es la diferencia con el stock anterior
+        BigDecimal cantidad = request.cantidad();
+        int filas;
+        switch (tipoAjuste) {
+            case "INGRESO" -> filas = stockSucursalRepository.incrementarStock(id, idSucursal, cantidad);
+            case "EGRESO" -> filas = stockSucursalRepository.decrementarStock(id, idSucursal, cantidad);
+            case "AJUSTE" -> {
+                cantidad = fijarStock(id, idSucursal, cantidad);
+                filas = 1;
+            }
+            default -> throw new BusinessException("Tipo de ajuste inválido: " + request.tipoAjuste());
+        }
 
-        switch (request.tipoAjuste().toUpperCase()) {
-            case "INGRESO":
-                nuevoStock = stockActual.add(request.cantidad());
-                break;
-            case "EGRESO":
-                nuevoStock = stockActual.subtract(request.cantidad());
-                if (nuevoStock.compareTo(BigDecimal.ZERO) < 0) {
-                    throw new BusinessException("No hay suficiente stock disponible");
-                }
-                break;
-            case "AJUSTE":
-                nuevoStock = request.cantidad();
-                break;
-            default:
-                throw new BusinessException("Tipo de ajuste inválido: " + request.tipoAjuste());
+        if (filas == 0) {
+            throw new BusinessException("No hay suficiente stock disponible en la sucursal");
         }
 
-        articulo.setStockActual(nuevoStock);
-        articulo = articuloRepository.save(articulo);
+        BigDecimal saldo = stockSucursalRepository.findStock(id, idSucursal).orElse(BigDecimal.ZERO);
+        movimientoStockService.registrar(id, idSucursal, TipoMovimientoStock.valueOf(tipoAjuste),
+                cantidad, saldo, request.motivo());
+        stockTotalBuffer.marcar(id);
 
-        log.info("Stock ajustado exitosamente. Nuevo stock: {}", nuevoStock);
-        return articuloMapper.toResponse(articulo);
+        log.info("Stock ajustado exitosamente en sucursal {}. Nuevo stock: {}", idSucursal, saldo);
+        ArticuloResponse response = articuloMapper.toResponse(articulo);
+        response.setStockActual(stockTotal(id));
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StockSucursalResponse> getStockPorSucursal(Integer id) {
+        log.debug("Obteniendo stock por sucursal del artículo: {}", id);
+
+        if (!articuloRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Artículo", "id", id);
+        }
+
+        return stockSucursalRepository.findByArticulo_IdArticuloOrderBySucursal_IdSucursal(id).stream()
+                .map(stock -> StockSucursalResponse.builder()
+                        .idSucursal(stock.getSucursal().getIdSucursal())
+                        .sucursal(stock.getSucursal().getNombre())
+                        .stockActual(stock.getStockActual())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StockTotalResponse> getStockTotales(List<Integer> ids) {
+        log.debug("Obteniendo stock total de {} artículos", ids.size());
+
+        Map<Integer, BigDecimal> totales = new HashMap<>();
+        for (int i = 0; i < ids.size(); i += TAMANIO_LOTE) {
+            List<Integer> lote = ids.subList(i, Math.min(i + TAMANIO_LOTE, ids.size()));
+            stockSucursalRepository.sumarPorArticulo(lote)
+                    .forEach(view -> totales.put(view.getIdArticulo(), view.getStockTotal()));
+        }
+
+        return ids.stream()
+                .distinct()
+                .map(id -> StockTotalResponse.builder()
+                        .idArticulo(id)
+                        .stockTotal(totales.getOrDefault(id, BigDecimal.ZERO))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Fija el stock de la sucursal y devuelve la diferencia con el valor anterior.
+     * La fila queda bloqueada desde la lectura, por lo que ningún ajuste concurrente
+     * se pierde en la diferencia.
+     */
+    private BigDecimal fijarStock(Integer id, Integer idSucursal, BigDecimal cantidad) {
+        BigDecimal anterior = stockSucursalRepository.findParaActualizar(id, idSucursal)
+                .map(StockSucursal::getStockActual)
+                .orElse(BigDecimal.ZERO);
+        stockSucursalRepository.fijarStock(id, idSucursal, cantidad);
+        return cantidad.subtract(anterior);
+    }
+
+    private BigDecimal stockTotal(Integer id) {
+        return stockSucursalRepository.sumarPorArticulo(List.of(id)).stream()
+                .findFirst()
+                .map(StockTotalView::getStockTotal)
+                .orElse(BigDecimal.ZERO);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ArticuloStockBajoResponse> getArticulosConStockBajo() {
         log.debug("Obteniendo artículos con stock bajo");
+        if (stockBajoIndex.isCargado()) {
+            return stockBajoIndex.listar();
+        }
         return articuloRepository.findArticulosConStockBajo().stream()
                 .map(articuloMapper::toStockBajoResponse)
                 .collect(Collectors.toList());
@@ -530,11 +814,19 @@ public class ArticuloServiceImpl implements ArticuloService {
     public List<ArticuloVencimientoResponse> getArticulosProximosAVencer(Integer dias) {
         log.debug("Obteniendo artículos próximos a vencer en {} días", dias);
 
+        if (dias == null || dias < 0) {
+            throw new BusinessException("La cantidad de días debe ser mayor o igual a cero");
+        }
+
+        if (vencimientoIndex.isCargado()) {
+            return vencimientoIndex.proximos(dias);
+        }
+
         LocalDate hoy = LocalDate.now();
         LocalDate fechaLimite = hoy.plusDays(dias);
 
         return articuloRepository.findArticulosProximosAVencer(hoy, fechaLimite).stream()
-                .map(articuloMapper::toVencimientoResponse)
+                .map(a -> articuloMapper.toVencimientoResponse(a, hoy))
                 .collect(Collectors.toList());
     }
 
@@ -543,12 +835,14 @@ public class ArticuloServiceImpl implements ArticuloService {
     public List<ArticuloVencimientoResponse> getArticulosVencidos() {
         log.debug("Obteniendo artículos vencidos");
 
+        if (vencimientoIndex.isCargado()) {
+            return vencimientoIndex.vencidos();
+        }
+
         LocalDate hoy = LocalDate.now();
-        LocalDate fechaInicio = LocalDate.of(2000, 1, 1); // Fecha muy antigua
 
-        return articuloRepository.findArticulosProximosAVencer(fechaInicio, hoy).stream()
-                .filter(a -> a.getFechaVencimiento() != null && a.getFechaVencimiento().isBefore(hoy))
-                .map(articuloMapper::toVencimientoResponse)
+        return articuloRepository.findArticulosVencidos(hoy).stream()
+                .map(a -> articuloMapper.toVencimientoResponse(a, hoy))
                 .collect(Collectors.toList());
     }
 
@@ -587,6 +881,6 @@ public class ArticuloServiceImpl implements ArticuloService {
             throw new ResourceNotFoundException("Rubro", "id", idRubro);
         }
 
-        return articuloRepository.findByRubro_IdRubro(idRubro).size();
+        return conteoCache.articulosPorRubro(idRubro);
     }
 }
\ No newline at end of file
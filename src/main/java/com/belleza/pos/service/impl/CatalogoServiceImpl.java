@@ -0,0 +1,238 @@
+package com.belleza.pos.service.impl;
+
+import com.belleza.pos.dto.response.ArticuloCatalogoResponse;
+import com.belleza.pos.dto.response.CatalogoDeltaResponse;
+import com.belleza.pos.dto.response.CatalogoSnapshotResponse;
+import com.belleza.pos.exception.BusinessException;
+import com.belleza.pos.repository.ArticuloPrecioRepository;
+import com.belleza.pos.repository.ArticuloRepository;
+import com.belleza.pos.repository.projection.ArticuloCatalogoView;
+import com.belleza.pos.repository.projection.PrecioListaView;
+import com.belleza.pos.secuencia.GeneradorSecuencias;
+import com.belleza.pos.service.CatalogoService;
+import com.belleza.pos.util.TransactionUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Implementación del servicio de sincronización del catálogo.
+ *
+ * La versión del catálogo es el contador "catalogo" de la tabla secuencias.
+ * Luego del commit de cada cambio, una transacción propia y breve incrementa
+ * el contador y marca los artículos afectados con el nuevo valor en
+ * version_catalogo. La fila del contador sólo queda bloqueada durante esa
+ * transacción, no durante la escritura del cambio, y como el contador y las
+ * marcas se confirman juntos toda versión visible incluye los artículos
+ * marcados hasta ella. Si el proceso se detiene entre ambos commits, el cambio
+ * llega a los deltas con el próximo cambio del artículo; el snapshot siempre
+ * lo incluye. Los artículos inactivos se informan como bajas.
+ */
+@Slf4j
+@Service
+public class CatalogoServiceImpl implements CatalogoService {
+
+    private static final int TAMANIO_LOTE = 1_000;
+
+    private static final String UPDATE_VERSION = "UPDATE articulos SET version_catalogo = :version " +
+            "WHERE id_articulo IN (:ids)";
+
+    private final ArticuloRepository articuloRepository;
+    private final ArticuloPrecioRepository articuloPrecioRepository;
+    private final GeneradorSecuencias generadorSecuencias;
+    private final ObjectMapper objectMapper;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate lecturaTemplate;
+    private final TransactionTemplate versionTemplate;
+
+    private volatile SnapshotComprimido snapshot;
+    private volatile boolean snapshotVigente = false;
+
+    public CatalogoServiceImpl(ArticuloRepository articuloRepository,
+                               ArticuloPrecioRepository articuloPrecioRepository,
+                               GeneradorSecuencias generadorSecuencias,
+                               ObjectMapper objectMapper,
+                               NamedParameterJdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager) {
+        this.articuloRepository = articuloRepository;
+        this.articuloPrecioRepository = articuloPrecioRepository;
+        this.generadorSecuencias = generadorSecuencias;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.lecturaTemplate = new TransactionTemplate(transactionManager);
+        this.lecturaTemplate.setReadOnly(true);
+        // Se ejecuta luego del commit del cambio, por lo que necesita una transacción propia
+        this.versionTemplate = new TransactionTemplate(transactionManager);
+        this.versionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public SnapshotComprimido getSnapshot() {
+        SnapshotComprimido actual = snapshot;
+        if (snapshotVigente && actual != null) {
+            return actual;
+        }
+        return regenerarSnapshot();
+    }
+
+    private synchronized SnapshotComprimido regenerarSnapshot() {
+        if (snapshotVigente && snapshot != null) {
+            return snapshot;
+        }
+
+        // Se marca vigente antes de leer para que una invalidación concurrente no se pierda
+        snapshotVigente = true;
+
+        // La versión y el contenido se leen en la misma transacción para que sean consistentes
+        CatalogoSnapshotResponse response = lecturaTemplate.execute(status -> {
+            long version = generadorSecuencias.actual(GeneradorSecuencias.CATALOGO);
+            log.info("Generando snapshot del catálogo, versión {}", version);
+
+            Map<Integer, Map<Integer, BigDecimal>> precios = agruparPrecios(
+                    articuloPrecioRepository.findPreciosCatalogoActivo());
+
+            List<ArticuloCatalogoResponse> articulos = articuloRepository.findCatalogoActivo().stream()
+                    .map(view -> toCatalogoResponse(view, precios))
+                    .collect(Collectors.toList());
+
+            return CatalogoSnapshotResponse.builder()
+                    .version(version)
+                    .articulos(articulos)
+                    .build();
+        });
+
+        snapshot = new SnapshotComprimido(response.getVersion(), comprimir(response));
+        log.info("Snapshot del catálogo generado: {} artículos, {} bytes",
+                response.getArticulos().size(), snapshot.contenido().length);
+        return snapshot;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CatalogoDeltaResponse getDelta(long desde) {
+        long version = generadorSecuencias.actual(GeneradorSecuencias.CATALOGO);
+        long versionMinima = generadorSecuencias.actual(GeneradorSecuencias.CATALOGO_MINIMA);
+
+        // Una versión posterior a la actual no fue emitida por este servidor
+        if (desde < versionMinima || desde > version) {
+            return CatalogoDeltaResponse.builder()
+                    .version(version)
+                    .requiereSnapshotCompleto(true)
+                    .articulos(List.of())
+                    .bajas(List.of())
+                    .build();
+        }
+
+        List<ArticuloCatalogoView> modificados = articuloRepository.findCatalogoModificadoDesde(desde);
+
+        List<Integer> bajas = new ArrayList<>();
+        List<ArticuloCatalogoView> activos = new ArrayList<>();
+        for (ArticuloCatalogoView view : modificados) {
+            if (Boolean.TRUE.equals(view.getActivo())) {
+                activos.add(view);
+            } else {
+                bajas.add(view.getIdArticulo());
+            }
+        }
+
+        List<Integer> ids = activos.stream().map(ArticuloCatalogoView::getIdArticulo).collect(Collectors.toList());
+        List<PrecioListaView> preciosModificados = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += TAMANIO_LOTE) {
+            preciosModificados.addAll(articuloPrecioRepository.findPreciosByArticuloIds(
+                    ids.subList(i, Math.min(i + TAMANIO_LOTE, ids.size()))));
+        }
+        Map<Integer, Map<Integer, BigDecimal>> precios = agruparPrecios(preciosModificados);
+
+        log.debug("Delta de catálogo desde {}: {} modificados, {} bajas", desde, activos.size(), bajas.size());
+
+        return CatalogoDeltaResponse.builder()
+                .version(version)
+                .requiereSnapshotCompleto(false)
+                .articulos(activos.stream()
+                        .map(view -> toCatalogoResponse(view, precios))
+                        .collect(Collectors.toList()))
+                .bajas(bajas)
+                .build();
+    }
+
+    @Override
+    public void registrarCambio(Collection<Integer> idsArticulos) {
+        List<Integer> ids = List.copyOf(idsArticulos);
+        TransactionUtil.afterCommit(() -> publicarVersion(ids, false));
+    }
+
+    @Override
+    public void registrarBajaPermanente() {
+        // El artículo eliminado ya no puede informarse en un delta
+        TransactionUtil.afterCommit(() -> publicarVersion(List.of(), true));
+    }
+
+    /**
+     * Incrementa la versión y marca los artículos en una transacción breve.
+     * El cambio ya está confirmado, por lo que un error sólo se registra.
+     */
+    private void publicarVersion(List<Integer> ids, boolean bajaPermanente) {
+        try {
+            versionTemplate.executeWithoutResult(status -> {
+                long version = generadorSecuencias.incrementar(GeneradorSecuencias.CATALOGO);
+                for (int i = 0; i < ids.size(); i += TAMANIO_LOTE) {
+                    jdbcTemplate.update(UPDATE_VERSION, new MapSqlParameterSource()
+                            .addValue("version", version)
+                            .addValue("ids", ids.subList(i, Math.min(i + TAMANIO_LOTE, ids.size()))));
+                }
+                if (bajaPermanente) {
+                    generadorSecuencias.fijar(GeneradorSecuencias.CATALOGO_MINIMA, version);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("No se pudo registrar la versión del catálogo para {} artículos", ids.size(), e);
+        } finally {
+            snapshotVigente = false;
+        }
+    }
+
+    private Map<Integer, Map<Integer, BigDecimal>> agruparPrecios(List<PrecioListaView> precios) {
+        Map<Integer, Map<Integer, BigDecimal>> resultado = new HashMap<>();
+        for (PrecioListaView precio : precios) {
+            resultado.computeIfAbsent(precio.getIdArticulo(), k -> new HashMap<>())
+                    .put(precio.getIdLista(), precio.getPrecioVenta());
+        }
+        return resultado;
+    }
+
+    private ArticuloCatalogoResponse toCatalogoResponse(ArticuloCatalogoView view,
+                                                        Map<Integer, Map<Integer, BigDecimal>> precios) {
+        return ArticuloCatalogoResponse.builder()
+                .idArticulo(view.getIdArticulo())
+                .codigoBarras(view.getCodigoBarras())
+                .descripcion(view.getDescripcion())
+                .idRubro(view.getIdRubro())
+                .unidadVenta(view.getUnidadVenta().name())
+                .enOferta(view.getEnOferta())
+                .precios(precios.getOrDefault(view.getIdArticulo(), Map.of()))
+                .build();
+    }
+
+    private byte[] comprimir(Object contenido) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gzip, contenido);
+        } catch (IOException e) {
+            throw new BusinessException("No se pudo generar el snapshot del catálogo", e);
+        }
+        return bytes.toByteArray();
+    }
+}
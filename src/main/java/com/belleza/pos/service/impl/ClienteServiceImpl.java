@@ -4,12 +4,19 @@ import com.belleza.pos.dto.request.CreateClienteRequest;
 import com.belleza.pos.dto.request.UpdateClienteRequest;
 import com.belleza.pos.dto.response.ClienteResponse;
 import com.belleza.pos.dto.response.ClienteSimpleResponse;
+import com.belleza.pos.dto.response.CursorPageResponse;
 import com.belleza.pos.entity.Cliente;
 import com.belleza.pos.exception.BusinessException;
 import com.belleza.pos.exception.ResourceNotFoundException;
 import com.belleza.pos.mapper.ClienteMapper;
 import com.belleza.pos.repository.ClienteRepository;
+import com.belleza.pos.repository.MovimientoCuentaCorrienteRepository;
+import com.belleza.pos.repository.SaldoCuentaCorrienteRepository;
+import com.belleza.pos.repository.VentaRepository;
+import com.belleza.pos.secuencia.GeneradorSecuencias;
 import com.belleza.pos.service.ClienteService;
+import com.belleza.pos.service.CuentaCorrienteService;
+import com.belleza.pos.util.CursorUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -19,6 +26,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -26,14 +34,27 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ClienteServiceImpl implements ClienteService {
 
+    private static final Pattern NUMERO_AUTOMATICO = Pattern.compile("CLI\\d+", Pattern.CASE_INSENSITIVE);
+
     private final ClienteRepository clienteRepository;
     private final ClienteMapper clienteMapper;
+    private final VentaRepository ventaRepository;
+    private final MovimientoCuentaCorrienteRepository movimientoCuentaCorrienteRepository;
+    private final SaldoCuentaCorrienteRepository saldoCuentaCorrienteRepository;
+    private final CuentaCorrienteService cuentaCorrienteService;
+    private final GeneradorSecuencias generadorSecuencias;
 
     @Override
     @Transactional
     public ClienteResponse create(CreateClienteRequest request) {
         log.info("Creando cliente: {}", request.nombre());
 
+        // Los números automáticos se reservan por bloques: uno manual con ese formato chocaría más adelante
+        if (request.nroCliente() != null && NUMERO_AUTOMATICO.matcher(request.nroCliente().trim()).matches()) {
+            throw new BusinessException("Los números de cliente con formato CLI seguido de dígitos " +
+                    "se reservan para la numeración automática: " + request.nroCliente());
+        }
+
         if (request.nroCliente() != null && clienteRepository.existsByNroCliente(request.nroCliente())) {
             throw new BusinessException("Ya existe un cliente con el número: " + request.nroCliente());
         }
@@ -132,6 +153,39 @@ public class ClienteServiceImpl implements ClienteService {
                 .map(clienteMapper::toResponse);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ClienteResponse> getAllByCursor(String cursor, int size) {
+        log.debug("Obteniendo clientes por cursor");
+        CursorUtil.Cursor posicion = CursorUtil.decode(cursor);
+
+        List<Cliente> filas = posicion == null
+                ? clienteRepository.findPrimerosPorNombre(CursorUtil.limite(size))
+                : clienteRepository.findSiguientesPorNombre(posicion.clave(), posicion.id(), CursorUtil.limite(size));
+
+        return CursorUtil.toPage(filas, size, Cliente::getNombre, Cliente::getIdCliente, this::toResponses);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ClienteResponse> searchByCursor(String searchTerm, String cursor, int size) {
+        log.debug("Buscando clientes por cursor con término: {}", searchTerm);
+        CursorUtil.Cursor posicion = CursorUtil.decode(cursor);
+
+        List<Cliente> filas = posicion == null
+                ? clienteRepository.searchPrimerosPorNombre(searchTerm, CursorUtil.limite(size))
+                : clienteRepository.searchSiguientesPorNombre(
+                        searchTerm, posicion.clave(), posicion.id(), CursorUtil.limite(size));
+
+        return CursorUtil.toPage(filas, size, Cliente::getNombre, Cliente::getIdCliente, this::toResponses);
+    }
+
+    private List<ClienteResponse> toResponses(List<Cliente> clientes) {
+        return clientes.stream()
+                .map(clienteMapper::toResponse)
+                .collect(Collectors.toList());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<ClienteResponse> getConCuentaCorriente() {
@@ -209,6 +263,15 @@ public class ClienteServiceImpl implements ClienteService {
             throw new ResourceNotFoundException("Cliente", "id", id);
         }
 
+        if (ventaRepository.existsByCliente_IdCliente(id)) {
+            throw new BusinessException("El cliente tiene ventas registradas; debe desactivarse en lugar de eliminarse");
+        }
+
+        if (movimientoCuentaCorrienteRepository.existsByCliente_IdCliente(id)) {
+            throw new BusinessException("El cliente tiene movimientos de cuenta corriente; debe desactivarse en lugar de eliminarse");
+        }
+
+        saldoCuentaCorrienteRepository.deleteByCliente_IdCliente(id);
         clienteRepository.deleteById(id);
         log.info("Cliente eliminado permanentemente: {}", id);
     }
@@ -218,25 +281,10 @@ public class ClienteServiceImpl implements ClienteService {
     public ClienteResponse registrarPago(Integer id, BigDecimal monto) {
         log.info("Registrando pago de cliente {}: {}", id, monto);
 
+        BigDecimal nuevoSaldo = cuentaCorrienteService.pagar(id, monto, "Pago de cuenta corriente");
         Cliente cliente = clienteRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Cliente", "id", id));
 
-        if (!cliente.getCuentaCorrienteHabilitada()) {
-            throw new BusinessException("El cliente no tiene cuenta corriente habilitada");
-        }
-
-        if (monto.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new BusinessException("El monto del pago debe ser mayor a cero");
-        }
-
-        BigDecimal nuevoSaldo = cliente.getSaldoActual().subtract(monto);
-        if (nuevoSaldo.compareTo(BigDecimal.ZERO) < 0) {
-            nuevoSaldo = BigDecimal.ZERO;
-        }
-
-        cliente.setSaldoActual(nuevoSaldo);
-        cliente = clienteRepository.save(cliente);
-
         log.info("Pago registrado exitosamente. Nuevo saldo: {}", nuevoSaldo);
         return clienteMapper.toResponse(cliente);
     }
@@ -246,29 +294,10 @@ public class ClienteServiceImpl implements ClienteService {
     public ClienteResponse registrarVenta(Integer id, BigDecimal monto) {
         log.info("Registrando venta para cliente {}: {}", id, monto);
 
+        BigDecimal nuevoSaldo = cuentaCorrienteService.cargar(id, monto, null, "Venta en cuenta corriente");
         Cliente cliente = clienteRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Cliente", "id", id));
 
-        if (!cliente.getCuentaCorrienteHabilitada()) {
-            throw new BusinessException("El cliente no tiene cuenta corriente habilitada");
-        }
-
-        if (monto.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new BusinessException("El monto de la venta debe ser mayor a cero");
-        }
-
-        BigDecimal nuevoSaldo = cliente.getSaldoActual().add(monto);
-
-        // Validar límite de crédito si no es ilimitado
-        if (!"ILIMITADA".equals(cliente.getTipoLimite())) {
-            if (nuevoSaldo.compareTo(cliente.getLimiteCredito()) > 0) {
-                throw new BusinessException("La venta excede el límite de crédito del cliente");
-            }
-        }
-
-        cliente.setSaldoActual(nuevoSaldo);
-        cliente = clienteRepository.save(cliente);
-
         log.info("Venta registrada exitosamente. Nuevo saldo: {}", nuevoSaldo);
         return clienteMapper.toResponse(cliente);
     }
@@ -292,7 +321,7 @@ public class ClienteServiceImpl implements ClienteService {
     }
 
     private String generarNroCliente() {
-        long count = clienteRepository.count() + 1;
-        return String.format("CLI%06d", count);
+        long numero = generadorSecuencias.siguiente(GeneradorSecuencias.CLIENTES, clienteRepository::findUltimoNumeroGenerado);
+        return String.format("CLI%06d", numero);
     }
 }
\ No newline at end of file
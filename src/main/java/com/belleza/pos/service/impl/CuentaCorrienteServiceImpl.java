@@ -0,0 +1,224 @@
+package com.belleza.pos.service.impl;
+
+import com.belleza.pos.dto.response.AntiguedadSaldoResponse;
+import com.belleza.pos.dto.response.EstadoCuentaResponse;
+import com.belleza.pos.dto.response.MovimientoCuentaResponse;
+import com.belleza.pos.entity.Cliente;
+import com.belleza.pos.entity.MovimientoCuentaCorriente;
+import com.belleza.pos.entity.SaldoCuentaCorriente;
+import com.belleza.pos.entity.enums.TipoMovimientoCuenta;
+import com.belleza.pos.exception.BusinessException;
+import com.belleza.pos.exception.ResourceNotFoundException;
+import com.belleza.pos.repository.ClienteRepository;
+import com.belleza.pos.repository.MovimientoCuentaCorrienteRepository;
+import com.belleza.pos.repository.SaldoCuentaCorrienteRepository;
+import com.belleza.pos.repository.VentaRepository;
+import com.belleza.pos.service.CuentaCorrienteService;
+import com.belleza.pos.util.SecurityUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Implementación del servicio de cuentas corrientes.
+ *
+ * El saldo del cliente se modifica con un único UPDATE condicional que valida
+ * habilitación y límite de crédito, por lo que dos cajas que cargan al mismo
+ * cliente no pierden actualizaciones. Cada movimiento guarda el saldo
+ * resultante, leído con la fila todavía bloqueada; el saldo a una fecha se
+ * obtiene con una búsqueda por índice y las fotos periódicas cubren los
+ * clientes sin movimientos previos.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CuentaCorrienteServiceImpl implements CuentaCorrienteService {
+
+    private static final String INSERT_SALDOS_INICIALES = "INSERT INTO saldos_cuenta_corriente (id_cliente, saldo, fecha) " +
+            "SELECT id_cliente, saldo_actual, ? FROM clientes WHERE cuenta_corriente_habilitada = true";
+
+    private static final String INSERT_SALDOS = "INSERT INTO saldos_cuenta_corriente (id_cliente, saldo, fecha) " +
+            "SELECT m.id_cliente, m.saldo, ? FROM movimientos_cuenta_corriente m JOIN (" +
+            "SELECT MAX(id_movimiento) AS id_movimiento FROM movimientos_cuenta_corriente " +
+            "WHERE fecha >= ? AND fecha < ? GROUP BY id_cliente) u ON u.id_movimiento = m.id_movimiento";
+
+    private final ClienteRepository clienteRepository;
+    private final VentaRepository ventaRepository;
+    private final MovimientoCuentaCorrienteRepository movimientoRepository;
+    private final SaldoCuentaCorrienteRepository saldoRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public BigDecimal cargar(Integer idCliente, BigDecimal monto, Long idVenta, String descripcion) {
+        if (monto.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new BusinessException("El monto de la venta debe ser mayor a cero");
+        }
+
+        if (clienteRepository.cargarCuentaCorriente(idCliente, monto) == 0) {
+            Cliente cliente = clienteRepository.findById(idCliente)
+                    .orElseThrow(() -> new ResourceNotFoundException("Cliente", "id", idCliente));
+            if (!cliente.getActivo()) {
+                throw new BusinessException("El cliente no está activo");
+            }
+            if (!cliente.getCuentaCorrienteHabilitada()) {
+                throw new BusinessException("El cliente no tiene cuenta corriente habilitada");
+            }
+            throw new BusinessException("La venta excede el límite de crédito del cliente");
+        }
+
+        return registrarMovimiento(idCliente, TipoMovimientoCuenta.CARGO, monto, idVenta, descripcion);
+    }
+
+    @Override
+    @Transactional
+    public BigDecimal pagar(Integer idCliente, BigDecimal monto, String descripcion) {
+        if (monto.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new BusinessException("El monto del pago debe ser mayor a cero");
+        }
+
+        // El movimiento registra el monto completo, por lo que un pago mayor al saldo se rechaza
+        if (clienteRepository.pagarCuentaCorriente(idCliente, monto) == 0) {
+            Cliente cliente = clienteRepository.findById(idCliente)
+                    .orElseThrow(() -> new ResourceNotFoundException("Cliente", "id", idCliente));
+            if (!cliente.getCuentaCorrienteHabilitada()) {
+                throw new BusinessException("El cliente no tiene cuenta corriente habilitada");
+            }
+            throw new BusinessException("El pago supera el saldo de la cuenta corriente: " + cliente.getSaldoActual());
+        }
+
+        return registrarMovimiento(idCliente, TipoMovimientoCuenta.PAGO, monto, null, descripcion);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EstadoCuentaResponse getEstadoCuenta(Integer idCliente, LocalDateTime desde, LocalDateTime hasta,
+                                                Pageable pageable) {
+        log.debug("Obteniendo estado de cuenta del cliente {} entre {} y {}", idCliente, desde, hasta);
+
+        if (!desde.isBefore(hasta)) {
+            throw new BusinessException("La fecha desde debe ser anterior a la fecha hasta");
+        }
+        if (!clienteRepository.existsById(idCliente)) {
+            throw new ResourceNotFoundException("Cliente", "id", idCliente);
+        }
+
+        Pageable orden = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                Sort.by("fecha", "idMovimiento"));
+        Page<MovimientoCuentaResponse> movimientos = movimientoRepository
+                .findByCliente_IdClienteAndFechaGreaterThanEqualAndFechaLessThan(idCliente, desde, hasta, orden)
+                .map(this::toResponse);
+
+        return EstadoCuentaResponse.builder()
+                .idCliente(idCliente)
+                .desde(desde)
+                .hasta(hasta)
+                .saldoInicial(saldoAl(idCliente, desde))
+                .saldoFinal(saldoAl(idCliente, hasta))
+                .movimientos(movimientos)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AntiguedadSaldoResponse getAntiguedad(Integer idCliente) {
+        log.debug("Obteniendo antigüedad de saldo del cliente {}", idCliente);
+
+        BigDecimal saldo = Optional.ofNullable(clienteRepository.findSaldoActual(idCliente))
+                .orElseThrow(() -> new ResourceNotFoundException("Cliente", "id", idCliente));
+        LocalDateTime ahora = LocalDateTime.now();
+
+        BigDecimal mas30 = pendienteAnteriorA(idCliente, ahora.minusDays(30), saldo);
+        BigDecimal mas60 = pendienteAnteriorA(idCliente, ahora.minusDays(60), mas30);
+        BigDecimal mas90 = pendienteAnteriorA(idCliente, ahora.minusDays(90), mas60);
+
+        return AntiguedadSaldoResponse.builder()
+                .idCliente(idCliente)
+                .fecha(ahora)
+                .saldoActual(saldo)
+                .hasta30Dias(saldo.subtract(mas30))
+                .de31a60Dias(mas30.subtract(mas60))
+                .de61a90Dias(mas60.subtract(mas90))
+                .masDe90Dias(mas90)
+                .build();
+    }
+
+    @Override
+    @Scheduled(cron = "${app.cuenta-corriente.saldos.cron:0 15 3 * * *}")
+    public void registrarSaldos() {
+        LocalDateTime ahora = LocalDateTime.now();
+        Optional<LocalDateTime> ultima = saldoRepository.findUltimaFecha();
+
+        int filas = ultima.isPresent()
+                ? jdbcTemplate.update(INSERT_SALDOS, ahora, ultima.get(), ahora)
+                : jdbcTemplate.update(INSERT_SALDOS_INICIALES, ahora);
+
+        log.info("Registrados {} saldos de cuenta corriente", filas);
+    }
+
+    // Debe invocarse luego del UPDATE del saldo, con la fila del cliente bloqueada
+    private BigDecimal registrarMovimiento(Integer idCliente, TipoMovimientoCuenta tipo, BigDecimal monto,
+                                           Long idVenta, String descripcion) {
+        BigDecimal saldo = clienteRepository.findSaldoActual(idCliente);
+
+        MovimientoCuentaCorriente movimiento = new MovimientoCuentaCorriente();
+        movimiento.setCliente(clienteRepository.getReferenceById(idCliente));
+        movimiento.setVenta(idVenta != null ? ventaRepository.getReferenceById(idVenta) : null);
+        movimiento.setTipo(tipo);
+        movimiento.setMonto(monto);
+        movimiento.setSaldo(saldo);
+        movimiento.setUsername(SecurityUtil.getUsernameActual());
+        movimiento.setDescripcion(descripcion);
+        movimiento.setFecha(LocalDateTime.now());
+        movimientoRepository.save(movimiento);
+
+        log.info("{} de {} en cuenta corriente del cliente {}. Nuevo saldo: {}", tipo.getDescripcion(), monto, idCliente, saldo);
+        return saldo;
+    }
+
+    /**
+     * Saldo de la cuenta antes de la fecha indicada
+     */
+    private BigDecimal saldoAl(Integer idCliente, LocalDateTime fecha) {
+        return movimientoRepository
+                .findFirstByCliente_IdClienteAndFechaLessThanOrderByFechaDescIdMovimientoDesc(idCliente, fecha)
+                .map(MovimientoCuentaCorriente::getSaldo)
+                .or(() -> saldoRepository.findFirstByCliente_IdClienteAndFechaLessThanOrderByFechaDesc(idCliente, fecha)
+                        .map(SaldoCuentaCorriente::getSaldo))
+                .orElse(BigDecimal.ZERO);
+    }
+
+    /**
+     * Parte del saldo que proviene de cargos anteriores a la fecha: los pagos posteriores
+     * se imputan primero a los cargos más antiguos
+     */
+    private BigDecimal pendienteAnteriorA(Integer idCliente, LocalDateTime fecha, BigDecimal tope) {
+        BigDecimal pendiente = saldoAl(idCliente, fecha)
+                .subtract(movimientoRepository.sumMontoDesde(idCliente, TipoMovimientoCuenta.PAGO, fecha));
+        return pendiente.max(BigDecimal.ZERO).min(tope);
+    }
+
+    private MovimientoCuentaResponse toResponse(MovimientoCuentaCorriente movimiento) {
+        return MovimientoCuentaResponse.builder()
+                .idMovimiento(movimiento.getIdMovimiento())
+                .tipo(movimiento.getTipo().name())
+                .monto(movimiento.getMonto())
+                .saldo(movimiento.getSaldo())
+                .idVenta(movimiento.getVenta() != null ? movimiento.getVenta().getIdVenta() : null)
+                .usuario(movimiento.getUsername())
+                .descripcion(movimiento.getDescripcion())
+                .fecha(movimiento.getFecha())
+                .build();
+    }
+}
@@ -0,0 +1,157 @@
+package com.belleza.pos.service.impl;
+
+import com.belleza.pos.dto.response.ArticuloExportResponse;
+import com.belleza.pos.entity.ListaPrecio;
+import com.belleza.pos.repository.ArticuloRepository;
+import com.belleza.pos.repository.ListaPrecioRepository;
+import com.belleza.pos.repository.projection.ArticuloExportView;
+import com.belleza.pos.service.ExportacionService;
+import com.belleza.pos.util.CsvUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Implementación del servicio de exportación.
+ *
+ * Los artículos se leen con un cursor de sólo avance y cada uno se escribe en
+ * la salida apenas se completan sus filas de precios, por lo que la memoria
+ * usada no depende del tamaño del catálogo.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportacionServiceImpl implements ExportacionService {
+
+    private final ArticuloRepository articuloRepository;
+    private final ListaPrecioRepository listaPrecioRepository;
+    private final ObjectMapper objectMapper;
+
+    @FunctionalInterface
+    private interface EscritorArticulo {
+        void escribir(ArticuloExportResponse articulo) throws IOException;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportarArticulosNdjson(OutputStream out) throws IOException {
+        log.info("Exportando catálogo de artículos en NDJSON");
+        OutputStream salida = new BufferedOutputStream(out);
+
+        long total;
+        try (Stream<ArticuloExportView> filas = articuloRepository.streamExportacion()) {
+            total = recorrer(filas, articulo -> {
+                salida.write(objectMapper.writeValueAsBytes(articulo));
+                salida.write('\n');
+            });
+        }
+
+        salida.flush();
+        log.info("Exportación NDJSON finalizada: {} artículos", total);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportarArticulosCsv(OutputStream out) throws IOException {
+        log.info("Exportando catálogo de artículos en CSV");
+
+        // Las listas se leen antes de abrir el cursor: MySQL no admite otra consulta mientras se recorre
+        List<ListaPrecio> listas = listaPrecioRepository.findAll(Sort.by("idLista"));
+        Writer salida = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+
+        StringBuilder encabezado = new StringBuilder(
+                "id_articulo,codigo_barras,descripcion,rubro,unidad_venta,stock_actual,activo,proveedor,costo_proveedor");
+        for (ListaPrecio lista : listas) {
+            encabezado.append(CsvUtil.SEPARADOR).append(CsvUtil.columnaPrecio(lista.getIdLista()));
+        }
+        salida.write(encabezado.append('\n').toString());
+
+        long total;
+        try (Stream<ArticuloExportView> filas = articuloRepository.streamExportacion()) {
+            total = recorrer(filas, articulo -> salida.write(toCsv(articulo, listas)));
+        }
+
+        salida.flush();
+        log.info("Exportación CSV finalizada: {} artículos", total);
+    }
+
+    /**
+     * Agrupa las filas consecutivas de un mismo artículo y entrega cada artículo completo al escritor.
+     * Devuelve la cantidad de artículos escritos.
+     */
+    private long recorrer(Stream<ArticuloExportView> filas, EscritorArticulo escritor) throws IOException {
+        long total = 0;
+        ArticuloExportResponse actual = null;
+
+        Iterator<ArticuloExportView> iterador = filas.iterator();
+        while (iterador.hasNext()) {
+            ArticuloExportView fila = iterador.next();
+
+            if (actual == null || !actual.getIdArticulo().equals(fila.getIdArticulo())) {
+                if (actual != null) {
+                    escritor.escribir(actual);
+                    total++;
+                }
+                actual = toExportResponse(fila);
+            }
+
+            if (fila.getIdLista() != null) {
+                actual.getPrecios().put(fila.getIdLista(), fila.getPrecioVenta());
+            }
+        }
+
+        if (actual != null) {
+            escritor.escribir(actual);
+            total++;
+        }
+        return total;
+    }
+
+    private ArticuloExportResponse toExportResponse(ArticuloExportView fila) {
+        return ArticuloExportResponse.builder()
+                .idArticulo(fila.getIdArticulo())
+                .codigoBarras(fila.getCodigoBarras())
+                .descripcion(fila.getDescripcion())
+                .rubro(fila.getRubro())
+                .unidadVenta(fila.getUnidadVenta() != null ? fila.getUnidadVenta().name() : null)
+                .stockActual(fila.getStockActual())
+                .activo(fila.getActivo())
+                .proveedor(fila.getProveedor())
+                .costoProveedor(fila.getCostoProveedor())
+                .precios(new LinkedHashMap<>())
+                .build();
+    }
+
+    private String toCsv(ArticuloExportResponse articulo, List<ListaPrecio> listas) {
+        StringBuilder linea = new StringBuilder(128)
+                .append(articulo.getIdArticulo()).append(CsvUtil.SEPARADOR)
+                .append(CsvUtil.escapar(articulo.getCodigoBarras())).append(CsvUtil.SEPARADOR)
+                .append(CsvUtil.escapar(articulo.getDescripcion())).append(CsvUtil.SEPARADOR)
+                .append(CsvUtil.escapar(articulo.getRubro())).append(CsvUtil.SEPARADOR)
+                .append(CsvUtil.escapar(articulo.getUnidadVenta())).append(CsvUtil.SEPARADOR)
+                .append(numero(articulo.getStockActual())).append(CsvUtil.SEPARADOR)
+                .append(Boolean.TRUE.equals(articulo.getActivo())).append(CsvUtil.SEPARADOR)
+                .append(CsvUtil.escapar(articulo.getProveedor())).append(CsvUtil.SEPARADOR)
+                .append(numero(articulo.getCostoProveedor()));
+
+        for (ListaPrecio lista : listas) {
+            linea.append(CsvUtil.SEPARADOR).append(numero(articulo.getPrecios().get(lista.getIdLista())));
+        }
+        return linea.append('\n').toString();
+    }
+
+    private static String numero(BigDecimal valor) {
+        return valor != null ? valor.toPlainString() : "";
+    }
+}
@@ -0,0 +1,164 @@
+package com.belleza.pos.service.impl;
+
+import com.belleza.pos.cache.IdempotenciaCache;
+import com.belleza.pos.exception.BusinessException;
+import com.belleza.pos.service.IdempotenciaService;
+import com.belleza.pos.util.SecurityUtil;
+import com.belleza.pos.util.TransactionUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Implementación del servicio de idempotencia.
+ *
+ * La clave se reserva con un INSERT IGNORE dentro de la misma transacción que
+ * la operación: si la operación falla, la reserva se revierte y el reintento
+ * vuelve a ejecutarla; un reintento concurrente espera el bloqueo de la fila y
+ * luego encuentra la respuesta ya registrada. Las respuestas recientes se
+ * sirven desde un LRU en memoria sin consultar la base de datos.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IdempotenciaServiceImpl implements IdempotenciaService {
+
+    private static final int LARGO_MAXIMO_CLAVE = 100;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    });
+
+    private static final String DELETE_VENCIDA = "DELETE FROM claves_idempotencia WHERE clave = ? AND fecha_expiracion < ?";
+
+    private static final String INSERT = "INSERT IGNORE INTO claves_idempotencia " +
+            "(clave, username, operacion, fecha_creacion, fecha_expiracion) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_RESPUESTA = "UPDATE claves_idempotencia SET respuesta = ? WHERE clave = ?";
+
+    private static final String SELECT = "SELECT username, operacion, respuesta, fecha_expiracion " +
+            "FROM claves_idempotencia WHERE clave = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final IdempotenciaCache idempotenciaCache;
+
+    @Value("${app.idempotencia.ttl-horas:24}")
+    private Long ttlHoras;
+
+    @Override
+    @Transactional
+    public <T> T ejecutar(String clave, String operacion, Class<T> tipo, Supplier<T> accion) {
+        if (clave == null || clave.isBlank()) {
+            return accion.get();
+        }
+        if (clave.length() > LARGO_MAXIMO_CLAVE) {
+            throw new BusinessException("La clave de idempotencia no puede superar los " + LARGO_MAXIMO_CLAVE + " caracteres");
+        }
+
+        String username = SecurityUtil.getUsernameActual();
+
+        IdempotenciaCache.Registro enCache = idempotenciaCache.obtener(clave).orElse(null);
+        if (enCache != null) {
+            log.debug("Respuesta idempotente desde caché para la clave {}", clave);
+            return repetir(clave, enCache, username, operacion, tipo);
+        }
+
+        LocalDateTime expiracion = LocalDateTime.now().plusHours(ttlHoras);
+        if (!insertar(clave, username, operacion, expiracion)) {
+            IdempotenciaCache.Registro registrado = buscar(clave);
+            idempotenciaCache.guardar(clave, registrado);
+            log.debug("Respuesta idempotente desde la base de datos para la clave {}", clave);
+            return repetir(clave, registrado, username, operacion, tipo);
+        }
+
+        T respuesta = accion.get();
+
+        String json = serializar(respuesta);
+        jdbcTemplate.update(UPDATE_RESPUESTA, json, clave);
+        IdempotenciaCache.Registro registro = new IdempotenciaCache.Registro(username, operacion, json, expiracion);
+        TransactionUtil.afterCommit(() -> idempotenciaCache.guardar(clave, registro));
+
+        return respuesta;
+    }
+
+    /**
+     * Elimina las claves vencidas de la base de datos y de la caché
+     */
+    @Scheduled(cron = "${app.idempotencia.purga-cron:0 30 3 * * *}")
+    public void purgar() {
+        int eliminadas = jdbcTemplate.update("DELETE FROM claves_idempotencia WHERE fecha_expiracion < ?", LocalDateTime.now());
+        idempotenciaCache.purgar();
+        log.info("Claves de idempotencia vencidas eliminadas: {}", eliminadas);
+    }
+
+    // Libera la clave si venció y la vuelve a tomar; false si otra operación vigente ya la registró
+    private boolean insertar(String clave, String username, String operacion, LocalDateTime expiracion) {
+        LocalDateTime ahora = LocalDateTime.now();
+        jdbcTemplate.update(DELETE_VENCIDA, clave, ahora);
+        return jdbcTemplate.update(INSERT, clave, username, operacion, ahora, expiracion) > 0;
+    }
+
+    private IdempotenciaCache.Registro buscar(String clave) {
+        List<IdempotenciaCache.Registro> registros = jdbcTemplate.query(SELECT, (rs, i) -> new IdempotenciaCache.Registro(
+                rs.getString("username"),
+                rs.getString("operacion"),
+                rs.getString("respuesta"),
+                rs.getObject("fecha_expiracion", LocalDateTime.class)), clave);
+        if (registros.isEmpty()) {
+            throw new BusinessException("La operación con esta clave de idempotencia sigue en curso, reintente en unos segundos");
+        }
+        return registros.get(0);
+    }
+
+    @Override
+    public String operacion(String metodoYRuta, Object cuerpo) {
+        byte[] json;
+        try {
+            // Las propiedades se escriben en orden de declaración y los mapas ordenados por clave
+            json = objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS).writeValueAsBytes(cuerpo);
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("No se pudo registrar la operación", e);
+        }
+        return metodoYRuta + "#" + Base64.getEncoder().encodeToString(SHA_256.get().digest(json));
+    }
+
+    private <T> T repetir(String clave, IdempotenciaCache.Registro registro, String username, String operacion, Class<T> tipo) {
+        if (!Objects.equals(registro.username(), username) || !registro.operacion().equals(operacion)
+                || registro.respuesta() == null) {
+            throw new BusinessException("La clave de idempotencia ya fue usada para otra operación: " + clave);
+        }
+        try {
+            return objectMapper.readValue(registro.respuesta(), tipo);
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("No se pudo recuperar la respuesta original de la operación", e);
+        }
+    }
+
+    private String serializar(Object respuesta) {
+        try {
+            return objectMapper.writeValueAsString(respuesta);
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("No se pudo registrar la respuesta de la operación", e);
+        }
+    }
+}
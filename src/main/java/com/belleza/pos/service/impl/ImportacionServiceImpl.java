@@ -0,0 +1,571 @@
+package com.belleza.pos.service.impl;
+
+import com.belleza.pos.buffer.StockTotalBuffer;
+import com.belleza.pos.cache.ArticuloSearchIndex;
+import com.belleza.pos.cache.CodigoBarrasIndex;
+import com.belleza.pos.cache.ConteoCache;
+import com.belleza.pos.cache.MatrizPrecios;
+import com.belleza.pos.cache.VencimientoIndex;
+import com.belleza.pos.dto.response.ArticuloScanResponse;
+import com.belleza.pos.dto.response.ErrorImportacionResponse;
+import com.belleza.pos.dto.response.ImportacionResponse;
+import com.belleza.pos.entity.ListaPrecio;
+import com.belleza.pos.entity.Proveedor;
+import com.belleza.pos.entity.Rubro;
+import com.belleza.pos.entity.enums.TipoMovimientoStock;
+import com.belleza.pos.entity.enums.UnidadVenta;
+import com.belleza.pos.exception.BusinessException;
+import com.belleza.pos.repository.ArticuloRepository;
+import com.belleza.pos.repository.ListaPrecioRepository;
+import com.belleza.pos.repository.ProveedorRepository;
+import com.belleza.pos.repository.RubroRepository;
+import com.belleza.pos.repository.projection.ArticuloScanView;
+import com.belleza.pos.security.service.SucursalActualService;
+import com.belleza.pos.service.CatalogoService;
+import com.belleza.pos.service.ImportacionService;
+import com.belleza.pos.service.MovimientoStockService;
+import com.belleza.pos.util.CsvUtil;
+import com.belleza.pos.util.SecurityUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Implementación del servicio de importación masiva.
+ *
+ * La importación se hace por etapas: lectura del CSV registro por registro,
+ * resolución en bloque de rubros, listas y proveedores referenciados, control
+ * de códigos de barras duplicados con consultas por conjunto y escritura con
+ * inserts en lotes JDBC.
+ *
+ * Cada lote se confirma en su propia transacción, de modo que un archivo
+ * grande no mantiene bloqueos durante toda la importación. Si un lote falla,
+ * se revierte y se vuelve a insertar fila por fila para rechazar sólo las
+ * filas con error. La versión del catálogo se registra una única vez al
+ * final, para todos los artículos importados.
+ */
+@Slf4j
+@Service
+public class ImportacionServiceImpl implements ImportacionService {
+
+    private static final int TAMANIO_LOTE = 1_000;
+
+    private static final String INSERT_ARTICULO = "INSERT INTO articulos (codigo_barras, descripcion, id_rubro, " +
+            "unidad_venta, usa_control_stock, stock_actual, stock_minimo, stock_maximo, fecha_vencimiento, " +
+            "imagen_url, publicar_en_web, en_oferta, activo, fecha_creacion, fecha_modificacion) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_PRECIO = "INSERT INTO articulos_precios (id_articulo, id_lista, " +
+            "precio_costo, precio_venta, porcentaje_utilidad, fecha_ultima_actualizacion) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_PROVEEDOR = "INSERT INTO articulos_proveedores (id_articulo, id_proveedor, " +
+            "costo, es_predeterminado, ultima_actualizacion) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String INSERT_STOCK = "INSERT INTO stock_sucursales (id_articulo, id_sucursal, stock_actual) " +
+            "VALUES (?, ?, ?)";
+
+    private final ArticuloRepository articuloRepository;
+    private final RubroRepository rubroRepository;
+    private final ListaPrecioRepository listaPrecioRepository;
+    private final ProveedorRepository proveedorRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final CodigoBarrasIndex codigoBarrasIndex;
+    private final ArticuloSearchIndex articuloSearchIndex;
+    private final VencimientoIndex vencimientoIndex;
+    private final ConteoCache conteoCache;
+    private final MatrizPrecios matrizPrecios;
+    private final CatalogoService catalogoService;
+    private final SucursalActualService sucursalActualService;
+    private final StockTotalBuffer stockTotalBuffer;
+    private final MovimientoStockService movimientoStockService;
+    private final TransactionTemplate transactionTemplate;
+
+    public ImportacionServiceImpl(ArticuloRepository articuloRepository,
+                                  RubroRepository rubroRepository,
+                                  ListaPrecioRepository listaPrecioRepository,
+                                  ProveedorRepository proveedorRepository,
+                                  JdbcTemplate jdbcTemplate,
+                                  CodigoBarrasIndex codigoBarrasIndex,
+                                  ArticuloSearchIndex articuloSearchIndex,
+                                  VencimientoIndex vencimientoIndex,
+                                  ConteoCache conteoCache,
+                                  MatrizPrecios matrizPrecios,
+                                  CatalogoService catalogoService,
+                                  SucursalActualService sucursalActualService,
+                                  StockTotalBuffer stockTotalBuffer,
+                                  MovimientoStockService movimientoStockService,
+                                  PlatformTransactionManager transactionManager) {
+        this.articuloRepository = articuloRepository;
+        this.rubroRepository = rubroRepository;
+        this.listaPrecioRepository = listaPrecioRepository;
+        this.proveedorRepository = proveedorRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.codigoBarrasIndex = codigoBarrasIndex;
+        this.articuloSearchIndex = articuloSearchIndex;
+        this.vencimientoIndex = vencimientoIndex;
+        this.conteoCache = conteoCache;
+        this.matrizPrecios = matrizPrecios;
+        this.catalogoService = catalogoService;
+        this.sucursalActualService = sucursalActualService;
+        this.stockTotalBuffer = stockTotalBuffer;
+        this.movimientoStockService = movimientoStockService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Fila del archivo ya convertida y validada en su formato
+     */
+    private record FilaArticulo(int fila, String codigoBarras, String descripcion, Integer idRubro,
+                                UnidadVenta unidadVenta, boolean usaControlStock, BigDecimal stockActual,
+                                BigDecimal stockMinimo, BigDecimal stockMaximo, LocalDate fechaVencimiento,
+                                String imagenUrl, boolean publicarEnWeb, boolean enOferta, boolean activo,
+                                Integer idProveedor, BigDecimal costoProveedor, Map<Integer, BigDecimal> precios) {}
+
+    /**
+     * Posición de cada columna conocida del encabezado
+     */
+    private record Encabezado(Map<String, Integer> columnas, Map<Integer, Integer> columnasPrecio) {}
+
+    /**
+     * Datos comunes a todos los lotes de una importación
+     */
+    private record Contexto(LocalDateTime ahora, Integer idListaPredeterminada, Integer idSucursal, String username) {}
+
+    @Override
+    public ImportacionResponse importarArticulos(InputStream contenido) {
+        log.info("Iniciando importación de artículos");
+
+        List<ErrorImportacionResponse> errores = new ArrayList<>();
+        List<FilaArticulo> filas = leerArchivo(contenido, errores);
+        int totalFilas = filas.size() + errores.size();
+
+        List<FilaArticulo> validas = validarReferencias(filas, errores);
+        int importados = insertar(validas, errores);
+
+        errores.sort(Comparator.comparing(ErrorImportacionResponse::getFila));
+        log.info("Importación finalizada: {} filas, {} importadas, {} rechazadas",
+                totalFilas, importados, errores.size());
+
+        return ImportacionResponse.builder()
+                .totalFilas(totalFilas)
+                .importados(importados)
+                .rechazados(errores.size())
+                .errores(errores)
+                .build();
+    }
+
+    // ==================== LECTURA ====================
+
+    private List<FilaArticulo> leerArchivo(InputStream contenido, List<ErrorImportacionResponse> errores) {
+        List<FilaArticulo> filas = new ArrayList<>();
+        Set<String> codigosArchivo = new HashSet<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(contenido, StandardCharsets.UTF_8))) {
+            List<String> registro = CsvUtil.leerRegistro(reader);
+            if (registro == null) {
+                throw new BusinessException("El archivo está vacío");
+            }
+            Encabezado encabezado = leerEncabezado(registro);
+
+            int numeroFila = 1;
+            while ((registro = CsvUtil.leerRegistro(reader)) != null) {
+                numeroFila++;
+                if (registro.size() == 1 && registro.get(0).isBlank()) {
+                    continue;
+                }
+
+                try {
+                    FilaArticulo fila = convertir(numeroFila, registro, encabezado);
+                    if (!codigosArchivo.add(clave(fila.codigoBarras()))) {
+                        throw new BusinessException("Código de barras repetido en el archivo");
+                    }
+                    filas.add(fila);
+                } catch (BusinessException e) {
+                    errores.add(error(numeroFila, texto(registro, encabezado, "codigo_barras"), e.getMessage()));
+                }
+            }
+        } catch (IOException e) {
+            throw new BusinessException("No se pudo leer el archivo", e);
+        }
+
+        return filas;
+    }
+
+    private Encabezado leerEncabezado(List<String> registro) {
+        Map<String, Integer> columnas = new HashMap<>();
+        Map<Integer, Integer> columnasPrecio = new LinkedHashMap<>();
+
+        for (int i = 0; i < registro.size(); i++) {
+            String nombre = registro.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+            if (nombre.startsWith(CsvUtil.PREFIJO_PRECIO) && !nombre.equals("precio_costo")) {
+                try {
+                    columnasPrecio.put(Integer.valueOf(nombre.substring(CsvUtil.PREFIJO_PRECIO.length())), i);
+                } catch (NumberFormatException e) {
+                    throw new BusinessException("Columna de precio inválida: " + nombre + ". Formato esperado: precio_<idLista>");
+                }
+            } else {
+                columnas.put(nombre, i);
+            }
+        }
+
+        if (!columnas.containsKey("codigo_barras") || !columnas.containsKey("descripcion")) {
+            throw new BusinessException("El encabezado debe incluir las columnas codigo_barras y descripcion");
+        }
+        return new Encabezado(columnas, columnasPrecio);
+    }
+
+    private FilaArticulo convertir(int numeroFila, List<String> registro, Encabezado encabezado) {
+        String codigoBarras = texto(registro, encabezado, "codigo_barras");
+        if (codigoBarras == null) {
+            throw new BusinessException("El código de barras es obligatorio");
+        }
+        if (codigoBarras.length() > 50) {
+            throw new BusinessException("El código de barras no puede exceder los 50 caracteres");
+        }
+
+        String descripcion = texto(registro, encabezado, "descripcion");
+        if (descripcion == null) {
+            throw new BusinessException("La descripción es obligatoria");
+        }
+        if (descripcion.length() > 255) {
+            throw new BusinessException("La descripción no puede exceder los 255 caracteres");
+        }
+
+        String imagenUrl = texto(registro, encabezado, "imagen_url");
+        if (imagenUrl != null && imagenUrl.length() > 500) {
+            throw new BusinessException("La URL de imagen no puede exceder los 500 caracteres");
+        }
+
+        UnidadVenta unidadVenta = UnidadVenta.UNIDAD;
+        String unidad = texto(registro, encabezado, "unidad_venta");
+        if (unidad != null) {
+            try {
+                unidadVenta = UnidadVenta.valueOf(unidad.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BusinessException("Unidad de venta inválida: " + unidad);
+            }
+        }
+
+        LocalDate fechaVencimiento = null;
+        String fecha = texto(registro, encabezado, "fecha_vencimiento");
+        if (fecha != null) {
+            try {
+                fechaVencimiento = LocalDate.parse(fecha);
+            } catch (DateTimeParseException e) {
+                throw new BusinessException("Fecha de vencimiento inválida (formato esperado AAAA-MM-DD): " + fecha);
+            }
+        }
+
+        Map<Integer, BigDecimal> precios = new LinkedHashMap<>();
+        for (Map.Entry<Integer, Integer> columna : encabezado.columnasPrecio().entrySet()) {
+            String valor = columna.getValue() < registro.size() ? registro.get(columna.getValue()).trim() : "";
+            if (!valor.isEmpty()) {
+                BigDecimal precio = decimal(valor, CsvUtil.columnaPrecio(columna.getKey()));
+                if (precio.compareTo(new BigDecimal("0.01")) < 0) {
+                    throw new BusinessException("El precio de venta debe ser mayor a 0");
+                }
+                precios.put(columna.getKey(), precio);
+            }
+        }
+
+        BigDecimal costoProveedor = noNegativo(registro, encabezado, "costo_proveedor");
+
+        return new FilaArticulo(
+                numeroFila,
+                codigoBarras,
+                descripcion,
+                entero(registro, encabezado, "id_rubro"),
+                unidadVenta,
+                booleano(registro, encabezado, "usa_control_stock", false),
+                noNegativo(registro, encabezado, "stock_actual"),
+                noNegativo(registro, encabezado, "stock_minimo"),
+                noNegativo(registro, encabezado, "stock_maximo"),
+                fechaVencimiento,
+                imagenUrl,
+                booleano(registro, encabezado, "publicar_en_web", false),
+                booleano(registro, encabezado, "en_oferta", false),
+                booleano(registro, encabezado, "activo", true),
+                entero(registro, encabezado, "id_proveedor"),
+                costoProveedor,
+                precios);
+    }
+
+    // ==================== VALIDACIÓN ====================
+
+    /**
+     * Verifica en bloque rubros, listas, proveedores y códigos ya existentes.
+     * Devuelve las filas que pueden insertarse.
+     */
+    private List<FilaArticulo> validarReferencias(List<FilaArticulo> filas, List<ErrorImportacionResponse> errores) {
+        if (filas.isEmpty()) {
+            return filas;
+        }
+
+        Set<Integer> rubros = idsExistentes(filas.stream().map(FilaArticulo::idRubro),
+                rubroRepository::findAllById, Rubro::getIdRubro);
+        Set<Integer> listas = idsExistentes(filas.stream().flatMap(f -> f.precios().keySet().stream()),
+                listaPrecioRepository::findAllById, ListaPrecio::getIdLista);
+        Set<Integer> proveedores = idsExistentes(filas.stream().map(FilaArticulo::idProveedor),
+                proveedorRepository::findAllById, Proveedor::getIdProveedor);
+
+        Set<String> codigosExistentes = new HashSet<>();
+        for (List<String> lote : lotes(filas.stream().map(FilaArticulo::codigoBarras).toList())) {
+            articuloRepository.findCodigosBarrasExistentes(lote).forEach(codigo -> codigosExistentes.add(clave(codigo)));
+        }
+
+        List<FilaArticulo> validas = new ArrayList<>(filas.size());
+        for (FilaArticulo fila : filas) {
+            String mensaje = null;
+            if (codigosExistentes.contains(clave(fila.codigoBarras()))) {
+                mensaje = "Ya existe un artículo con el código de barras: " + fila.codigoBarras();
+            } else if (fila.idRubro() != null && !rubros.contains(fila.idRubro())) {
+                mensaje = "Rubro no encontrado con id: " + fila.idRubro();
+            } else if (fila.idProveedor() != null && !proveedores.contains(fila.idProveedor())) {
+                mensaje = "Proveedor no encontrado con id: " + fila.idProveedor();
+            } else {
+                for (Integer idLista : fila.precios().keySet()) {
+                    if (!listas.contains(idLista)) {
+                        mensaje = "Lista de precios no encontrada con id: " + idLista;
+                        break;
+                    }
+                }
+            }
+
+            if (mensaje != null) {
+                errores.add(error(fila.fila(), fila.codigoBarras(), mensaje));
+            } else {
+                validas.add(fila);
+            }
+        }
+        return validas;
+    }
+
+    private <T> Set<Integer> idsExistentes(Stream<Integer> referenciados,
+                                           Function<Set<Integer>, List<T>> buscar,
+                                           Function<T, Integer> id) {
+        Set<Integer> ids = referenciados.filter(Objects::nonNull).collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        return buscar.apply(ids).stream().map(id).collect(Collectors.toSet());
+    }
+
+    // ==================== ESCRITURA ====================
+
+    private int insertar(List<FilaArticulo> filas, List<ErrorImportacionResponse> errores) {
+        if (filas.isEmpty()) {
+            return 0;
+        }
+
+        // El stock importado se asigna a la sucursal del usuario
+        Contexto contexto = new Contexto(
+                LocalDateTime.now(),
+                listaPrecioRepository.findByEsPredeterminada(true).map(ListaPrecio::getIdLista).orElse(null),
+                sucursalActualService.getIdSucursal(),
+                SecurityUtil.getUsernameActual());
+
+        List<Integer> importados = new ArrayList<>(filas.size());
+        for (List<FilaArticulo> lote : lotes(filas)) {
+            try {
+                importados.addAll(transactionTemplate.execute(status -> insertarLote(lote, contexto)));
+            } catch (RuntimeException e) {
+                log.warn("Lote de {} artículos rechazado, se reintenta fila por fila: {}", lote.size(), e.getMessage());
+                for (FilaArticulo fila : lote) {
+                    try {
+                        importados.addAll(transactionTemplate.execute(status -> insertarLote(List.of(fila), contexto)));
+                    } catch (RuntimeException ex) {
+                        errores.add(error(fila.fila(), fila.codigoBarras(), "No se pudo insertar el artículo: "
+                                + NestedExceptionUtils.getMostSpecificCause(ex).getMessage()));
+                    }
+                }
+            }
+        }
+
+        // Sin transacción activa, la versión se registra de inmediato en una transacción breve
+        catalogoService.registrarCambio(importados);
+        return importados.size();
+    }
+
+    /**
+     * Inserta un lote en la transacción actual y devuelve los IDs generados.
+     * Los índices en memoria se actualizan luego del commit del lote.
+     */
+    private List<Integer> insertarLote(List<FilaArticulo> lote, Contexto contexto) {
+        LocalDateTime ahora = contexto.ahora();
+
+        jdbcTemplate.batchUpdate(INSERT_ARTICULO, lote.stream()
+                .map(f -> new Object[]{
+                        f.codigoBarras(), f.descripcion(), f.idRubro(), f.unidadVenta().name(),
+                        f.usaControlStock(), f.stockActual(), f.stockMinimo(), f.stockMaximo(),
+                        f.fechaVencimiento(), f.imagenUrl(), f.publicarEnWeb(), f.enOferta(), f.activo(),
+                        ahora, ahora})
+                .toList());
+
+        // Recuperar los IDs generados con una sola consulta por lote
+        Map<String, ArticuloScanView> insertados = articuloRepository
+                .findScanViewsByCodigoBarras(lote.stream().map(FilaArticulo::codigoBarras).toList()).stream()
+                .collect(Collectors.toMap(view -> clave(view.getCodigoBarras()), Function.identity()));
+
+        List<Object[]> precios = new ArrayList<>();
+        List<Object[]> proveedores = new ArrayList<>();
+        List<Object[]> stocks = new ArrayList<>();
+        List<MovimientoStockService.Movimiento> movimientos = new ArrayList<>();
+        List<ArticuloScanResponse> indexados = new ArrayList<>(lote.size());
+        List<VencimientoIndex.Registro> vencimientos = new ArrayList<>();
+
+        for (FilaArticulo fila : lote) {
+            ArticuloScanView view = insertados.get(clave(fila.codigoBarras()));
+            Integer idArticulo = view.getIdArticulo();
+            BigDecimal costo = fila.costoProveedor() != null ? fila.costoProveedor() : BigDecimal.ZERO;
+
+            fila.precios().forEach((idLista, precioVenta) ->
+                    precios.add(new Object[]{idArticulo, idLista, costo, precioVenta, BigDecimal.ZERO, ahora}));
+
+            if (fila.stockActual().signum() > 0) {
+                stocks.add(new Object[]{idArticulo, contexto.idSucursal(), fila.stockActual()});
+                movimientos.add(new MovimientoStockService.Movimiento(idArticulo, contexto.idSucursal(),
+                        TipoMovimientoStock.AJUSTE, fila.stockActual(), fila.stockActual(), contexto.username(),
+                        "Stock inicial (importación)", ahora));
+            }
+
+            if (fila.idProveedor() != null) {
+                proveedores.add(new Object[]{idArticulo, fila.idProveedor(), costo, true, ahora});
+            }
+
+            if (fila.fechaVencimiento() != null && fila.activo()) {
+                vencimientos.add(new VencimientoIndex.Registro(
+                        idArticulo, fila.codigoBarras(), fila.descripcion(), fila.fechaVencimiento()));
+            }
+
+            indexados.add(new ArticuloScanResponse(
+                    idArticulo,
+                    fila.codigoBarras(),
+                    fila.descripcion(),
+                    fila.precios().get(contexto.idListaPredeterminada()),
+                    view.getStockActual(),
+                    view.getActivo()));
+        }
+
+        if (!precios.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PRECIO, precios);
+        }
+        if (!proveedores.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PROVEEDOR, proveedores);
+        }
+        if (!stocks.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_STOCK, stocks);
+        }
+
+        List<Integer> ids = indexados.stream().map(ArticuloScanResponse::idArticulo).toList();
+        movimientoStockService.registrarLote(movimientos);
+        codigoBarrasIndex.actualizarLote(indexados);
+        articuloSearchIndex.actualizarLote(indexados);
+        vencimientoIndex.actualizarLote(vencimientos);
+        conteoCache.invalidarRubros(lote.stream().map(FilaArticulo::idRubro).collect(Collectors.toSet()));
+        conteoCache.invalidarListas();
+        matrizPrecios.actualizarArticulos(ids);
+        stockTotalBuffer.marcarLote(ids);
+        log.debug("Lote de {} artículos insertado", lote.size());
+        return ids;
+    }
+
+    // ==================== CONVERSIÓN DE CAMPOS ====================
+
+    private static String texto(List<String> registro, Encabezado encabezado, String columna) {
+        Integer indice = encabezado.columnas().get(columna);
+        if (indice == null || indice >= registro.size()) {
+            return null;
+        }
+        String valor = registro.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private static Integer entero(List<String> registro, Encabezado encabezado, String columna) {
+        String valor = texto(registro, encabezado, columna);
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(valor);
+        } catch (NumberFormatException e) {
+            throw new BusinessException("Valor numérico inválido en " + columna + ": " + valor);
+        }
+    }
+
+    private static BigDecimal noNegativo(List<String> registro, Encabezado encabezado, String columna) {
+        String valor = texto(registro, encabezado, columna);
+        if (valor == null) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal numero = decimal(valor, columna);
+        if (numero.signum() < 0) {
+            throw new BusinessException("El valor de " + columna + " no puede ser negativo");
+        }
+        return numero;
+    }
+
+    private static BigDecimal decimal(String valor, String columna) {
+        // Se acepta coma decimal cuando no hay punto
+        String normalizado = valor.indexOf('.') < 0 ? valor.replace(',', '.') : valor;
+        try {
+            return new BigDecimal(normalizado);
+        } catch (NumberFormatException e) {
+            throw new BusinessException("Valor numérico inválido en " + columna + ": " + valor);
+        }
+    }
+
+    private static boolean booleano(List<String> registro, Encabezado encabezado, String columna, boolean defecto) {
+        String valor = texto(registro, encabezado, columna);
+        if (valor == null) {
+            return defecto;
+        }
+        return switch (valor.toLowerCase(Locale.ROOT)) {
+            case "true", "1", "si", "sí", "s" -> true;
+            case "false", "0", "no", "n" -> false;
+            default -> throw new BusinessException("Valor inválido en " + columna + ": " + valor);
+        };
+    }
+
+    /**
+     * Forma en que la base de datos compara los códigos de barras: sin distinguir
+     * mayúsculas, acentos ni espacios finales
+     */
+    private static String clave(String codigoBarras) {
+        String sinAcentos = Normalizer.normalize(codigoBarras, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return sinAcentos.stripTrailing().toLowerCase(Locale.ROOT);
+    }
+
+    private static ErrorImportacionResponse error(int fila, String codigoBarras, String mensaje) {
+        return ErrorImportacionResponse.builder()
+                .fila(fila)
+                .codigoBarras(codigoBarras)
+                .mensaje(mensaje)
+                .build();
+    }
+
+    private static <T> List<List<T>> lotes(List<T> elementos) {
+        List<List<T>> lotes = new ArrayList<>();
+        for (int i = 0; i < elementos.size(); i += TAMANIO_LOTE) {
+            lotes.add(elementos.subList(i, Math.min(i + TAMANIO_LOTE, elementos.size())));
+        }
+        return lotes;
+    }
+}
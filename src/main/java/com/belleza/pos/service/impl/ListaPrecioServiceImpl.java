@@ -1,5 +1,7 @@
 package com.belleza.pos.service.impl;
 
+import com.belleza.pos.cache.ConteoCache;
+import com.belleza.pos.cache.MatrizPrecios;
 import com.belleza.pos.dto.request.CreateListaPrecioRequest;
 import com.belleza.pos.dto.request.UpdateListaPrecioRequest;
 import com.belleza.pos.dto.response.ListaPrecioResponse;
@@ -19,6 +21,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -29,6 +32,8 @@ public class ListaPrecioServiceImpl implements ListaPrecioService {
     private final ListaPrecioRepository listaPrecioRepository;
     private final ArticuloPrecioRepository articuloPrecioRepository;
     private final ListaPrecioMapper listaPrecioMapper;
+    private final ConteoCache conteoCache;
+    private final MatrizPrecios matrizPrecios;
 
     @Override
     @Transactional
@@ -49,6 +54,7 @@ public class ListaPrecioServiceImpl implements ListaPrecioService {
 
         ListaPrecio lista = listaPrecioMapper.toEntity(request);
         lista = listaPrecioRepository.save(lista);
+        matrizPrecios.recargarListas();
 
         log.info("Lista de precios creada exitosamente con ID: {}", lista.getIdLista());
         return listaPrecioMapper.toResponse(lista, 0L);
@@ -80,8 +86,9 @@ public class ListaPrecioServiceImpl implements ListaPrecioService {
 
         listaPrecioMapper.updateEntity(lista, request);
         lista = listaPrecioRepository.save(lista);
+        matrizPrecios.recargarListas();
 
-        long cantidadArticulos = articuloPrecioRepository.findByListaPrecio_IdLista(id).size();
+        long cantidadArticulos = conteoCache.preciosPorLista(id);
         log.info("Lista de precios actualizada exitosamente: {}", id);
         return listaPrecioMapper.toResponse(lista, cantidadArticulos);
     }
@@ -92,7 +99,7 @@ public class ListaPrecioServiceImpl implements ListaPrecioService {
         log.debug("Obteniendo lista de precios por ID: {}", id);
         ListaPrecio lista = listaPrecioRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Lista de precios", "id", id));
-        long cantidadArticulos = articuloPrecioRepository.findByListaPrecio_IdLista(id).size();
+        long cantidadArticulos = conteoCache.preciosPorLista(id);
         return listaPrecioMapper.toResponse(lista, cantidadArticulos);
     }
 
@@ -102,7 +109,7 @@ public class ListaPrecioServiceImpl implements ListaPrecioService {
         log.debug("Obteniendo lista de precios por nombre: {}", nombre);
         ListaPrecio lista = listaPrecioRepository.findByNombre(nombre)
                 .orElseThrow(() -> new ResourceNotFoundException("Lista de precios", "nombre", nombre));
-        long cantidadArticulos = articuloPrecioRepository.findByListaPrecio_IdLista(lista.getIdLista()).size();
+        long cantidadArticulos = conteoCache.preciosPorLista(lista.getIdLista());
         return listaPrecioMapper.toResponse(lista, cantidadArticulos);
     }
 
@@ -110,11 +117,10 @@ public class ListaPrecioServiceImpl implements ListaPrecioService {
     @Transactional(readOnly = true)
     public Page<ListaPrecioResponse> getAll(Pageable pageable) {
         log.debug("Obteniendo todas las listas de precios con paginación");
-        return listaPrecioRepository.findAll(pageable)
-                .map(lista -> {
-                    long cantidadArticulos = articuloPrecioRepository.findByListaPrecio_IdLista(lista.getIdLista()).size();
-                    return listaPrecioMapper.toResponse(lista, cantidadArticulos);
-                });
+        Page<ListaPrecio> listas = listaPrecioRepository.findAll(pageable);
+        Map<Integer, Long> cantidades = conteoCache.preciosPorLista(
+                listas.map(ListaPrecio::getIdLista).getContent());
+        return listas.map(lista -> listaPrecioMapper.toResponse(lista, cantidades.get(lista.getIdLista())));
     }
 
     @Override
@@ -132,7 +138,7 @@ public class ListaPrecioServiceImpl implements ListaPrecioService {
         log.debug("Obteniendo lista de precios predeterminada");
         ListaPrecio lista = listaPrecioRepository.findByEsPredeterminada(true)
                 .orElseThrow(() -> new ResourceNotFoundException("No hay una lista de precios predeterminada configurada"));
-        long cantidadArticulos = articuloPrecioRepository.findByListaPrecio_IdLista(lista.getIdLista()).size();
+        long cantidadArticulos = conteoCache.preciosPorLista(lista.getIdLista());
         return listaPrecioMapper.toResponse(lista, cantidadArticulos);
     }
 
@@ -153,8 +159,9 @@ public class ListaPrecioServiceImpl implements ListaPrecioService {
 
         lista.setEsPredeterminada(true);
         lista = listaPrecioRepository.save(lista);
+        matrizPrecios.recargarListas();
 
-        long cantidadArticulos = articuloPrecioRepository.findByListaPrecio_IdLista(id).size();
+        long cantidadArticulos = conteoCache.preciosPorLista(id);
         log.info("Lista de precios predeterminada establecida exitosamente: {}", id);
         return listaPrecioMapper.toResponse(lista, cantidadArticulos);
     }
@@ -168,8 +175,9 @@ public class ListaPrecioServiceImpl implements ListaPrecioService {
 
         lista.setActivo(true);
         lista = listaPrecioRepository.save(lista);
+        matrizPrecios.recargarListas();
 
-        long cantidadArticulos = articuloPrecioRepository.findByListaPrecio_IdLista(id).size();
+        long cantidadArticulos = conteoCache.preciosPorLista(id);
         log.info("Lista de precios activada exitosamente: {}", id);
         return listaPrecioMapper.toResponse(lista, cantidadArticulos);
     }
@@ -187,8 +195,9 @@ public class ListaPrecioServiceImpl implements ListaPrecioService {
 
         lista.setActivo(false);
         lista = listaPrecioRepository.save(lista);
+        matrizPrecios.recargarListas();
 
-        long cantidadArticulos = articuloPrecioRepository.findByListaPrecio_IdLista(id).size();
+        long cantidadArticulos = conteoCache.preciosPorLista(id);
         log.info("Lista de precios desactivada exitosamente: {}", id);
         return listaPrecioMapper.toResponse(lista, cantidadArticulos);
     }
@@ -206,6 +215,7 @@ public class ListaPrecioServiceImpl implements ListaPrecioService {
 
         lista.setActivo(false);
         listaPrecioRepository.save(lista);
+        matrizPrecios.recargarListas();
 
         log.info("Lista de precios eliminada exitosamente (soft delete): {}", id);
     }
@@ -224,13 +234,15 @@ public class ListaPrecioServiceImpl implements ListaPrecioService {
             throw new BusinessException("No se puede eliminar la lista predeterminada");
         }
 
-        long cantidadArticulos = articuloPrecioRepository.findByListaPrecio_IdLista(id).size();
+        long cantidadArticulos = articuloPrecioRepository.countByListaPrecio_IdLista(id);
         if (cantidadArticulos > 0) {
             throw new BusinessException(
                     "No se puede eliminar la lista. Tiene " + cantidadArticulos + " artículo(s) con precio asignado");
         }
 
         listaPrecioRepository.deleteById(id);
+        conteoCache.invalidarLista(id);
+        matrizPrecios.recargarListas();
         log.info("Lista de precios eliminada permanentemente: {}", id);
     }
 
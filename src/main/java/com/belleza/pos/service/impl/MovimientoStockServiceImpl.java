@@ -0,0 +1,157 @@
+package com.belleza.pos.service.impl;
+
+import com.belleza.pos.dto.response.KardexResponse;
+import com.belleza.pos.dto.response.MovimientoStockResponse;
+import com.belleza.pos.entity.MovimientoStock;
+import com.belleza.pos.entity.SaldoStock;
+import com.belleza.pos.entity.enums.TipoMovimientoStock;
+import com.belleza.pos.exception.BusinessException;
+import com.belleza.pos.exception.ResourceNotFoundException;
+import com.belleza.pos.repository.ArticuloRepository;
+import com.belleza.pos.repository.MovimientoStockRepository;
+import com.belleza.pos.repository.SaldoStockRepository;
+import com.belleza.pos.security.service.SucursalActualService;
+import com.belleza.pos.service.MovimientoStockService;
+import com.belleza.pos.util.SecurityUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementación del servicio de movimientos de stock.
+ *
+ * Cada movimiento guarda el stock resultante, por lo que el saldo a una fecha
+ * se obtiene con una sola búsqueda por índice (último movimiento anterior) sin
+ * recorrer el historial. Las fotos periódicas de saldos cubren los artículos
+ * sin movimientos previos, como los cargados antes de existir el kardex.
+ *
+ * Los movimientos se insertan con JDBC en la misma transacción que el cambio
+ * de stock que los origina, de modo que un cambio confirmado nunca queda sin
+ * su registro en el kardex.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MovimientoStockServiceImpl implements MovimientoStockService {
+
+    private static final int TAMANIO_LOTE = 500;
+
+    private static final String INSERT = "INSERT INTO movimientos_stock " +
+            "(id_articulo, id_sucursal, tipo, cantidad, saldo, username, motivo, fecha) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_SALDOS_INICIALES = "INSERT INTO saldos_stock (id_articulo, id_sucursal, saldo, fecha) " +
+            "SELECT s.id_articulo, s.id_sucursal, s.stock_actual, ? FROM stock_sucursales s " +
+            "JOIN articulos a ON a.id_articulo = s.id_articulo WHERE a.usa_control_stock = true";
+
+    private static final String INSERT_SALDOS = "INSERT INTO saldos_stock (id_articulo, id_sucursal, saldo, fecha) " +
+            "SELECT m.id_articulo, m.id_sucursal, m.saldo, ? FROM movimientos_stock m JOIN (" +
+            "SELECT MAX(id_movimiento) AS id_movimiento FROM movimientos_stock " +
+            "WHERE fecha >= ? AND fecha < ? GROUP BY id_articulo, id_sucursal) u ON u.id_movimiento = m.id_movimiento";
+
+    private final MovimientoStockRepository movimientoStockRepository;
+    private final SaldoStockRepository saldoStockRepository;
+    private final ArticuloRepository articuloRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final SucursalActualService sucursalActualService;
+
+    @Override
+    public void registrar(Integer idArticulo, Integer idSucursal, TipoMovimientoStock tipo, BigDecimal cantidad,
+                          BigDecimal saldo, String motivo) {
+        jdbcTemplate.update(INSERT, idArticulo, idSucursal, tipo.name(), cantidad, saldo,
+                SecurityUtil.getUsernameActual(), motivo, LocalDateTime.now());
+    }
+
+    @Override
+    public void registrarLote(List<Movimiento> movimientos) {
+        for (int i = 0; i < movimientos.size(); i += TAMANIO_LOTE) {
+            jdbcTemplate.batchUpdate(INSERT, movimientos.subList(i, Math.min(i + TAMANIO_LOTE, movimientos.size())).stream()
+                    .map(m -> new Object[]{m.idArticulo(), m.idSucursal(), m.tipo().name(), m.cantidad(), m.saldo(),
+                            m.username(), m.motivo(), m.fecha()})
+                    .toList());
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KardexResponse getKardex(Integer idArticulo, Integer idSucursalSolicitada, LocalDateTime desde,
+                                    LocalDateTime hasta, Pageable pageable) {
+        Integer idSucursal = idSucursalSolicitada != null ? idSucursalSolicitada : sucursalActualService.getIdSucursal();
+        log.debug("Obteniendo kardex del artículo {} en sucursal {} entre {} y {}", idArticulo, idSucursal, desde, hasta);
+
+        if (!desde.isBefore(hasta)) {
+            throw new BusinessException("La fecha desde debe ser anterior a la fecha hasta");
+        }
+        if (!articuloRepository.existsById(idArticulo)) {
+            throw new ResourceNotFoundException("Artículo", "id", idArticulo);
+        }
+
+        Pageable orden = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                Sort.by("fecha", "idMovimiento"));
+        Page<MovimientoStockResponse> movimientos = movimientoStockRepository
+                .findByArticulo_IdArticuloAndSucursal_IdSucursalAndFechaGreaterThanEqualAndFechaLessThan(
+                        idArticulo, idSucursal, desde, hasta, orden)
+                .map(this::toResponse);
+
+        return KardexResponse.builder()
+                .idArticulo(idArticulo)
+                .idSucursal(idSucursal)
+                .desde(desde)
+                .hasta(hasta)
+                .saldoInicial(saldoAl(idArticulo, idSucursal, desde))
+                .saldoFinal(saldoAl(idArticulo, idSucursal, hasta))
+                .movimientos(movimientos)
+                .build();
+    }
+
+    @Override
+    @Scheduled(cron = "${app.stock.saldos.cron:0 0 3 * * *}")
+    public void registrarSaldos() {
+        LocalDateTime ahora = LocalDateTime.now();
+        Optional<LocalDateTime> ultima = saldoStockRepository.findUltimaFecha();
+
+        int filas = ultima.isPresent()
+                ? jdbcTemplate.update(INSERT_SALDOS, ahora, ultima.get(), ahora)
+                : jdbcTemplate.update(INSERT_SALDOS_INICIALES, ahora);
+
+        log.info("Registrados {} saldos de stock", filas);
+    }
+
+    /**
+     * Stock del artículo en la sucursal antes de la fecha indicada
+     */
+    private BigDecimal saldoAl(Integer idArticulo, Integer idSucursal, LocalDateTime fecha) {
+        return movimientoStockRepository
+                .findFirstByArticulo_IdArticuloAndSucursal_IdSucursalAndFechaLessThanOrderByFechaDescIdMovimientoDesc(
+                        idArticulo, idSucursal, fecha)
+                .map(MovimientoStock::getSaldo)
+                .or(() -> saldoStockRepository
+                        .findFirstByArticulo_IdArticuloAndSucursal_IdSucursalAndFechaLessThanOrderByFechaDesc(
+                                idArticulo, idSucursal, fecha)
+                        .map(SaldoStock::getSaldo))
+                .orElse(BigDecimal.ZERO);
+    }
+
+    private MovimientoStockResponse toResponse(MovimientoStock movimiento) {
+        return MovimientoStockResponse.builder()
+                .idMovimiento(movimiento.getIdMovimiento())
+                .tipo(movimiento.getTipo().name())
+                .cantidad(movimiento.getCantidad())
+                .saldo(movimiento.getSaldo())
+                .usuario(movimiento.getUsername())
+                .motivo(movimiento.getMotivo())
+                .fecha(movimiento.getFecha())
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.belleza.pos.service.impl;
+
+import com.belleza.pos.cache.MatrizPrecios;
+import com.belleza.pos.dto.request.CotizacionRequest;
+import com.belleza.pos.dto.request.ItemCotizacionRequest;
+import com.belleza.pos.dto.response.CotizacionResponse;
+import com.belleza.pos.dto.response.ItemCotizacionResponse;
+import com.belleza.pos.exception.BusinessException;
+import com.belleza.pos.exception.ResourceNotFoundException;
+import com.belleza.pos.service.PrecioService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementación del servicio de precios.
+ *
+ * Resuelve todos los ítems contra la matriz de precios en memoria, sin
+ * acceder a la base de datos.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PrecioServiceImpl implements PrecioService {
+
+    private final MatrizPrecios matrizPrecios;
+
+    @Override
+    public CotizacionResponse cotizar(CotizacionRequest request) {
+        log.debug("Cotizando {} ítems en lista {}", request.items().size(), request.idLista());
+
+        if (!matrizPrecios.isCargado()) {
+            throw new BusinessException("Los precios todavía no están disponibles, intente nuevamente en unos segundos");
+        }
+
+        MatrizPrecios.Lista lista = request.idLista() != null
+                ? matrizPrecios.lista(request.idLista())
+                        .orElseThrow(() -> new ResourceNotFoundException("Lista de precios", "id", request.idLista()))
+                : matrizPrecios.listaPredeterminada()
+                        .orElseThrow(() -> new ResourceNotFoundException("No hay una lista de precios predeterminada configurada"));
+
+        if (!lista.activo()) {
+            throw new BusinessException("La lista de precios no está activa: " + lista.nombre());
+        }
+
+        List<ItemCotizacionResponse> items = new ArrayList<>(request.items().size());
+        List<Integer> sinPrecio = new ArrayList<>();
+        BigDecimal subtotal = BigDecimal.ZERO;
+        BigDecimal total = BigDecimal.ZERO;
+
+        for (ItemCotizacionRequest item : request.items()) {
+            Optional<MatrizPrecios.Precio> precio = matrizPrecios.precio(item.idArticulo(), lista.idLista());
+            if (precio.isEmpty()) {
+                sinPrecio.add(item.idArticulo());
+                continue;
+            }
+
+            MatrizPrecios.Precio p = precio.get();
+            BigDecimal neto = p.neto().multiply(item.cantidad()).setScale(2, RoundingMode.HALF_UP);
+            BigDecimal conIva = p.conIva().multiply(item.cantidad()).setScale(2, RoundingMode.HALF_UP);
+
+            items.add(ItemCotizacionResponse.builder()
+                    .idArticulo(item.idArticulo())
+                    .cantidad(item.cantidad())
+                    .precioUnitario(p.neto())
+                    .ivaPorcentaje(p.ivaPorcentaje())
+                    .precioUnitarioConIva(p.conIva())
+                    .subtotal(neto)
+                    .iva(conIva.subtract(neto))
+                    .total(conIva)
+                    .build());
+
+            subtotal = subtotal.add(neto);
+            total = total.add(conIva);
+        }
+
+        if (!sinPrecio.isEmpty()) {
+            throw new BusinessException("Artículos sin precio en la lista " + lista.nombre() + ": " + sinPrecio);
+        }
+
+        return CotizacionResponse.builder()
+                .idLista(lista.idLista())
+                .nombreLista(lista.nombre())
+                .items(items)
+                .subtotal(subtotal)
+                .iva(total.subtract(subtotal))
+                .total(total)
+                .build();
+    }
+}
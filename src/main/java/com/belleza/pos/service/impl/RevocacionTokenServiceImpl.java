@@ -0,0 +1,77 @@
+package com.belleza.pos.service.impl;
+
+import com.belleza.pos.cache.TokensRevocadosIndex;
+import com.belleza.pos.repository.TokenRevocadoRepository;
+import com.belleza.pos.service.RevocacionTokenService;
+import com.belleza.pos.util.TransactionUtil;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Implementación del servicio de revocación de tokens.
+ *
+ * La revocación se registra con un INSERT IGNORE, por lo que dos pedidos que
+ * revocan el mismo token a la vez se resuelven en la base de datos: sólo uno
+ * obtiene true. La consulta por petición se resuelve en memoria con
+ * TokensRevocadosIndex; la base sólo se consulta mientras el índice no terminó
+ * de cargarse.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RevocacionTokenServiceImpl implements RevocacionTokenService {
+
+    private static final String INSERT = "INSERT IGNORE INTO tokens_revocados " +
+            "(jti, username, fecha_revocacion, fecha_expiracion) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TokenRevocadoRepository tokenRevocadoRepository;
+    private final TokensRevocadosIndex tokensRevocadosIndex;
+
+    @Override
+    @Transactional
+    public boolean revocar(Claims claims) {
+        String jti = claims.getId();
+        if (jti == null) {
+            return false;
+        }
+
+        LocalDateTime expiracion = LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault());
+        if (jdbcTemplate.update(INSERT, jti, claims.getSubject(), LocalDateTime.now(), expiracion) == 0) {
+            return false;
+        }
+
+        TransactionUtil.afterCommit(() -> tokensRevocadosIndex.agregar(jti, expiracion));
+        log.info("Token {} del usuario {} revocado", jti, claims.getSubject());
+        return true;
+    }
+
+    @Override
+    public boolean estaRevocado(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        if (!tokensRevocadosIndex.isCargado()) {
+            return tokenRevocadoRepository.existsById(jti);
+        }
+        return tokensRevocadosIndex.contiene(jti);
+    }
+
+    /**
+     * Elimina los tokens revocados que ya expiraron; un token vencido se rechaza por su expiración
+     */
+    @Scheduled(cron = "${app.seguridad.revocados.purga-cron:0 45 3 * * *}")
+    public void purgar() {
+        int eliminados = jdbcTemplate.update("DELETE FROM tokens_revocados WHERE fecha_expiracion < ?", LocalDateTime.now());
+        tokensRevocadosIndex.purgar();
+        log.info("Tokens revocados vencidos eliminados: {}", eliminados);
+    }
+}
@@ -1,5 +1,7 @@
 package com.belleza.pos.service.impl;
 
+import com.belleza.pos.cache.ConteoCache;
+import com.belleza.pos.cache.MatrizPrecios;
 import com.belleza.pos.dto.request.CreateRubroRequest;
 import com.belleza.pos.dto.request.UpdateRubroRequest;
 import com.belleza.pos.dto.response.RubroResponse;
@@ -19,6 +21,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -29,6 +32,8 @@ public class RubroServiceImpl implements RubroService {
     private final RubroRepository rubroRepository;
     private final ArticuloRepository articuloRepository;
     private final RubroMapper rubroMapper;
+    private final ConteoCache conteoCache;
+    private final MatrizPrecios matrizPrecios;
 
     @Override
     @Transactional
@@ -41,6 +46,7 @@ public class RubroServiceImpl implements RubroService {
 
         Rubro rubro = rubroMapper.toEntity(request);
         rubro = rubroRepository.save(rubro);
+        matrizPrecios.actualizarRubro(rubro);
 
         log.info("Rubro creado exitosamente con ID: {}", rubro.getIdRubro());
         return rubroMapper.toResponse(rubro, 0L);
@@ -62,8 +68,9 @@ public class RubroServiceImpl implements RubroService {
 
         rubroMapper.updateEntity(rubro, request);
         rubro = rubroRepository.save(rubro);
+        matrizPrecios.actualizarRubro(rubro);
 
-        long cantidadArticulos = articuloRepository.findByRubro_IdRubro(id).size();
+        long cantidadArticulos = conteoCache.articulosPorRubro(id);
         log.info("Rubro actualizado exitosamente: {}", id);
         return rubroMapper.toResponse(rubro, cantidadArticulos);
     }
@@ -74,7 +81,7 @@ public class RubroServiceImpl implements RubroService {
         log.debug("Obteniendo rubro por ID: {}", id);
         Rubro rubro = rubroRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Rubro", "id", id));
-        long cantidadArticulos = articuloRepository.findByRubro_IdRubro(id).size();
+        long cantidadArticulos = conteoCache.articulosPorRubro(id);
         return rubroMapper.toResponse(rubro, cantidadArticulos);
     }
 
@@ -84,7 +91,7 @@ public class RubroServiceImpl implements RubroService {
         log.debug("Obteniendo rubro por nombre: {}", nombre);
         Rubro rubro = rubroRepository.findByNombre(nombre)
                 .orElseThrow(() -> new ResourceNotFoundException("Rubro", "nombre", nombre));
-        long cantidadArticulos = articuloRepository.findByRubro_IdRubro(rubro.getIdRubro()).size();
+        long cantidadArticulos = conteoCache.articulosPorRubro(rubro.getIdRubro());
         return rubroMapper.toResponse(rubro, cantidadArticulos);
     }
 
@@ -92,11 +99,10 @@ public class RubroServiceImpl implements RubroService {
     @Transactional(readOnly = true)
     public Page<RubroResponse> getAll(Pageable pageable) {
         log.debug("Obteniendo todos los rubros con paginación");
-        return rubroRepository.findAll(pageable)
-                .map(rubro -> {
-                    long cantidadArticulos = articuloRepository.findByRubro_IdRubro(rubro.getIdRubro()).size();
-                    return rubroMapper.toResponse(rubro, cantidadArticulos);
-                });
+        Page<Rubro> rubros = rubroRepository.findAll(pageable);
+        Map<Integer, Long> cantidades = conteoCache.articulosPorRubro(
+                rubros.map(Rubro::getIdRubro).getContent());
+        return rubros.map(rubro -> rubroMapper.toResponse(rubro, cantidades.get(rubro.getIdRubro())));
     }
 
     @Override
@@ -118,7 +124,7 @@ public class RubroServiceImpl implements RubroService {
         rubro.setActivo(true);
         rubro = rubroRepository.save(rubro);
 
-        long cantidadArticulos = articuloRepository.findByRubro_IdRubro(id).size();
+        long cantidadArticulos = conteoCache.articulosPorRubro(id);
         log.info("Rubro activado exitosamente: {}", id);
         return rubroMapper.toResponse(rubro, cantidadArticulos);
     }
@@ -133,7 +139,7 @@ public class RubroServiceImpl implements RubroService {
         rubro.setActivo(false);
         rubro = rubroRepository.save(rubro);
 
-        long cantidadArticulos = articuloRepository.findByRubro_IdRubro(id).size();
+        long cantidadArticulos = conteoCache.articulosPorRubro(id);
         log.info("Rubro desactivado exitosamente: {}", id);
         return rubroMapper.toResponse(rubro, cantidadArticulos);
     }
@@ -160,13 +166,15 @@ public class RubroServiceImpl implements RubroService {
             throw new ResourceNotFoundException("Rubro", "id", id);
         }
 
-        long cantidadArticulos = articuloRepository.findByRubro_IdRubro(id).size();
+        long cantidadArticulos = articuloRepository.countByRubro_IdRubro(id);
         if (cantidadArticulos > 0) {
             throw new BusinessException(
                     "No se puede eliminar el rubro. Tiene " + cantidadArticulos + " artículo(s) asociado(s)");
         }
 
         rubroRepository.deleteById(id);
+        conteoCache.invalidarRubros(id);
+        matrizPrecios.eliminarRubro(id);
         log.info("Rubro eliminado permanentemente: {}", id);
     }
 
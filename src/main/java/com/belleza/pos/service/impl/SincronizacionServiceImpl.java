@@ -0,0 +1,233 @@
+package com.belleza.pos.service.impl;
+
+import com.belleza.pos.dto.request.AjusteStockRequest;
+import com.belleza.pos.dto.request.OperacionOfflineRequest;
+import com.belleza.pos.dto.response.ResultadoOperacionResponse;
+import com.belleza.pos.dto.response.SincronizacionResponse;
+import com.belleza.pos.entity.enums.RolUsuario;
+import com.belleza.pos.entity.enums.TipoOperacionOffline;
+import com.belleza.pos.exception.BusinessException;
+import com.belleza.pos.exception.ResourceNotFoundException;
+import com.belleza.pos.service.ArticuloService;
+import com.belleza.pos.service.ClienteService;
+import com.belleza.pos.service.SincronizacionService;
+import com.belleza.pos.util.SecurityUtil;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Implementación del servicio de sincronización de operaciones sin conexión.
+ *
+ * El cuerpo se lee elemento por elemento con un iterador de Jackson; sólo se
+ * conservan las operaciones ya validadas, sin duplicados dentro del lote.
+ * Luego se ordenan por fecha de la terminal y se aplican en lotes, cada uno en
+ * su propia transacción, con la misma lógica de los servicios de artículos y
+ * clientes. Si una operación del lote es rechazada, el lote se revierte y se
+ * vuelve a aplicar operación por operación para aislarla. Cada operación
+ * registra su ID en operaciones_offline_aplicadas en la misma transacción;
+ * esos registros no vencen, de modo que volver a subir la cola, aun días
+ * después, no la aplica dos veces.
+ *
+ * Cada tipo de operación exige los mismos roles que su endpoint directo; las
+ * que el usuario no podría hacer en línea se rechazan sin aplicarse.
+ */
+@Slf4j
+@Service
+public class SincronizacionServiceImpl implements SincronizacionService {
+
+    private static final int LARGO_MAXIMO_ID = 64;
+
+    private static final String INSERT_APLICADA = "INSERT IGNORE INTO operaciones_offline_aplicadas " +
+            "(id_operacion, tipo, username, fecha_operacion, fecha_aplicacion) VALUES (?, ?, ?, ?, ?)";
+
+    // Roles de /articulos/{id}/stock/decrementar, /clientes/{id}/venta y /clientes/{id}/pagar
+    private static final Map<TipoOperacionOffline, Set<RolUsuario>> ROLES_PERMITIDOS = Map.of(
+            TipoOperacionOffline.DECREMENTO_STOCK, EnumSet.of(RolUsuario.ADMIN, RolUsuario.GERENTE),
+            TipoOperacionOffline.CARGO_CUENTA, EnumSet.of(RolUsuario.ADMIN, RolUsuario.GERENTE, RolUsuario.VENDEDOR),
+            TipoOperacionOffline.PAGO_CUENTA, EnumSet.of(RolUsuario.ADMIN, RolUsuario.GERENTE, RolUsuario.CAJERO));
+
+    private static final String APLICADA = "APLICADA";
+    private static final String DUPLICADA = "DUPLICADA";
+    private static final String RECHAZADA = "RECHAZADA";
+
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ArticuloService articuloService;
+    private final ClienteService clienteService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.sincronizacion.tamanio-lote:200}")
+    private Integer tamanioLote;
+
+    @Value("${app.sincronizacion.max-operaciones:20000}")
+    private Integer maxOperaciones;
+
+    public SincronizacionServiceImpl(ObjectMapper objectMapper,
+                                     PlatformTransactionManager transactionManager,
+                                     ArticuloService articuloService,
+                                     ClienteService clienteService,
+                                     JdbcTemplate jdbcTemplate) {
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.articuloService = articuloService;
+        this.clienteService = clienteService;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public SincronizacionResponse sincronizar(InputStream contenido) {
+        Map<String, OperacionOfflineRequest> operaciones = new LinkedHashMap<>();
+        List<ResultadoOperacionResponse> resultados = new ArrayList<>();
+        int total = 0;
+
+        try (MappingIterator<OperacionOfflineRequest> iterador =
+                     objectMapper.readerFor(OperacionOfflineRequest.class).readValues(contenido)) {
+            while (iterador.hasNextValue()) {
+                OperacionOfflineRequest operacion = iterador.nextValue();
+                if (++total > maxOperaciones) {
+                    throw new BusinessException("El lote supera el máximo de " + maxOperaciones + " operaciones");
+                }
+
+                String error = validar(operacion);
+                if (error != null) {
+                    resultados.add(resultado(operacion, RECHAZADA, error));
+                } else if (operaciones.putIfAbsent(operacion.idOperacion(), operacion) != null) {
+                    resultados.add(resultado(operacion, DUPLICADA, "Operación repetida en el lote"));
+                }
+            }
+        } catch (IOException e) {
+            throw new BusinessException("El contenido no es un arreglo JSON de operaciones válido", e);
+        }
+
+        log.info("Sincronizando {} operaciones ({} recibidas)", operaciones.size(), total);
+
+        List<OperacionOfflineRequest> ordenadas = operaciones.values().stream()
+                .sorted(Comparator.comparing(OperacionOfflineRequest::fecha)
+                        .thenComparing(OperacionOfflineRequest::idOperacion))
+                .toList();
+
+        for (int i = 0; i < ordenadas.size(); i += tamanioLote) {
+            aplicarLote(ordenadas.subList(i, Math.min(i + tamanioLote, ordenadas.size())), resultados);
+        }
+
+        Map<String, Long> porEstado = new HashMap<>();
+        resultados.forEach(r -> porEstado.merge(r.getEstado(), 1L, Long::sum));
+
+        log.info("Sincronización finalizada. Aplicadas: {}, duplicadas: {}, rechazadas: {}",
+                porEstado.getOrDefault(APLICADA, 0L), porEstado.getOrDefault(DUPLICADA, 0L),
+                porEstado.getOrDefault(RECHAZADA, 0L));
+
+        return SincronizacionResponse.builder()
+                .totalOperaciones(total)
+                .aplicadas(porEstado.getOrDefault(APLICADA, 0L).intValue())
+                .duplicadas(porEstado.getOrDefault(DUPLICADA, 0L).intValue())
+                .rechazadas(porEstado.getOrDefault(RECHAZADA, 0L).intValue())
+                .resultados(resultados)
+                .build();
+    }
+
+    private void aplicarLote(List<OperacionOfflineRequest> lote, List<ResultadoOperacionResponse> resultados) {
+        try {
+            resultados.addAll(transactionTemplate.execute(status -> lote.stream().map(this::aplicar).toList()));
+        } catch (RuntimeException e) {
+            log.debug("Lote de {} operaciones revertido, se aplica de a una: {}", lote.size(), e.getMessage());
+            for (OperacionOfflineRequest operacion : lote) {
+                resultados.add(aplicarSola(operacion));
+            }
+        }
+    }
+
+    private ResultadoOperacionResponse aplicarSola(OperacionOfflineRequest operacion) {
+        try {
+            return transactionTemplate.execute(status -> aplicar(operacion));
+        } catch (BusinessException | ResourceNotFoundException e) {
+            return resultado(operacion, RECHAZADA, e.getMessage());
+        } catch (RuntimeException e) {
+            // Un error inesperado rechaza sólo esta operación; el resto de la cola sigue
+            log.error("Error al aplicar la operación offline {}", operacion.idOperacion(), e);
+            return resultado(operacion, RECHAZADA, "Error inesperado al aplicar la operación");
+        }
+    }
+
+    // Debe invocarse dentro de una transacción
+    private ResultadoOperacionResponse aplicar(OperacionOfflineRequest operacion) {
+        TipoOperacionOffline tipo = TipoOperacionOffline.valueOf(operacion.tipo().toUpperCase());
+
+        // Un reintento concurrente de la misma operación espera el bloqueo de la fila y no inserta
+        if (jdbcTemplate.update(INSERT_APLICADA, operacion.idOperacion(), tipo.name(),
+                SecurityUtil.getUsernameActual(), operacion.fecha(), LocalDateTime.now()) == 0) {
+            return resultado(operacion, DUPLICADA, "La operación ya fue sincronizada");
+        }
+
+        switch (tipo) {
+            case DECREMENTO_STOCK -> articuloService.ajustarStock(operacion.idArticulo(), new AjusteStockRequest(
+                    operacion.cantidad(), "EGRESO",
+                    "Operación offline " + operacion.idOperacion() + " del " + operacion.fecha()));
+            case CARGO_CUENTA -> clienteService.registrarVenta(operacion.idCliente(), operacion.monto());
+            case PAGO_CUENTA -> clienteService.registrarPago(operacion.idCliente(), operacion.monto());
+        }
+
+        return resultado(operacion, APLICADA, null);
+    }
+
+    private String validar(OperacionOfflineRequest operacion) {
+        if (operacion.idOperacion() == null || operacion.idOperacion().isBlank()) {
+            return "El ID de operación es obligatorio";
+        }
+        if (operacion.idOperacion().length() > LARGO_MAXIMO_ID) {
+            return "El ID de operación no puede superar los " + LARGO_MAXIMO_ID + " caracteres";
+        }
+        if (operacion.fecha() == null) {
+            return "La fecha de la operación es obligatoria";
+        }
+
+        TipoOperacionOffline tipo;
+        try {
+            tipo = TipoOperacionOffline.valueOf(String.valueOf(operacion.tipo()).toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return "Tipo de operación inválido: " + operacion.tipo();
+        }
+
+        if (!SecurityUtil.tieneAlgunRol(ROLES_PERMITIDOS.get(tipo))) {
+            return "El usuario no tiene permiso para la operación " + tipo.getDescripcion().toLowerCase();
+        }
+
+        if (tipo == TipoOperacionOffline.DECREMENTO_STOCK) {
+            if (operacion.idArticulo() == null) {
+                return "El ID de artículo es obligatorio";
+            }
+            if (operacion.cantidad() == null || operacion.cantidad().compareTo(BigDecimal.ZERO) <= 0) {
+                return "La cantidad debe ser mayor a cero";
+            }
+        } else {
+            if (operacion.idCliente() == null) {
+                return "El ID de cliente es obligatorio";
+            }
+            if (operacion.monto() == null || operacion.monto().compareTo(BigDecimal.ZERO) <= 0) {
+                return "El monto debe ser mayor a cero";
+            }
+        }
+        return null;
+    }
+
+    private ResultadoOperacionResponse resultado(OperacionOfflineRequest operacion, String estado, String mensaje) {
+        return ResultadoOperacionResponse.builder()
+                .idOperacion(operacion.idOperacion())
+                .tipo(operacion.tipo())
+                .estado(estado)
+                .mensaje(mensaje)
+                .build();
+    }
+}
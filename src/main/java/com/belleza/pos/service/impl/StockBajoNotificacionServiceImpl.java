@@ -0,0 +1,86 @@
+package com.belleza.pos.service.impl;
+
+import com.belleza.pos.cache.StockBajoIndex;
+import com.belleza.pos.dto.response.StockBajoEventoResponse;
+import com.belleza.pos.service.StockBajoNotificacionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Implementación de la notificación de stock bajo por SSE.
+ *
+ * Cada suscriptor recibe primero el conjunto completo (evento "snapshot") y
+ * luego sólo los cambios (evento "stock-bajo"). Un comentario periódico
+ * mantiene abiertas las conexiones a través de proxies.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockBajoNotificacionServiceImpl implements StockBajoNotificacionService {
+
+    private final StockBajoIndex stockBajoIndex;
+
+    @Value("${app.stock.bajo.sse-timeout-ms:1800000}")
+    private Long timeout;
+
+    private final List<SseEmitter> suscriptores = new CopyOnWriteArrayList<>();
+
+    @Override
+    public SseEmitter suscribir() {
+        SseEmitter emitter = new SseEmitter(timeout);
+        emitter.onCompletion(() -> suscriptores.remove(emitter));
+        emitter.onTimeout(() -> suscriptores.remove(emitter));
+        emitter.onError(e -> suscriptores.remove(emitter));
+
+        // Se registra antes de leer el snapshot para no perder cambios publicados mientras tanto;
+        // un evento que llegue antes del snapshot ya está incluido en él
+        suscriptores.add(emitter);
+        try {
+            emitter.send(SseEmitter.event().name("snapshot").data(stockBajoIndex.listar()));
+        } catch (IOException e) {
+            suscriptores.remove(emitter);
+            emitter.completeWithError(e);
+            return emitter;
+        }
+
+        log.debug("Nueva suscripción a stock bajo; suscriptores: {}", suscriptores.size());
+        return emitter;
+    }
+
+    @Override
+    public void publicar(List<StockBajoEventoResponse> cambios) {
+        for (StockBajoEventoResponse cambio : cambios) {
+            enviar(SseEmitter.event().name("stock-bajo").data(cambio));
+        }
+    }
+
+    /**
+     * Mantiene vivas las conexiones inactivas
+     */
+    @Scheduled(fixedDelayString = "${app.stock.bajo.heartbeat-ms:30000}")
+    public void latido() {
+        if (!suscriptores.isEmpty()) {
+            enviar(SseEmitter.event().comment("ping"));
+        }
+    }
+
+    private void enviar(SseEmitter.SseEventBuilder evento) {
+        for (SseEmitter emitter : suscriptores) {
+            try {
+                emitter.send(evento);
+            } catch (IOException | IllegalStateException e) {
+                // Cliente desconectado
+                suscriptores.remove(emitter);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
@@ -131,7 +131,7 @@ public class SucursalServiceImpl implements SucursalService {
                 .orElseThrow(() -> new ResourceNotFoundException("Sucursal", "id", id));
 
         // Validar que no tenga usuarios activos
-        long usuariosActivos = usuarioRepository.findActiveUsuariosBySucursal(id).size();
+        long usuariosActivos = usuarioRepository.countBySucursal_IdSucursalAndActivoTrue(id);
         if (usuariosActivos > 0) {
             throw new BusinessException(
                     "No se puede desactivar la sucursal. Tiene " + usuariosActivos + " usuario(s) activo(s) asignado(s)");
@@ -152,7 +152,7 @@ public class SucursalServiceImpl implements SucursalService {
                 .orElseThrow(() -> new ResourceNotFoundException("Sucursal", "id", id));
 
         // Validar que no tenga usuarios activos
-        long usuariosActivos = usuarioRepository.findActiveUsuariosBySucursal(id).size();
+        long usuariosActivos = usuarioRepository.countBySucursal_IdSucursalAndActivoTrue(id);
         if (usuariosActivos > 0) {
             throw new BusinessException(
                     "No se puede eliminar la sucursal. Tiene " + usuariosActivos + " usuario(s) activo(s) asignado(s)");
@@ -174,7 +174,7 @@ public class SucursalServiceImpl implements SucursalService {
         }
 
         // Validar que no tenga usuarios asignados
-        long usuariosTotal = usuarioRepository.findBySucursal_IdSucursal(id).size();
+        long usuariosTotal = usuarioRepository.countBySucursal_IdSucursal(id);
         if (usuariosTotal > 0) {
             throw new BusinessException(
                     "No se puede eliminar permanentemente la sucursal. Tiene " + usuariosTotal + " usuario(s) asignado(s)");
@@ -199,6 +199,6 @@ public class SucursalServiceImpl implements SucursalService {
             throw new ResourceNotFoundException("Sucursal", "id", idSucursal);
         }
 
-        return usuarioRepository.findBySucursal_IdSucursal(idSucursal).size();
+        return usuarioRepository.countBySucursal_IdSucursal(idSucursal);
     }
 }
\ No newline at end of file
@@ -1,8 +1,10 @@
 package com.belleza.pos.service.impl;
 
+import com.belleza.pos.cache.EstadoUsuarioCache;
 import com.belleza.pos.dto.request.ChangePasswordRequest;
 import com.belleza.pos.dto.request.CreateUsuarioRequest;
 import com.belleza.pos.dto.request.UpdateUsuarioRequest;
+import com.belleza.pos.dto.response.CursorPageResponse;
 import com.belleza.pos.dto.response.UsuarioResponse;
 import com.belleza.pos.dto.response.UsuarioSimpleResponse;
 import com.belleza.pos.entity.Sucursal;
@@ -14,6 +16,7 @@ import com.belleza.pos.mapper.UsuarioMapper;
 import com.belleza.pos.repository.SucursalRepository;
 import com.belleza.pos.repository.UsuarioRepository;
 import com.belleza.pos.service.UsuarioService;
+import com.belleza.pos.util.CursorUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -37,6 +40,7 @@ public class UsuarioServiceImpl implements UsuarioService {
     private final SucursalRepository sucursalRepository;
     private final UsuarioMapper usuarioMapper;
     private final PasswordEncoder passwordEncoder;
+    private final EstadoUsuarioCache estadoUsuarioCache;
 
     @Override
     @Transactional
@@ -115,6 +119,7 @@ public class UsuarioServiceImpl implements UsuarioService {
         // Actualizar usuario
         usuarioMapper.updateEntity(usuario, request, sucursal);
         usuario = usuarioRepository.save(usuario);
+        estadoUsuarioCache.invalidar(usuario.getUsername());
 
         log.info("Usuario actualizado exitosamente: {}", id);
         return usuarioMapper.toResponse(usuario);
@@ -146,6 +151,22 @@ public class UsuarioServiceImpl implements UsuarioService {
                 .map(usuarioMapper::toResponse);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<UsuarioResponse> getAllByCursor(String cursor, int size) {
+        log.debug("Obteniendo usuarios por cursor");
+        CursorUtil.Cursor posicion = CursorUtil.decode(cursor);
+
+        List<Usuario> filas = posicion == null
+                ? usuarioRepository.findPrimerosPorUsername(CursorUtil.limite(size))
+                : usuarioRepository.findSiguientesPorUsername(posicion.clave(), posicion.id(), CursorUtil.limite(size));
+
+        return CursorUtil.toPage(filas, size, Usuario::getUsername, Usuario::getIdUsuario,
+                usuarios -> usuarios.stream()
+                        .map(usuarioMapper::toResponse)
+                        .collect(Collectors.toList()));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<UsuarioSimpleResponse> getAllActive() {
@@ -188,6 +209,7 @@ public class UsuarioServiceImpl implements UsuarioService {
 
         usuario.setActivo(true);
         usuario = usuarioRepository.save(usuario);
+        estadoUsuarioCache.invalidar(usuario.getUsername());
 
         log.info("Usuario activado exitosamente: {}", id);
         return usuarioMapper.toResponse(usuario);
@@ -202,6 +224,7 @@ public class UsuarioServiceImpl implements UsuarioService {
 
         usuario.setActivo(false);
         usuario = usuarioRepository.save(usuario);
+        estadoUsuarioCache.invalidar(usuario.getUsername());
 
         log.info("Usuario desactivado exitosamente: {}", id);
         return usuarioMapper.toResponse(usuario);
@@ -216,6 +239,7 @@ public class UsuarioServiceImpl implements UsuarioService {
 
         usuario.setActivo(false);
         usuarioRepository.save(usuario);
+        estadoUsuarioCache.invalidar(usuario.getUsername());
 
         log.info("Usuario eliminado exitosamente (soft delete): {}", id);
     }
@@ -225,11 +249,11 @@ public class UsuarioServiceImpl implements UsuarioService {
     public void deletePermanently(Integer id) {
         log.warn("Eliminando usuario permanentemente: {}", id);
 
-        if (!usuarioRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Usuario", "id", id);
-        }
+        Usuario usuario = usuarioRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuario", "id", id));
 
-        usuarioRepository.deleteById(id);
+        usuarioRepository.delete(usuario);
+        estadoUsuarioCache.invalidar(usuario.getUsername());
         log.info("Usuario eliminado permanentemente: {}", id);
     }
 
@@ -0,0 +1,275 @@
+package com.belleza.pos.service.impl;
+
+import com.belleza.pos.buffer.StockTotalBuffer;
+import com.belleza.pos.cache.MatrizPrecios;
+import com.belleza.pos.dto.request.ItemVentaRequest;
+import com.belleza.pos.dto.request.VentaRequest;
+import com.belleza.pos.dto.response.ItemCotizacionResponse;
+import com.belleza.pos.dto.response.VentaDetalleResponse;
+import com.belleza.pos.dto.response.VentaResponse;
+import com.belleza.pos.entity.Articulo;
+import com.belleza.pos.entity.ListaPrecio;
+import com.belleza.pos.entity.Venta;
+import com.belleza.pos.entity.enums.FormaPago;
+import com.belleza.pos.entity.enums.TipoMovimientoStock;
+import com.belleza.pos.exception.BusinessException;
+import com.belleza.pos.exception.ResourceNotFoundException;
+import com.belleza.pos.repository.*;
+import com.belleza.pos.repository.projection.PrecioVentaView;
+import com.belleza.pos.repository.projection.StockSucursalView;
+import com.belleza.pos.security.service.SucursalActualService;
+import com.belleza.pos.service.CuentaCorrienteService;
+import com.belleza.pos.service.MovimientoStockService;
+import com.belleza.pos.service.VentaService;
+import com.belleza.pos.util.SecurityUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación del servicio de ventas.
+ *
+ * Una venta se registra en una sola transacción corta: los precios se leen
+ * de la base con una sola consulta, el stock de la sucursal se descuenta con
+ * UPDATE condicionales en orden de ID de artículo (todas las ventas toman los
+ * bloqueos en el mismo orden y no se producen deadlocks), la cuenta
+ * corriente se carga con un UPDATE condicional que queda asentado en el
+ * libro de movimientos y las líneas se insertan en un único lote. La matriz
+ * de precios en memoria se usa sólo para cotizar: puede no estar cargada o
+ * no reflejar todavía un cambio recién confirmado.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VentaServiceImpl implements VentaService {
+
+    private static final String INSERT_DETALLE = "INSERT INTO ventas_detalle (id_venta, id_articulo, cantidad, " +
+            "precio_unitario, iva_porcentaje, subtotal, iva, total) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final VentaRepository ventaRepository;
+    private final VentaDetalleRepository ventaDetalleRepository;
+    private final ArticuloRepository articuloRepository;
+    private final StockSucursalRepository stockSucursalRepository;
+    private final ClienteRepository clienteRepository;
+    private final SucursalRepository sucursalRepository;
+    private final ListaPrecioRepository listaPrecioRepository;
+    private final ArticuloPrecioRepository articuloPrecioRepository;
+    private final MovimientoStockService movimientoStockService;
+    private final CuentaCorrienteService cuentaCorrienteService;
+    private final StockTotalBuffer stockTotalBuffer;
+    private final SucursalActualService sucursalActualService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public VentaResponse registrar(VentaRequest request) {
+        log.info("Registrando venta de {} ítems", request.items().size());
+
+        FormaPago formaPago = formaPago(request.formaPago());
+        if (formaPago == FormaPago.CUENTA_CORRIENTE && request.idCliente() == null) {
+            throw new BusinessException("La venta en cuenta corriente requiere un cliente");
+        }
+        if (request.idCliente() != null && !clienteRepository.existsById(request.idCliente())) {
+            throw new ResourceNotFoundException("Cliente", "id", request.idCliente());
+        }
+
+        // Una línea por artículo, ordenadas por ID
+        Map<Integer, BigDecimal> cantidades = new TreeMap<>();
+        for (ItemVentaRequest item : request.items()) {
+            cantidades.merge(item.idArticulo(), item.cantidad(), BigDecimal::add);
+        }
+
+        Map<Integer, Articulo> articulos = articuloRepository.findAllById(cantidades.keySet()).stream()
+                .collect(Collectors.toMap(Articulo::getIdArticulo, Function.identity()));
+        for (Integer idArticulo : cantidades.keySet()) {
+            Articulo articulo = articulos.get(idArticulo);
+            if (articulo == null) {
+                throw new ResourceNotFoundException("Artículo", "id", idArticulo);
+            }
+            if (!articulo.getActivo()) {
+                throw new BusinessException("El artículo no está activo: " + articulo.getDescripcion());
+            }
+        }
+
+        ListaPrecio lista = request.idLista() != null
+                ? listaPrecioRepository.findById(request.idLista())
+                        .orElseThrow(() -> new ResourceNotFoundException("Lista de precios", "id", request.idLista()))
+                : listaPrecioRepository.findByEsPredeterminada(true)
+                        .orElseThrow(() -> new ResourceNotFoundException("No hay una lista de precios predeterminada configurada"));
+        if (!lista.getActivo()) {
+            throw new BusinessException("La lista de precios no está activa: " + lista.getNombre());
+        }
+
+        List<ItemCotizacionResponse> lineas = lineas(lista, cantidades);
+
+        // Descontar stock de la sucursal en orden de ID de artículo
+        Integer idSucursal = sucursalActualService.getIdSucursal();
+        List<Integer> controlados = cantidades.keySet().stream()
+                .filter(id -> articulos.get(id).getUsaControlStock())
+                .toList();
+
+        for (Integer idArticulo : controlados) {
+            if (stockSucursalRepository.decrementarStock(idArticulo, idSucursal, cantidades.get(idArticulo)) == 0) {
+                throw new BusinessException("No hay suficiente stock disponible en la sucursal para: "
+                        + articulos.get(idArticulo).getDescripcion());
+            }
+        }
+
+        Venta venta = new Venta();
+        venta.setSucursal(sucursalRepository.getReferenceById(idSucursal));
+        venta.setCliente(request.idCliente() != null ? clienteRepository.getReferenceById(request.idCliente()) : null);
+        venta.setListaPrecio(lista);
+        venta.setFormaPago(formaPago);
+        venta.setUsername(SecurityUtil.getUsernameActual());
+        BigDecimal subtotal = lineas.stream().map(ItemCotizacionResponse::getSubtotal).reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal total = lineas.stream().map(ItemCotizacionResponse::getTotal).reduce(BigDecimal.ZERO, BigDecimal::add);
+        venta.setSubtotal(subtotal);
+        venta.setIva(total.subtract(subtotal));
+        venta.setTotal(total);
+        venta.setFecha(LocalDateTime.now());
+        venta = ventaRepository.save(venta);
+
+        Long idVenta = venta.getIdVenta();
+        if (formaPago == FormaPago.CUENTA_CORRIENTE) {
+            cuentaCorrienteService.cargar(request.idCliente(), venta.getTotal(), idVenta, "Venta #" + idVenta);
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_DETALLE, lineas.stream()
+                .map(i -> new Object[]{idVenta, i.getIdArticulo(), i.getCantidad(), i.getPrecioUnitario(),
+                        i.getIvaPorcentaje(), i.getSubtotal(), i.getIva(), i.getTotal()})
+                .toList());
+
+        // Kardex y total consolidado; ambos se escriben luego del commit
+        if (!controlados.isEmpty()) {
+            Map<Integer, BigDecimal> saldos = stockSucursalRepository.findStocks(controlados, idSucursal).stream()
+                    .collect(Collectors.toMap(StockSucursalView::getIdArticulo, StockSucursalView::getStockActual));
+            for (Integer idArticulo : controlados) {
+                movimientoStockService.registrar(idArticulo, idSucursal, TipoMovimientoStock.EGRESO,
+                        cantidades.get(idArticulo), saldos.getOrDefault(idArticulo, BigDecimal.ZERO),
+                        "Venta #" + idVenta);
+            }
+            stockTotalBuffer.marcarLote(controlados);
+        }
+
+        log.info("Venta {} registrada. Total: {}", idVenta, venta.getTotal());
+
+        List<VentaDetalleResponse> items = lineas.stream()
+                .map(i -> toDetalleResponse(i, articulos.get(i.getIdArticulo())))
+                .toList();
+        return toResponse(venta, idSucursal, request.idCliente(), lista.getIdLista(), items);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public VentaResponse getById(Long id) {
+        log.debug("Obteniendo venta por ID: {}", id);
+        Venta venta = ventaRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Venta", "id", id));
+
+        List<VentaDetalleResponse> items = ventaDetalleRepository.findByVenta_IdVentaOrderByIdDetalle(id).stream()
+                .map(d -> VentaDetalleResponse.builder()
+                        .idArticulo(d.getArticulo().getIdArticulo())
+                        .codigoBarras(d.getArticulo().getCodigoBarras())
+                        .descripcion(d.getArticulo().getDescripcion())
+                        .cantidad(d.getCantidad())
+                        .precioUnitario(d.getPrecioUnitario())
+                        .ivaPorcentaje(d.getIvaPorcentaje())
+                        .subtotal(d.getSubtotal())
+                        .iva(d.getIva())
+                        .total(d.getTotal())
+                        .build())
+                .toList();
+
+        return toResponse(venta,
+                venta.getSucursal().getIdSucursal(),
+                venta.getCliente() != null ? venta.getCliente().getIdCliente() : null,
+                venta.getListaPrecio().getIdLista(),
+                items);
+    }
+
+    /**
+     * Líneas de la venta con los precios vigentes en la base, leídos en una sola consulta
+     * dentro de la transacción de la venta
+     */
+    private List<ItemCotizacionResponse> lineas(ListaPrecio lista, Map<Integer, BigDecimal> cantidades) {
+        Map<Integer, PrecioVentaView> precios = articuloPrecioRepository
+                .findPreciosVenta(lista.getIdLista(), cantidades.keySet()).stream()
+                .collect(Collectors.toMap(PrecioVentaView::getIdArticulo, Function.identity()));
+
+        List<Integer> sinPrecio = cantidades.keySet().stream().filter(id -> !precios.containsKey(id)).toList();
+        if (!sinPrecio.isEmpty()) {
+            throw new BusinessException("Artículos sin precio en la lista " + lista.getNombre() + ": " + sinPrecio);
+        }
+
+        List<ItemCotizacionResponse> lineas = new ArrayList<>(cantidades.size());
+        cantidades.forEach((idArticulo, cantidad) -> {
+            PrecioVentaView precio = precios.get(idArticulo);
+            BigDecimal ivaPorcentaje = precio.getIvaPorcentaje() != null
+                    ? precio.getIvaPorcentaje()
+                    : MatrizPrecios.IVA_PREDETERMINADO;
+            BigDecimal unitarioConIva = MatrizPrecios.conIva(precio.getPrecioVenta(), ivaPorcentaje);
+            BigDecimal neto = precio.getPrecioVenta().multiply(cantidad).setScale(2, RoundingMode.HALF_UP);
+            BigDecimal conIva = unitarioConIva.multiply(cantidad).setScale(2, RoundingMode.HALF_UP);
+
+            lineas.add(ItemCotizacionResponse.builder()
+                    .idArticulo(idArticulo)
+                    .cantidad(cantidad)
+                    .precioUnitario(precio.getPrecioVenta())
+                    .ivaPorcentaje(ivaPorcentaje)
+                    .precioUnitarioConIva(unitarioConIva)
+                    .subtotal(neto)
+                    .iva(conIva.subtract(neto))
+                    .total(conIva)
+                    .build());
+        });
+        return lineas;
+    }
+
+    private FormaPago formaPago(String formaPago) {
+        try {
+            return FormaPago.valueOf(formaPago.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Forma de pago inválida: " + formaPago);
+        }
+    }
+
+    private VentaDetalleResponse toDetalleResponse(ItemCotizacionResponse item, Articulo articulo) {
+        return VentaDetalleResponse.builder()
+                .idArticulo(item.getIdArticulo())
+                .codigoBarras(articulo.getCodigoBarras())
+                .descripcion(articulo.getDescripcion())
+                .cantidad(item.getCantidad())
+                .precioUnitario(item.getPrecioUnitario())
+                .ivaPorcentaje(item.getIvaPorcentaje())
+                .subtotal(item.getSubtotal())
+                .iva(item.getIva())
+                .total(item.getTotal())
+                .build();
+    }
+
+    private VentaResponse toResponse(Venta venta, Integer idSucursal, Integer idCliente, Integer idLista,
+                                     List<VentaDetalleResponse> items) {
+        return VentaResponse.builder()
+                .idVenta(venta.getIdVenta())
+                .fecha(venta.getFecha())
+                .idSucursal(idSucursal)
+                .idCliente(idCliente)
+                .idLista(idLista)
+                .formaPago(venta.getFormaPago().name())
+                .username(venta.getUsername())
+                .items(items)
+                .subtotal(venta.getSubtotal())
+                .iva(venta.getIva())
+                .total(venta.getTotal())
+                .build();
+    }
+}
@@ -0,0 +1,104 @@
+package com.belleza.pos.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utilidad para lectura y escritura de CSV según RFC 4180.
+ *
+ * La lectura se hace registro por registro sobre un BufferedReader, de modo
+ * que el archivo nunca se carga completo en memoria. Soporta campos entre
+ * comillas con separadores, comillas dobles y saltos de línea embebidos.
+ */
+public final class CsvUtil {
+
+    public static final char SEPARADOR = ',';
+
+    /**
+     * Prefijo de las columnas de precio, seguido del ID de la lista
+     */
+    public static final String PREFIJO_PRECIO = "precio_";
+
+    private static final char COMILLA = '"';
+
+    private CsvUtil() {
+    }
+
+    /**
+     * Nombre de la columna de precio de una lista, común a exportación e importación
+     */
+    public static String columnaPrecio(Integer idLista) {
+        return PREFIJO_PRECIO + idLista;
+    }
+
+    /**
+     * Lee el próximo registro; devuelve null al llegar al final del archivo
+     */
+    public static List<String> leerRegistro(BufferedReader reader) throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreComillas = false;
+
+        while (c != -1) {
+            char actual = (char) c;
+
+            if (entreComillas) {
+                if (actual == COMILLA) {
+                    reader.mark(1);
+                    int siguiente = reader.read();
+                    if (siguiente == COMILLA) {
+                        campo.append(COMILLA);
+                    } else {
+                        entreComillas = false;
+                        if (siguiente != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    campo.append(actual);
+                }
+            } else if (actual == COMILLA) {
+                entreComillas = true;
+            } else if (actual == SEPARADOR) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (actual == '\n') {
+                break;
+            } else if (actual == '\r') {
+                reader.mark(1);
+                if (reader.read() != '\n') {
+                    reader.reset();
+                }
+                break;
+            } else {
+                campo.append(actual);
+            }
+
+            c = reader.read();
+        }
+
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    /**
+     * Escapa un campo de texto para escribirlo en CSV
+     */
+    public static String escapar(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(SEPARADOR) >= 0 || valor.indexOf(COMILLA) >= 0
+                || valor.indexOf('\n') >= 0 || valor.indexOf('\r') >= 0) {
+            return COMILLA + valor.replace("\"", "\"\"") + COMILLA;
+        }
+        return valor;
+    }
+}
@@ -0,0 +1,93 @@
+package com.belleza.pos.util;
+
+import com.belleza.pos.dto.response.CursorPageResponse;
+import com.belleza.pos.exception.BusinessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Utilidad para paginación por cursor (keyset).
+ *
+ * El cursor codifica la clave de ordenamiento y el ID de la última fila
+ * devuelta, de modo que la página siguiente se obtiene con
+ * WHERE (clave, id) > (?, ?) sin OFFSET ni consulta de conteo.
+ */
+public final class CursorUtil {
+
+    public static final int MAX_SIZE = 100;
+
+    private static final char SEPARADOR = '|';
+
+    private CursorUtil() {
+    }
+
+    /**
+     * Posición decodificada de un cursor
+     */
+    public record Cursor(String clave, Integer id) {}
+
+    /**
+     * Codifica la posición de la última fila en un cursor opaco
+     */
+    public static String encode(String clave, Integer id) {
+        String valor = clave + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un cursor; devuelve null si no se proporciona
+     */
+    public static Cursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int pos = valor.lastIndexOf(SEPARADOR);
+            return new Cursor(valor.substring(0, pos), Integer.valueOf(valor.substring(pos + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BusinessException("Cursor inválido");
+        }
+    }
+
+    /**
+     * Límite de filas a consultar: una más que el tamaño para saber si hay página siguiente
+     */
+    public static Pageable limite(int size) {
+        return PageRequest.ofSize(normalizarSize(size) + 1);
+    }
+
+    /**
+     * Arma la página a partir de las filas consultadas con {@link #limite(int)}
+     */
+    public static <E, R> CursorPageResponse<R> toPage(List<E> filas, int size,
+                                                      Function<E, String> clave,
+                                                      Function<E, Integer> id,
+                                                      Function<List<E>, List<R>> mapper) {
+        int tamanio = normalizarSize(size);
+        boolean hasNext = filas.size() > tamanio;
+        List<E> pagina = hasNext ? filas.subList(0, tamanio) : filas;
+
+        String nextCursor = null;
+        if (hasNext) {
+            E ultima = pagina.get(pagina.size() - 1);
+            nextCursor = encode(clave.apply(ultima), id.apply(ultima));
+        }
+
+        return CursorPageResponse.<R>builder()
+                .content(mapper.apply(pagina))
+                .size(pagina.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private static int normalizarSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+}
@@ -0,0 +1,41 @@
+package com.belleza.pos.util;
+
+import com.belleza.pos.entity.enums.RolUsuario;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Set;
+
+/**
+ * Utilidad para acceder al usuario autenticado
+ */
+public final class SecurityUtil {
+
+    private SecurityUtil() {
+    }
+
+    /**
+     * Devuelve el username del usuario autenticado o null si no hay autenticación
+     */
+    public static String getUsernameActual() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    /**
+     * Indica si el usuario autenticado tiene alguno de los roles indicados
+     */
+    public static boolean tieneAlgunRol(Set<RolUsuario> roles) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return false;
+        }
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(autoridad -> roles.stream().anyMatch(rol -> autoridad.equals("ROLE_" + rol.name())));
+    }
+}
@@ -0,0 +1,30 @@
+package com.belleza.pos.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utilidades para coordinar acciones con la transacción en curso
+ */
+public final class TransactionUtil {
+
+    private TransactionUtil() {
+    }
+
+    /**
+     * Ejecuta la acción después del commit de la transacción actual.
+     * Si no hay transacción activa, la ejecuta inmediatamente.
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
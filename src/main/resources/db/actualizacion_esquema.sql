@@ -0,0 +1,180 @@
+-- ===============================================
+-- ACTUALIZACIÓN DEL ESQUEMA (MySQL 8)
+-- ===============================================
+-- La aplicación corre con spring.jpa.hibernate.ddl-auto=none, por lo que las
+-- tablas, columnas e índices que usan stock por sucursal, kardex, ventas,
+-- cuentas corrientes, numeraciones, idempotencia, sincronización offline y
+-- revocación de tokens se crean con este script. Debe ejecutarse una sola vez
+-- sobre la base existente, antes de iniciar la nueva versión.
+--
+-- Al primer inicio, StockTotalBuffer asigna el stock_actual existente de cada
+-- artículo a la sucursal predeterminada (app.default-sucursal-id) si
+-- stock_sucursales está vacía.
+
+-- ========== Artículos ==========
+
+ALTER TABLE articulos
+    ADD COLUMN stock_bajo BOOLEAN NOT NULL DEFAULT FALSE,
+    ADD COLUMN version_catalogo BIGINT NOT NULL DEFAULT 0,
+    ADD INDEX idx_articulos_descripcion (descripcion, id_articulo),
+    ADD INDEX idx_articulos_stock_bajo (stock_bajo),
+    ADD INDEX idx_articulos_version_catalogo (version_catalogo);
+
+UPDATE articulos
+SET stock_bajo = COALESCE(usa_control_stock = TRUE AND activo = TRUE AND stock_actual <= stock_minimo, FALSE);
+
+-- ========== Clientes ==========
+
+ALTER TABLE clientes
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0,
+    ADD INDEX idx_clientes_nombre (nombre, id_cliente);
+
+-- ========== Numeraciones y contadores ==========
+
+CREATE TABLE secuencias (
+    nombre        VARCHAR(50) NOT NULL,
+    proximo_valor BIGINT      NOT NULL,
+    PRIMARY KEY (nombre)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- ========== Stock por sucursal y kardex ==========
+
+CREATE TABLE stock_sucursales (
+    id_stock_sucursal INT            NOT NULL AUTO_INCREMENT,
+    id_articulo       INT            NOT NULL,
+    id_sucursal       INT            NOT NULL,
+    stock_actual      DECIMAL(10, 3) NOT NULL DEFAULT 0,
+    PRIMARY KEY (id_stock_sucursal),
+    UNIQUE KEY uk_stock_sucursales_articulo_sucursal (id_articulo, id_sucursal),
+    INDEX idx_stock_sucursales_sucursal (id_sucursal, id_articulo),
+    CONSTRAINT fk_stock_sucursales_articulo FOREIGN KEY (id_articulo) REFERENCES articulos (id_articulo),
+    CONSTRAINT fk_stock_sucursales_sucursal FOREIGN KEY (id_sucursal) REFERENCES sucursales (id_sucursal)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE movimientos_stock (
+    id_movimiento BIGINT         NOT NULL AUTO_INCREMENT,
+    id_articulo   INT            NOT NULL,
+    id_sucursal   INT            NOT NULL,
+    tipo          VARCHAR(20)    NOT NULL,
+    cantidad      DECIMAL(10, 3) NOT NULL,
+    saldo         DECIMAL(10, 3) NOT NULL,
+    username      VARCHAR(50),
+    motivo        VARCHAR(255),
+    fecha         DATETIME(6)    NOT NULL,
+    PRIMARY KEY (id_movimiento),
+    INDEX idx_movimientos_stock_articulo_fecha (id_articulo, id_sucursal, fecha, id_movimiento),
+    INDEX idx_movimientos_stock_fecha (fecha),
+    CONSTRAINT fk_movimientos_stock_articulo FOREIGN KEY (id_articulo) REFERENCES articulos (id_articulo),
+    CONSTRAINT fk_movimientos_stock_sucursal FOREIGN KEY (id_sucursal) REFERENCES sucursales (id_sucursal)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE saldos_stock (
+    id_saldo    BIGINT         NOT NULL AUTO_INCREMENT,
+    id_articulo INT            NOT NULL,
+    id_sucursal INT            NOT NULL,
+    saldo       DECIMAL(10, 3) NOT NULL,
+    fecha       DATETIME(6)    NOT NULL,
+    PRIMARY KEY (id_saldo),
+    INDEX idx_saldos_stock_articulo_fecha (id_articulo, id_sucursal, fecha),
+    CONSTRAINT fk_saldos_stock_articulo FOREIGN KEY (id_articulo) REFERENCES articulos (id_articulo),
+    CONSTRAINT fk_saldos_stock_sucursal FOREIGN KEY (id_sucursal) REFERENCES sucursales (id_sucursal)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- ========== Ventas ==========
+
+CREATE TABLE ventas (
+    id_venta    BIGINT         NOT NULL AUTO_INCREMENT,
+    id_sucursal INT            NOT NULL,
+    id_cliente  INT,
+    id_lista    INT            NOT NULL,
+    forma_pago  VARCHAR(20)    NOT NULL,
+    username    VARCHAR(50),
+    subtotal    DECIMAL(15, 2) NOT NULL,
+    iva         DECIMAL(15, 2) NOT NULL,
+    total       DECIMAL(15, 2) NOT NULL,
+    fecha       DATETIME(6)    NOT NULL,
+    PRIMARY KEY (id_venta),
+    INDEX idx_ventas_fecha (fecha),
+    INDEX idx_ventas_cliente_fecha (id_cliente, fecha),
+    CONSTRAINT fk_ventas_sucursal FOREIGN KEY (id_sucursal) REFERENCES sucursales (id_sucursal),
+    CONSTRAINT fk_ventas_cliente FOREIGN KEY (id_cliente) REFERENCES clientes (id_cliente),
+    CONSTRAINT fk_ventas_lista FOREIGN KEY (id_lista) REFERENCES listas_precios (id_lista)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE ventas_detalle (
+    id_detalle      BIGINT         NOT NULL AUTO_INCREMENT,
+    id_venta        BIGINT         NOT NULL,
+    id_articulo     INT            NOT NULL,
+    cantidad        DECIMAL(10, 3) NOT NULL,
+    precio_unitario DECIMAL(15, 2) NOT NULL,
+    iva_porcentaje  DECIMAL(5, 2)  NOT NULL,
+    subtotal        DECIMAL(15, 2) NOT NULL,
+    iva             DECIMAL(15, 2) NOT NULL,
+    total           DECIMAL(15, 2) NOT NULL,
+    PRIMARY KEY (id_detalle),
+    INDEX idx_ventas_detalle_venta (id_venta),
+    CONSTRAINT fk_ventas_detalle_venta FOREIGN KEY (id_venta) REFERENCES ventas (id_venta),
+    CONSTRAINT fk_ventas_detalle_articulo FOREIGN KEY (id_articulo) REFERENCES articulos (id_articulo)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- ========== Cuentas corrientes ==========
+
+CREATE TABLE movimientos_cuenta_corriente (
+    id_movimiento BIGINT         NOT NULL AUTO_INCREMENT,
+    id_cliente    INT            NOT NULL,
+    id_venta      BIGINT,
+    tipo          VARCHAR(20)    NOT NULL,
+    monto         DECIMAL(15, 2) NOT NULL,
+    saldo         DECIMAL(15, 2) NOT NULL,
+    username      VARCHAR(50),
+    descripcion   VARCHAR(255),
+    fecha         DATETIME(6)    NOT NULL,
+    PRIMARY KEY (id_movimiento),
+    INDEX idx_movimientos_cc_cliente_fecha (id_cliente, fecha, id_movimiento),
+    INDEX idx_movimientos_cc_fecha (fecha),
+    CONSTRAINT fk_movimientos_cc_cliente FOREIGN KEY (id_cliente) REFERENCES clientes (id_cliente),
+    CONSTRAINT fk_movimientos_cc_venta FOREIGN KEY (id_venta) REFERENCES ventas (id_venta)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE saldos_cuenta_corriente (
+    id_saldo   BIGINT         NOT NULL AUTO_INCREMENT,
+    id_cliente INT            NOT NULL,
+    saldo      DECIMAL(15, 2) NOT NULL,
+    fecha      DATETIME(6)    NOT NULL,
+    PRIMARY KEY (id_saldo),
+    INDEX idx_saldos_cc_cliente_fecha (id_cliente, fecha),
+    CONSTRAINT fk_saldos_cc_cliente FOREIGN KEY (id_cliente) REFERENCES clientes (id_cliente)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- ========== Idempotencia y sincronización offline ==========
+
+CREATE TABLE claves_idempotencia (
+    clave            VARCHAR(100) NOT NULL,
+    username         VARCHAR(50),
+    operacion        VARCHAR(200) NOT NULL,
+    respuesta        MEDIUMTEXT,
+    fecha_creacion   DATETIME(6)  NOT NULL,
+    fecha_expiracion DATETIME(6)  NOT NULL,
+    PRIMARY KEY (clave),
+    INDEX idx_claves_idempotencia_expiracion (fecha_expiracion)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE operaciones_offline_aplicadas (
+    id_operacion     VARCHAR(64) NOT NULL,
+    tipo             VARCHAR(20) NOT NULL,
+    username         VARCHAR(50),
+    fecha_operacion  DATETIME(6) NOT NULL,
+    fecha_aplicacion DATETIME(6) NOT NULL,
+    PRIMARY KEY (id_operacion)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- ========== Revocación de tokens ==========
+
+CREATE TABLE tokens_revocados (
+    jti              VARCHAR(36) NOT NULL,
+    username         VARCHAR(50),
+    fecha_revocacion DATETIME(6) NOT NULL,
+    fecha_expiracion DATETIME(6) NOT NULL,
+    PRIMARY KEY (jti),
+    INDEX idx_tokens_revocados_expiracion (fecha_expiracion)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,153 @@
+package com.belleza.pos.repository;
+
+import com.belleza.pos.entity.Articulo;
+import com.belleza.pos.entity.StockSucursal;
+import com.belleza.pos.entity.Sucursal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que los UPDATE condicionales del stock por sucursal son atómicos:
+ * con muchos hilos compitiendo por la misma fila no se vende más que el stock
+ * disponible ni se pierden actualizaciones.
+ *
+ * Cada operación corre en su propia transacción confirmada, por lo que la
+ * clase no usa la transacción de prueba y limpia los datos al terminar.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockSucursalRepositoryConcurrenciaTest {
+
+    private static final int HILOS = 200;
+
+    private static final BigDecimal STOCK_INICIAL = BigDecimal.valueOf(150);
+
+    @Autowired
+    private StockSucursalRepository stockSucursalRepository;
+
+    @Autowired
+    private ArticuloRepository articuloRepository;
+
+    @Autowired
+    private SucursalRepository sucursalRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Integer idArticulo;
+    private Integer idSucursal;
+
+    @BeforeEach
+    void cargarDatos() {
+        Sucursal sucursal = new Sucursal();
+        sucursal.setNombre("Centro");
+        sucursal = sucursalRepository.save(sucursal);
+
+        Articulo articulo = new Articulo();
+        articulo.setCodigoBarras("7790000000001");
+        articulo.setDescripcion("Shampoo");
+        articulo = articuloRepository.save(articulo);
+
+        StockSucursal stock = new StockSucursal();
+        stock.setArticulo(articulo);
+        stock.setSucursal(sucursal);
+        stock.setStockActual(STOCK_INICIAL);
+        stockSucursalRepository.save(stock);
+
+        idArticulo = articulo.getIdArticulo();
+        idSucursal = sucursal.getIdSucursal();
+    }
+
+    @AfterEach
+    void limpiarDatos() {
+        stockSucursalRepository.deleteAll();
+        articuloRepository.deleteAll();
+        sucursalRepository.deleteAll();
+    }
+
+    @Test
+    void decrementosConcurrentesNoVendenMasQueElStockDisponible() throws Exception {
+        AtomicInteger exitosos = new AtomicInteger();
+
+        ejecutarEnParalelo(i -> {
+            if (decrementar(BigDecimal.ONE) == 1) {
+                exitosos.incrementAndGet();
+            }
+        });
+
+        assertThat(exitosos.get()).isEqualTo(STOCK_INICIAL.intValue());
+        assertThat(stockSucursalRepository.findStock(idArticulo, idSucursal))
+                .hasValueSatisfying(stock -> assertThat(stock).isEqualByComparingTo(BigDecimal.ZERO));
+    }
+
+    @Test
+    void incrementosYDecrementosConcurrentesNoPierdenActualizaciones() throws Exception {
+        AtomicInteger decrementos = new AtomicInteger();
+
+        ejecutarEnParalelo(i -> {
+            if (i % 2 == 0) {
+                new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                        stockSucursalRepository.incrementarStock(idArticulo, idSucursal, BigDecimal.ONE));
+            } else if (decrementar(BigDecimal.ONE) == 1) {
+                decrementos.incrementAndGet();
+            }
+        });
+
+        // El stock alcanza para todos los decrementos: ninguno puede fallar
+        assertThat(decrementos.get()).isEqualTo(HILOS / 2);
+        assertThat(stockSucursalRepository.findStock(idArticulo, idSucursal))
+                .hasValueSatisfying(stock -> assertThat(stock).isEqualByComparingTo(STOCK_INICIAL));
+    }
+
+    private int decrementar(BigDecimal cantidad) {
+        Integer filas = new TransactionTemplate(transactionManager).execute(status ->
+                stockSucursalRepository.decrementarStock(idArticulo, idSucursal, cantidad));
+        return filas != null ? filas : 0;
+    }
+
+    /**
+     * Lanza la operación en HILOS hilos a la vez y espera a que terminen todos
+     */
+    private void ejecutarEnParalelo(IntConsumer operacion) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<Future<?>> tareas = new ArrayList<>(HILOS);
+            for (int i = 0; i < HILOS; i++) {
+                int indice = i;
+                tareas.add(executor.submit(() -> {
+                    largada.await();
+                    operacion.accept(indice);
+                    return null;
+                }));
+            }
+
+            largada.countDown();
+            for (Future<?> tarea : tareas) {
+                tarea.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
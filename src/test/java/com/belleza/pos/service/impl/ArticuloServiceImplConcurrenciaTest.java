@@ -0,0 +1,166 @@
+package com.belleza.pos.service.impl;
+
+import com.belleza.pos.buffer.StockTotalBuffer;
+import com.belleza.pos.cache.ArticuloSearchIndex;
+import com.belleza.pos.cache.CodigoBarrasIndex;
+import com.belleza.pos.cache.ConteoCache;
+import com.belleza.pos.cache.MatrizPrecios;
+import com.belleza.pos.cache.StockBajoIndex;
+import com.belleza.pos.cache.VencimientoIndex;
+import com.belleza.pos.entity.Articulo;
+import com.belleza.pos.entity.StockSucursal;
+import com.belleza.pos.entity.Sucursal;
+import com.belleza.pos.exception.BusinessException;
+import com.belleza.pos.mapper.ArticuloMapper;
+import com.belleza.pos.repository.ArticuloRepository;
+import com.belleza.pos.repository.StockSucursalRepository;
+import com.belleza.pos.repository.SucursalRepository;
+import com.belleza.pos.security.service.SucursalActualService;
+import com.belleza.pos.service.ArticuloService;
+import com.belleza.pos.service.CatalogoService;
+import com.belleza.pos.service.MovimientoStockService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica que los decrementos de stock de ArticuloServiceImpl no se pisan:
+ * con 200 ventas concurrentes del mismo artículo no se vende más que el stock
+ * disponible y el stock final es exacto.
+ *
+ * Cada llamada al servicio confirma su propia transacción, por lo que la clase
+ * no usa la transacción de prueba y limpia los datos al terminar.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ArticuloServiceImpl.class, ArticuloMapper.class})
+class ArticuloServiceImplConcurrenciaTest {
+
+    private static final int HILOS = 200;
+
+    private static final BigDecimal STOCK_INICIAL = BigDecimal.valueOf(150);
+
+    @Autowired
+    private ArticuloService articuloService;
+
+    @Autowired
+    private ArticuloRepository articuloRepository;
+
+    @Autowired
+    private SucursalRepository sucursalRepository;
+
+    @Autowired
+    private StockSucursalRepository stockSucursalRepository;
+
+    @MockBean
+    private CodigoBarrasIndex codigoBarrasIndex;
+    @MockBean
+    private ArticuloSearchIndex articuloSearchIndex;
+    @MockBean
+    private CatalogoService catalogoService;
+    @MockBean
+    private MovimientoStockService movimientoStockService;
+    @MockBean
+    private SucursalActualService sucursalActualService;
+    @MockBean
+    private StockTotalBuffer stockTotalBuffer;
+    @MockBean
+    private StockBajoIndex stockBajoIndex;
+    @MockBean
+    private VencimientoIndex vencimientoIndex;
+    @MockBean
+    private ConteoCache conteoCache;
+    @MockBean
+    private MatrizPrecios matrizPrecios;
+
+    private Integer idArticulo;
+    private Integer idSucursal;
+
+    @BeforeEach
+    void cargarDatos() {
+        when(matrizPrecios.ivaDeRubro(any())).thenReturn(MatrizPrecios.IVA_PREDETERMINADO);
+
+        Sucursal sucursal = new Sucursal();
+        sucursal.setNombre("Centro");
+        sucursal = sucursalRepository.save(sucursal);
+
+        Articulo articulo = new Articulo();
+        articulo.setCodigoBarras("7790000000001");
+        articulo.setDescripcion("Shampoo");
+        articulo.setUsaControlStock(true);
+        articulo = articuloRepository.save(articulo);
+
+        StockSucursal stock = new StockSucursal();
+        stock.setArticulo(articulo);
+        stock.setSucursal(sucursal);
+        stock.setStockActual(STOCK_INICIAL);
+        stockSucursalRepository.save(stock);
+
+        idArticulo = articulo.getIdArticulo();
+        idSucursal = sucursal.getIdSucursal();
+        when(sucursalActualService.getIdSucursal()).thenReturn(idSucursal);
+    }
+
+    @AfterEach
+    void limpiarDatos() {
+        stockSucursalRepository.deleteAll();
+        articuloRepository.deleteAll();
+        sucursalRepository.deleteAll();
+    }
+
+    @Test
+    void decrementosConcurrentesNoVendenMasQueElStockDisponible() throws Exception {
+        AtomicInteger exitosos = new AtomicInteger();
+        AtomicInteger rechazados = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<Future<?>> tareas = new ArrayList<>(HILOS);
+            for (int i = 0; i < HILOS; i++) {
+                tareas.add(executor.submit(() -> {
+                    largada.await();
+                    try {
+                        articuloService.decrementarStock(idArticulo, BigDecimal.ONE);
+                        exitosos.incrementAndGet();
+                    } catch (BusinessException e) {
+                        rechazados.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+
+            largada.countDown();
+            for (Future<?> tarea : tareas) {
+                tarea.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(exitosos.get()).isEqualTo(STOCK_INICIAL.intValue());
+        assertThat(rechazados.get()).isEqualTo(HILOS - STOCK_INICIAL.intValue());
+        assertThat(stockSucursalRepository.findStock(idArticulo, idSucursal))
+                .hasValueSatisfying(stock -> assertThat(stock).isEqualByComparingTo(BigDecimal.ZERO));
+    }
+}
@@ -0,0 +1,217 @@
+package com.belleza.pos.service.impl;
+
+import com.belleza.pos.buffer.StockTotalBuffer;
+import com.belleza.pos.cache.ArticuloSearchIndex;
+import com.belleza.pos.cache.CodigoBarrasIndex;
+import com.belleza.pos.cache.ConteoCache;
+import com.belleza.pos.cache.MatrizPrecios;
+import com.belleza.pos.cache.StockBajoIndex;
+import com.belleza.pos.cache.VencimientoIndex;
+import com.belleza.pos.dto.response.ArticuloResponse;
+import com.belleza.pos.entity.*;
+import com.belleza.pos.mapper.ArticuloMapper;
+import com.belleza.pos.security.service.SucursalActualService;
+import com.belleza.pos.service.ArticuloService;
+import com.belleza.pos.service.CatalogoService;
+import com.belleza.pos.service.MovimientoStockService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica que las páginas de artículos se cargan con una cantidad fija de
+ * consultas, sin importar el tamaño de la página (sin N+1 sobre rubro,
+ * precios ni proveedores).
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ArticuloServiceImpl.class, ArticuloMapper.class})
+class ArticuloServiceImplConsultasTest {
+
+    private static final int CANTIDAD_ARTICULOS = 60;
+
+    @Autowired
+    private ArticuloService articuloService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private CodigoBarrasIndex codigoBarrasIndex;
+    @MockBean
+    private ArticuloSearchIndex articuloSearchIndex;
+    @MockBean
+    private CatalogoService catalogoService;
+    @MockBean
+    private MovimientoStockService movimientoStockService;
+    @MockBean
+    private SucursalActualService sucursalActualService;
+    @MockBean
+    private StockTotalBuffer stockTotalBuffer;
+    @MockBean
+    private StockBajoIndex stockBajoIndex;
+    @MockBean
+    private VencimientoIndex vencimientoIndex;
+    @MockBean
+    private ConteoCache conteoCache;
+    @MockBean
+    private MatrizPrecios matrizPrecios;
+
+    private Rubro rubro;
+
+    private final List<Integer> idsArticulos = new ArrayList<>();
+
+    @BeforeEach
+    void cargarDatos() {
+        when(matrizPrecios.ivaDeRubro(any())).thenReturn(MatrizPrecios.IVA_PREDETERMINADO);
+
+        rubro = new Rubro();
+        rubro.setNombre("Cabello");
+        entityManager.persist(rubro);
+
+        ListaPrecio minorista = lista("Minorista", true);
+        ListaPrecio mayorista = lista("Mayorista", false);
+
+        Proveedor proveedor = new Proveedor();
+        proveedor.setRazonSocial("Distribuidora Norte");
+        proveedor.setCuit("30-71234567-1");
+        entityManager.persist(proveedor);
+
+        for (int i = 0; i < CANTIDAD_ARTICULOS; i++) {
+            Articulo articulo = new Articulo();
+            articulo.setCodigoBarras("779000000" + String.format("%04d", i));
+            articulo.setDescripcion("Shampoo " + i);
+            articulo.setRubro(rubro);
+            entityManager.persist(articulo);
+            idsArticulos.add(articulo.getIdArticulo());
+
+            precio(articulo, minorista, BigDecimal.valueOf(1000 + i));
+            precio(articulo, mayorista, BigDecimal.valueOf(800 + i));
+
+            ArticuloProveedor articuloProveedor = new ArticuloProveedor();
+            articuloProveedor.setArticulo(articulo);
+            articuloProveedor.setProveedor(proveedor);
+            articuloProveedor.setCosto(BigDecimal.valueOf(500));
+            articuloProveedor.setEsPredeterminado(true);
+            entityManager.persist(articuloProveedor);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getAllUsaLaMismaCantidadDeConsultasParaCualquierTamanioDePagina() {
+        long chica = contarConsultas(() -> articuloService.getAll(PageRequest.of(0, 5)));
+        long grande = contarConsultas(() -> articuloService.getAll(PageRequest.of(0, 50)));
+
+        assertThat(grande).isEqualTo(chica);
+        // Página, conteo, precios y proveedores
+        assertThat(grande).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void getByRubroUsaLaMismaCantidadDeConsultasParaCualquierTamanioDePagina() {
+        long chica = contarConsultas(() -> articuloService.getByRubro(rubro.getIdRubro(), PageRequest.of(0, 5)));
+        long grande = contarConsultas(() -> articuloService.getByRubro(rubro.getIdRubro(), PageRequest.of(0, 50)));
+
+        assertThat(grande).isEqualTo(chica);
+        // Existencia del rubro, página, conteo, precios y proveedores
+        assertThat(grande).isLessThanOrEqualTo(5);
+    }
+
+    @Test
+    void searchConIndiceUsaLaMismaCantidadDeConsultasParaCualquierTamanioDePagina() {
+        when(articuloSearchIndex.isCargado()).thenReturn(true);
+        when(articuloSearchIndex.buscar(eq("Shampoo"), any())).thenAnswer(invocacion -> {
+            Pageable pagina = invocacion.getArgument(1);
+            List<Integer> ids = idsArticulos.subList(0, pagina.getPageSize());
+            return new PageImpl<>(ids, pagina, idsArticulos.size());
+        });
+
+        long chica = contarConsultas(() -> articuloService.search("Shampoo", PageRequest.of(0, 5)));
+        long grande = contarConsultas(() -> articuloService.search("Shampoo", PageRequest.of(0, 50)));
+
+        assertThat(grande).isEqualTo(chica);
+        // Artículos de la página, precios y proveedores
+        assertThat(grande).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void searchSinIndiceUsaLaMismaCantidadDeConsultasParaCualquierTamanioDePagina() {
+        when(articuloSearchIndex.isCargado()).thenReturn(false);
+
+        long chica = contarConsultas(() -> articuloService.search("Shampoo", PageRequest.of(0, 5)));
+        long grande = contarConsultas(() -> articuloService.search("Shampoo", PageRequest.of(0, 50)));
+
+        assertThat(grande).isEqualTo(chica);
+        // Página, conteo, precios y proveedores
+        assertThat(grande).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void laPaginaIncluyeRubroPreciosYProveedores() {
+        Page<ArticuloResponse> pagina = articuloService.getAll(PageRequest.of(0, 10));
+
+        assertThat(pagina.getTotalElements()).isEqualTo(CANTIDAD_ARTICULOS);
+        assertThat(pagina.getContent()).hasSize(10).allSatisfy(articulo -> {
+            assertThat(articulo.getNombreRubro()).isEqualTo("Cabello");
+            assertThat(articulo.getPrecios()).hasSize(2);
+            assertThat(articulo.getProveedores()).hasSize(1);
+        });
+    }
+
+    private long contarConsultas(Supplier<Page<ArticuloResponse>> consulta) {
+        entityManager.clear();
+        Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estadisticas.clear();
+
+        Page<ArticuloResponse> pagina = consulta.get();
+        assertThat(pagina.getContent()).isNotEmpty();
+
+        return estadisticas.getPrepareStatementCount();
+    }
+
+    private ListaPrecio lista(String nombre, boolean predeterminada) {
+        ListaPrecio lista = new ListaPrecio();
+        lista.setNombre(nombre);
+        lista.setEsPredeterminada(predeterminada);
+        entityManager.persist(lista);
+        return lista;
+    }
+
+    private void precio(Articulo articulo, ListaPrecio lista, BigDecimal precioVenta) {
+        ArticuloPrecio precio = new ArticuloPrecio();
+        precio.setArticulo(articulo);
+        precio.setListaPrecio(lista);
+        precio.setPrecioVenta(precioVenta);
+        entityManager.persist(precio);
+    }
+}